@@ -0,0 +1,90 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.minescape.mod.api.channel.general.GeneralType;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures decoding a single message of every {@link GeneralType} through each
+ * of the {@link ChannelDataHandler} entry points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelDecodeBenchmark {
+
+    @Param
+    public GeneralType type;
+
+    private ChannelDataHandler<GeneralType> handler;
+    private ChannelDispatcher<GeneralType> dispatcher;
+    private String message;
+    private JsonObject jsonObject;
+    private Class<?> dataClass;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        handler = new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class);
+        dispatcher = new ChannelDispatcher<>(handler).on(type, blackhole::consume);
+        message = Payloads.message(type);
+        jsonObject = JsonParser.parseString(message).getAsJsonObject();
+        dataClass = type.get();
+    }
+
+    /**
+     * Decodes straight from the message text.
+     */
+    @Benchmark
+    public Object fromString() {
+        return handler.getData(new StringReader(message));
+    }
+
+    /**
+     * Parses the message text into a tree, then decodes the tree.
+     */
+    @Benchmark
+    public Object fromStringViaTree() {
+        return handler.getData(JsonParser.parseString(message).getAsJsonObject());
+    }
+
+    /**
+     * Decodes an already parsed tree.
+     */
+    @Benchmark
+    public Object fromJsonObject() {
+        return handler.getData(jsonObject);
+    }
+
+    /**
+     * Decodes an already parsed tree with a checked cast to the data class.
+     */
+    @Benchmark
+    public Object typed() {
+        return handler.getData(jsonObject, dataClass);
+    }
+
+    /**
+     * Decodes the message text and passes it to a typed listener.
+     */
+    @Benchmark
+    public boolean dispatch() {
+        return dispatcher.dispatch(new StringReader(message));
+    }
+}
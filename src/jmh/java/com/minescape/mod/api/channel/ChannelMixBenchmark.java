@@ -0,0 +1,155 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.minescape.mod.api.channel.general.GeneralBinaryCodec;
+import com.minescape.mod.api.channel.general.GeneralFlyweights;
+import com.minescape.mod.api.channel.general.GeneralType;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures decoding a whole sequence of messages as a client receives them.
+ * Each operation decodes every message in the mix once.
+ * <ul>
+ * <li>{@code storm}: 1000 messages in a crowded zone, mostly mob attacks and
+ * defences and other players' actions</li>
+ * <li>{@code login}: the skills, effects and farming plots sent on login</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelMixBenchmark {
+
+    @Param({ "storm", "login" })
+    public String mix;
+
+    private ChannelDataHandler<GeneralType> handler;
+    private ChannelDispatcher<GeneralType> dispatcher;
+    private ChannelDispatcher<GeneralType> flyweightDispatcher;
+    private String[] messages;
+    private JsonObject[] jsonObjects;
+    private String batch;
+    private ByteBuffer binary;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        handler = new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class);
+        dispatcher = new ChannelDispatcher<>(handler);
+        flyweightDispatcher = GeneralFlyweights.install(new ChannelDispatcher<>(handler));
+        for (GeneralType type : GeneralType.values()) {
+            dispatcher.on(type, blackhole::consume);
+            flyweightDispatcher.on(type, blackhole::consume);
+        }
+
+        List<String> list = switch (mix) {
+        case "storm" -> Payloads.storm(1000);
+        case "login" -> Payloads.loginBurst();
+        default -> throw new IllegalArgumentException("Unknown mix: " + mix);
+        };
+        messages = list.toArray(new String[0]);
+        batch = "{\"batch\":[" + String.join(",", list) + "]}";
+
+        GeneralBinaryCodec codec = new GeneralBinaryCodec();
+        binary = ByteBuffer.allocate(1 << 20);
+        for (String message : messages) {
+            codec.write(binary, handler.getData(new StringReader(message)));
+        }
+        binary.flip();
+        jsonObjects = new JsonObject[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            jsonObjects[i] = JsonParser.parseString(messages[i]).getAsJsonObject();
+        }
+    }
+
+    /**
+     * Decodes each message straight from its text.
+     */
+    @Benchmark
+    public void fromString(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(handler.getData(new StringReader(message)));
+        }
+    }
+
+    /**
+     * Parses each message into a tree, then decodes the tree.
+     */
+    @Benchmark
+    public void fromStringViaTree(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(handler.getData(JsonParser.parseString(message).getAsJsonObject()));
+        }
+    }
+
+    /**
+     * Decodes each already parsed tree.
+     */
+    @Benchmark
+    public void fromJsonObject(Blackhole blackhole) {
+        for (JsonObject jsonObject : jsonObjects) {
+            blackhole.consume(handler.getData(jsonObject));
+        }
+    }
+
+    /**
+     * Decodes each message from its text and passes it to a typed listener.
+     */
+    @Benchmark
+    public void dispatch() {
+        for (String message : messages) {
+            dispatcher.dispatch(new StringReader(message));
+        }
+    }
+
+    /**
+     * Decodes each message from its text, filling reusable objects for the
+     * broadcast types, and passes it to a typed listener.
+     */
+    @Benchmark
+    public void dispatchFlyweights() {
+        for (String message : messages) {
+            flyweightDispatcher.dispatch(new StringReader(message));
+        }
+    }
+
+    /**
+     * Decodes the whole mix as one batch frame and passes each message to a
+     * typed listener.
+     */
+    @Benchmark
+    public int dispatchBatch() {
+        return dispatcher.dispatchBatch(new StringReader(batch));
+    }
+
+    /**
+     * Decodes the whole mix from the binary format, starting each operation
+     * with an empty string table as a new connection would.
+     */
+    @Benchmark
+    public void binary(Blackhole blackhole) {
+        GeneralBinaryCodec codec = new GeneralBinaryCodec();
+        ByteBuffer in = binary.duplicate();
+        while (in.hasRemaining()) {
+            blackhole.consume(codec.read(in));
+        }
+    }
+}
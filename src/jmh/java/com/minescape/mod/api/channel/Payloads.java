@@ -0,0 +1,159 @@
+package com.minescape.mod.api.channel;
+
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.types.skills.SkillType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Realistic general channel messages shared by the benchmarks.
+ */
+public final class Payloads {
+
+    private static final String MOB = "123e4567-e89b-12d3-a456-426614174000";
+    private static final String PLAYER = "a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d";
+    private static final String[] STYLES = { "MELEE", "RANGED", "MAGIC", "DRAGONFIRE" };
+    private static final String[] ACTIONS = { "MINING", "WOODCUTTING", "FISHING_CAGE", "COOKING_RANGE", "COMBAT" };
+    private static final String[] STATES = { "STARTED", "CANCELLED", "FINISHED" };
+    private static final String[] PATCHES = { "FALADOR_ALLOTMENT_NORTH", "FALADOR_ALLOTMENT_SOUTH", "FALADOR_HERBS",
+            "CATHERBY_ALLOTMENT_NORTH", "CATHERBY_HERBS", "ARDOUGNE_HERBS", "PORT_PHASMATYS_HERBS", "HOSIDIUS_HERBS",
+            "FARMING_GUILD_HERBS", "TROLL_STRONGHOLD_HERBS", "WEISS_HERBS", "HARMONY_ISLAND_HERBS" };
+
+    private Payloads() {
+    }
+
+    /**
+     * Gets a typical data object for a type.
+     *
+     * @param type the type of message
+     * @return the data object as JSON
+     */
+    public static String data(GeneralType type) {
+        return switch (type) {
+        case LOGIN_SKILLS -> loginSkills();
+        case LOGIN_SKILL_EFFECTS -> "{\"modifiers\":{\"ATTACK\":5,\"STRENGTH\":5,\"DEFENCE\":-2,\"MAGIC\":4}}";
+        case GAMEPLAY_SKILLS_EXPERIENCE -> "{\"skillType\":\"WOODCUTTING\",\"experienceGained\":67.5,\"totalExperience\":1986068.5}";
+        case GAMEPLAY_SKILL_EFFECT -> "{\"skillType\":\"STRENGTH\",\"previousModifier\":0,\"newModifier\":3,\"skillLevel\":75}";
+        case PLAYER_TARGET -> "{\"uuid\":\"" + MOB + "\",\"nameplateUuid\":\"" + PLAYER + "\",\"currentHp\":40,\"totalHp\":100}";
+        case PLAYER_TARGET_DEATH -> "{\"uuid\":\"" + MOB + "\"}";
+        case GAMEPLAY_ITEM_CONSUMED -> "{\"item\":\"SHARK\"}";
+        case GAMEPLAY_FARMING_PLANTED -> "{\"patch\":\"CATHERBY_HERBS\",\"plotData\":" + plot("CATHERBY_HERBS", "RANARR") + "}";
+        case LOGIN_FARMING_PLOTS -> loginFarmingPlots();
+        case MOB_ATTACK -> "{\"uuid\":\"" + MOB + "\",\"style\":\"MELEE\"}";
+        case MOB_DEFENCE -> "{\"uuid\":\"" + MOB + "\",\"style\":\"RANGED\",\"damage\":7}";
+        case GAMEPLAY_ACTION -> "{\"action\":\"MINING\",\"state\":\"STARTED\",\"durationMillis\":3000}";
+        case PLAYER_ACTION -> "{\"uuid\":\"" + PLAYER + "\",\"action\":\"MINING\",\"state\":\"STARTED\",\"durationMillis\":3000}";
+        };
+    }
+
+    /**
+     * Gets a typical message for a type.
+     *
+     * @param type the type of message
+     * @return the message as JSON
+     */
+    public static String message(GeneralType type) {
+        return message(type, data(type));
+    }
+
+    /**
+     * Gets the messages a client in a crowded zone receives: mostly mob
+     * attacks and defences, actions of nearby players and target updates, for
+     * a few dozen mobs and players.
+     *
+     * @param count the number of messages
+     * @return the messages as JSON, in arrival order
+     */
+    public static List<String> storm(int count) {
+        Random random = new Random(42);
+        UUID[] mobs = uuids(random, 40);
+        UUID[] players = uuids(random, 15);
+        List<String> messages = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(100);
+            UUID mob = mobs[random.nextInt(mobs.length)];
+            String style = STYLES[random.nextInt(STYLES.length)];
+
+            if (roll < 35) {
+                messages.add(message(GeneralType.MOB_ATTACK, "{\"uuid\":\"" + mob + "\",\"style\":\"" + style + "\"}"));
+            } else if (roll < 70) {
+                messages.add(message(GeneralType.MOB_DEFENCE, "{\"uuid\":\"" + mob + "\",\"style\":\"" + style
+                        + "\",\"damage\":" + random.nextInt(30) + "}"));
+            } else if (roll < 88) {
+                messages.add(message(GeneralType.PLAYER_ACTION, "{\"uuid\":\"" + players[random.nextInt(players.length)]
+                        + "\",\"action\":\"" + ACTIONS[random.nextInt(ACTIONS.length)] + "\",\"state\":\""
+                        + STATES[random.nextInt(STATES.length)] + "\",\"durationMillis\":" + random.nextInt(5000) + "}"));
+            } else if (roll < 96) {
+                messages.add(message(GeneralType.PLAYER_TARGET, "{\"uuid\":\"" + mob + "\",\"nameplateUuid\":\""
+                        + players[0] + "\",\"currentHp\":" + random.nextInt(100) + ",\"totalHp\":100}"));
+            } else {
+                messages.add(message(GeneralType.GAMEPLAY_SKILLS_EXPERIENCE, "{\"skillType\":\"STRENGTH\","
+                        + "\"experienceGained\":" + random.nextInt(120) + ".0,\"totalExperience\":1986068.0}"));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Gets the messages a client receives when a player logs in: every skill,
+     * active effects, every farming plot, then the first few gameplay updates.
+     *
+     * @return the messages as JSON, in arrival order
+     */
+    public static List<String> loginBurst() {
+        List<String> messages = new ArrayList<>();
+        messages.add(message(GeneralType.LOGIN_SKILLS));
+        messages.add(message(GeneralType.LOGIN_SKILL_EFFECTS));
+        messages.add(message(GeneralType.LOGIN_FARMING_PLOTS));
+        messages.add(message(GeneralType.GAMEPLAY_SKILL_EFFECT));
+        messages.add(message(GeneralType.GAMEPLAY_ACTION));
+        messages.add(message(GeneralType.GAMEPLAY_SKILLS_EXPERIENCE));
+        return messages;
+    }
+
+    private static String message(GeneralType type, String data) {
+        return "{\"type\":\"" + type.name() + "\",\"data\":" + data + "}";
+    }
+
+    private static String loginSkills() {
+        StringBuilder levels = new StringBuilder("{");
+        StringBuilder experiences = new StringBuilder("{");
+        for (SkillType skill : SkillType.values()) {
+            if (levels.length() > 1) {
+                levels.append(',');
+                experiences.append(',');
+            }
+            int level = 40 + skill.ordinal() * 2;
+            levels.append('"').append(skill.name()).append("\":").append(level);
+            experiences.append('"').append(skill.name()).append("\":").append(level * level * 101.5);
+        }
+        return "{\"levels\":" + levels + "},\"experiences\":" + experiences + "}}";
+    }
+
+    private static String loginFarmingPlots() {
+        StringBuilder plots = new StringBuilder("{\"plots\":{");
+        for (int i = 0; i < PATCHES.length; i++) {
+            if (i > 0) {
+                plots.append(',');
+            }
+            plots.append('"').append(PATCHES[i]).append("\":").append(plot(PATCHES[i], i % 3 == 0 ? null : "RANARR"));
+        }
+        return plots.append("}}").toString();
+    }
+
+    private static String plot(String patch, String product) {
+        return "{\"patch\":\"" + patch + "\",\"product\":" + (product == null ? "null" : "\"" + product + "\"")
+                + ",\"nextGrowthMillis\":" + (product == null ? 0 : 600000) + "}";
+    }
+
+    private static UUID[] uuids(Random random, int count) {
+        UUID[] uuids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        return uuids;
+    }
+}
@@ -0,0 +1,58 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.minescape.mod.api.channel.general.GeneralType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ChannelDataHandler#getType(JsonObject)} against the linear
+ * scan over {@code getEnumConstants()} it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeLookupBenchmark {
+
+    @Param({ "LOGIN_SKILLS", "MOB_ATTACK", "MOB_DEFENCE", "PLAYER_ACTION" })
+    public String type;
+
+    private ChannelDataHandler<GeneralType> handler;
+    private JsonObject jsonObject;
+
+    @Setup
+    public void setUp() {
+        handler = new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class);
+        jsonObject = JsonParser.parseString("{\"type\":\"" + type + "\",\"data\":{}}").getAsJsonObject();
+    }
+
+    @Benchmark
+    public GeneralType lookupTable() {
+        return handler.getType(jsonObject);
+    }
+
+    @Benchmark
+    public GeneralType linearScan() {
+        String typeString = jsonObject.get("type").getAsString();
+        for (GeneralType enumConstant : GeneralType.class.getEnumConstants()) {
+            if (enumConstant.name().equals(typeString)) {
+                return enumConstant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown type: " + typeString);
+    }
+}
@@ -0,0 +1,57 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.minescape.mod.api.channel.Payloads;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares decode throughput of the {@link GeneralTypeAdapterFactory} adapters
+ * against Gson's reflective adapters for the same data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneralTypeAdapterBenchmark {
+
+    @Param
+    public GeneralType type;
+
+    private final Gson reflective = new Gson();
+    private final Gson handWritten = new GsonBuilder()
+            .registerTypeAdapterFactory(GeneralTypeAdapterFactory.INSTANCE)
+            .create();
+
+    private String json;
+    private Class<?> dataClass;
+
+    @Setup
+    public void setUp() {
+        dataClass = type.get();
+        json = Payloads.data(type);
+    }
+
+    @Benchmark
+    public Object reflective() {
+        return reflective.fromJson(json, dataClass);
+    }
+
+    @Benchmark
+    public Object handWritten() {
+        return handWritten.fromJson(json, dataClass);
+    }
+}
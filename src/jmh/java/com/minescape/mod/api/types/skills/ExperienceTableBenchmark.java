@@ -0,0 +1,47 @@
+package com.minescape.mod.api.types.skills;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ExperienceTable#levelForExperience(double)} against
+ * recomputing the experience curve with {@link Math#pow(double, double)} until
+ * it passes the experience, as mods did per frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExperienceTableBenchmark {
+
+    @Param({ "0.0", "1210421.0", "13034431.0" })
+    public double experience;
+
+    @Benchmark
+    public int binarySearch() {
+        return ExperienceTable.levelForExperience(experience);
+    }
+
+    @Benchmark
+    public int naiveLoop() {
+        double points = 0;
+        for (int level = 1; level < ExperienceTable.MAX_LEVEL; level++) {
+            points += Math.floor(level + 300.0 * Math.pow(2.0, level / 7.0));
+            if (Math.floor(points / 4) > experience) {
+                return level;
+            }
+        }
+        return ExperienceTable.MAX_LEVEL;
+    }
+}
@@ -1,20 +1,57 @@
 package com.minescape.mod.api.channel;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.minescape.mod.api.channel.general.GeneralTypeAdapterFactory;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 /**
  * Handler for processing channel data from JSON strings and creating
  * appropriate data objects.
+ * <p>
+ * A handler is safe to use from many threads at once, so messages can be
+ * decoded on worker threads rather than the network thread. Its state is
+ * built in the constructor and never changed, the {@link Gson} adapters it
+ * decodes with are stateless, and every call reads from its own
+ * {@link JsonReader}. Handlers created with the constructor share one
+ * {@link Gson}; use {@link #builder(Channels, Class)} to supply another.
+ * <p>
+ * A message that cannot be decoded is reported once, with a
+ * {@link ChannelDecodeException} that says why and carries no stack trace.
+ * To handle bad messages without exceptions at all, use
+ * {@link #decode(JsonObject)} or {@link #decode(Reader)}. Messages with a type
+ * from a newer server are counted, and can be skipped instead of failing with
+ * {@link Builder#skipUnknownTypes()}.
  * 
  * @param <T> The enum type that implements Supplier&lt;Class&lt;?&gt;&gt;
  */
 public class ChannelDataHandler<T extends Enum<T> & Supplier<Class<?>>> {
 
-    private static final Gson gson = new Gson();
+    private static final Gson DEFAULT_GSON = newGsonBuilder().create();
+    private final Gson gson;
     private final Channels channel;
     private final Class<T> typeClass;
+    private final Map<String, T> typesByName;
+    private final TypeAdapter<?>[] adapters;
+    private final ChannelMetrics<T> metrics;
+    private final boolean skipUnknownTypes;
+    private final LongAdder unknownTypes = new LongAdder();
 
     /**
      * Constructor for ChannelDataHandler.
@@ -23,8 +60,75 @@ public class ChannelDataHandler<T extends Enum<T> & Supplier<Class<?>>> {
      * @param typeClass The type class associated with the channel
      */
     public ChannelDataHandler(Channels channel, Class<T> typeClass) {
+        this(channel, typeClass, DEFAULT_GSON, null, false);
+    }
+
+    private ChannelDataHandler(Channels channel, Class<T> typeClass, Gson gson, ChannelMetrics<T> metrics,
+            boolean skipUnknownTypes) {
+        this.gson = gson;
+        this.metrics = metrics;
+        this.skipUnknownTypes = skipUnknownTypes;
         this.channel = channel;
         this.typeClass = typeClass;
+
+        // Built once so type lookups don't clone and scan the enum constants
+        T[] enumConstants = typeClass.getEnumConstants();
+        this.typesByName = new HashMap<>(enumConstants.length * 2);
+        this.adapters = new TypeAdapter<?>[enumConstants.length];
+        for (T enumConstant : enumConstants) {
+            typesByName.put(enumConstant.name(), enumConstant);
+            adapters[enumConstant.ordinal()] = gson.getAdapter(enumConstant.get());
+        }
+    }
+
+    /**
+     * Creates a builder for a handler.
+     * 
+     * @param <T>       The enum type of the channel
+     * @param channel   The channel the handler will process
+     * @param typeClass The type class associated with the channel
+     * @return A new builder
+     */
+    public static <T extends Enum<T> & Supplier<Class<?>>> Builder<T> builder(Channels channel, Class<T> typeClass) {
+        return new Builder<>(channel, typeClass);
+    }
+
+    /**
+     * Creates a {@link GsonBuilder} with the API's adapters registered, to
+     * tune and pass to {@link Builder#gson(Gson)}.
+     * 
+     * @return A new GsonBuilder
+     */
+    public static GsonBuilder newGsonBuilder() {
+        return new GsonBuilder().registerTypeAdapterFactory(GeneralTypeAdapterFactory.INSTANCE);
+    }
+
+    /**
+     * Gets the {@link Gson} this handler looks its adapters up from.
+     * 
+     * @return The Gson instance
+     */
+    public Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Gets the metrics this handler records into.
+     * 
+     * @return The metrics, or null if the handler records none
+     */
+    public ChannelMetrics<T> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the number of messages seen with a type name the channel does not
+     * know, whether they were skipped or failed.
+     * 
+     * @return The number of unknown types
+     */
+    public long getUnknownTypeCount() {
+        return unknownTypes.sum();
     }
 
     /**
@@ -33,98 +137,776 @@ public class ChannelDataHandler<T extends Enum<T> & Supplier<Class<?>>> {
      * 
      * @param jsonObject JSON object in format: {"type":"LOGIN_SKILLS",
      *                   "data":object}
-     * @return The created data object based on the type
-     * @throws IllegalArgumentException if the JSON format is invalid or type is not
-     *                                  supported
+     * @return The created data object based on the type, or null if the type is
+     *         unknown and the handler skips unknown types
+     * @throws ChannelDecodeException if the JSON format is invalid or type is not
+     *                                supported
      */
     public Object getData(JsonObject jsonObject) {
+        if (!jsonObject.has("data")) {
+            throw malformed("JSON must contain 'type' and 'data' fields");
+        }
+        T type = typeOf(jsonObject);
+        if (type == null) {
+            return null;
+        }
+
+        // Handle the data for this channel
+        return getData(type, dataOf(jsonObject));
+    }
+
+    /**
+     * Decodes a JSON object like {@link #getData(JsonObject)}, but reports a
+     * bad message in the result instead of throwing. An unknown type is
+     * counted and returned without creating an exception, whether or not the
+     * handler skips unknown types.
+     * 
+     * @param jsonObject JSON object in format: {"type":"LOGIN_SKILLS",
+     *                   "data":object}
+     * @return The decoded data, or why the message could not be decoded
+     */
+    public DecodeResult<T> decode(JsonObject jsonObject) {
+        JsonElement typeName = jsonObject.get("type");
+        JsonElement data = jsonObject.get("data");
+        if (typeName == null || data == null) {
+            return DecodeResult.failure(null, DecodeError.MALFORMED, "JSON must contain 'type' and 'data' fields");
+        }
+        if (!typeName.isJsonPrimitive()) {
+            return DecodeResult.failure(null, DecodeError.MALFORMED, "'type' must be a string");
+        }
+        T type = lookupType(typeName.getAsString());
+        if (type == null) {
+            return DecodeResult.unknownType(typeName.getAsString());
+        }
+        if (!data.isJsonObject()) {
+            return DecodeResult.failure(type, DecodeError.MALFORMED, "'data' must be a JSON object");
+        }
+
         try {
-            // Extract type and data
-            if (!jsonObject.has("type") || !jsonObject.has("data")) {
-                throw new IllegalArgumentException("JSON must contain 'type' and 'data' fields");
-            }
+            return DecodeResult.success(type, getData(type, adapters[type.ordinal()], data));
+        } catch (ChannelDecodeException e) {
+            return DecodeResult.failure(type, e.error(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the type of a JSON object and returns a view that decodes its data
+     * only when asked for.
+     * <p>
+     * The type and the presence of the data are checked straight away; the data
+     * itself is decoded on the first call to {@link ChannelMessage#payload()}.
+     * Use this when most messages are filtered out before their data is needed.
+     * 
+     * @param jsonObject JSON object in format: {"type":"LOGIN_SKILLS",
+     *                   "data":object}
+     * @return A view of the message
+     * @throws ChannelDecodeException if the JSON format is invalid or type is not
+     *                                supported, even if the handler skips
+     *                                unknown types
+     */
+    public ChannelMessage<T> getMessage(JsonObject jsonObject) {
+        if (!jsonObject.has("type") || !jsonObject.has("data")) {
+            throw malformed("JSON must contain 'type' and 'data' fields");
+        }
+
+        return new ChannelMessage<>(this, getType(jsonObject), dataOf(jsonObject));
+    }
+
+    /**
+     * Reads a JSON message from a character stream for the configured channel
+     * and returns the appropriate data object.
+     * <p>
+     * The message is decoded as it is read rather than being parsed into a
+     * {@link JsonObject} first. See {@link #getData(JsonReader)}.
+     * 
+     * @param reader reader positioned at a message in format:
+     *               {"type":"LOGIN_SKILLS", "data":object}
+     * @return The created data object based on the type, or null if the type is
+     *         unknown and the handler skips unknown types
+     * @throws ChannelDecodeException if the JSON format is invalid or type is not
+     *                                supported
+     */
+    public Object getData(Reader reader) {
+        return readSingle(reader, new SingleMessage<>(this, false)).data;
+    }
+
+    /**
+     * Reads a JSON message from a character stream like
+     * {@link #getData(Reader)}, but reports a bad message in the result instead
+     * of throwing. The data of an unknown type is skipped without being parsed,
+     * whether or not the handler skips unknown types.
+     * 
+     * @param reader reader positioned at a message in format:
+     *               {"type":"LOGIN_SKILLS", "data":object}
+     * @return The decoded data, or why the message could not be decoded
+     */
+    public DecodeResult<T> decode(Reader reader) {
+        SingleMessage<T> message = new SingleMessage<>(this, true);
+        try {
+            readSingle(reader, message);
+        } catch (ChannelDecodeException e) {
+            return DecodeResult.failure(message.type, e.error(), e.getMessage());
+        }
+        if (message.type == null) {
+            return DecodeResult.unknownType(message.unknownTypeName);
+        }
+        return DecodeResult.success(message.type, message.data);
+    }
+
+    /**
+     * Reads the next JSON message from a JSON reader for the configured channel
+     * and returns the appropriate data object.
+     * <p>
+     * When {@code type} comes before {@code data}, as the server sends it, the
+     * data is streamed straight into the data class without building a
+     * {@link JsonObject}. A message with {@code data} first is still accepted;
+     * its data is held as a tree until the type has been read.
+     * 
+     * @param reader JSON reader positioned at a message in format:
+     *               {"type":"LOGIN_SKILLS", "data":object}
+     * @return The created data object based on the type, or null if the type is
+     *         unknown and the handler skips unknown types
+     * @throws ChannelDecodeException if the JSON format is invalid or type is not
+     *                                supported
+     */
+    public Object getData(JsonReader reader) {
+        return readSingle(reader, new SingleMessage<>(this, false)).data;
+    }
+
+    private SingleMessage<T> readSingle(Reader reader, SingleMessage<T> message) {
+        if (metrics == null) {
+            return readSingle(new JsonReader(reader), message);
+        }
+        CountingReader counting = new CountingReader(reader);
+        readSingle(new JsonReader(counting), message);
+        if (message.data != null) {
+            metrics.recordBytes(message.type, counting.count);
+        }
+        return message;
+    }
+
+    private SingleMessage<T> readSingle(JsonReader reader, SingleMessage<T> message) {
+        try {
+            readMessage(reader, message);
+            return message;
+        } catch (ChannelDecodeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw malformed(e);
+        }
+    }
 
-            T type = getType(jsonObject);
-            JsonObject data = jsonObject.get("data").getAsJsonObject();
+    /**
+     * Reads a batch of JSON messages from a character stream for the configured
+     * channel and returns their data objects in order.
+     * <p>
+     * See {@link #getBatch(JsonReader)}.
+     * 
+     * @param reader reader positioned at a batch in format:
+     *               {"batch":[{"type":"MOB_DEFENCE", "data":object}, ...]}
+     * @return The created data objects, in the order of the batch
+     * @throws ChannelDecodeException if the JSON format is invalid or a type is
+     *                                not supported
+     */
+    public List<Object> getBatch(Reader reader) {
+        if (metrics == null) {
+            return getBatch(new JsonReader(reader));
+        }
+        CountingReader counting = new CountingReader(reader);
+        BatchMessages<T> messages = readBatch(new JsonReader(counting), new ArrayList<>());
+        metrics.recordBytes(messages.types, counting.count);
+        return messages.data;
+    }
 
-            // Handle the data for this channel
-            return getData(type, data);
+    /**
+     * Reads a batch of JSON messages from a JSON reader for the configured
+     * channel and returns their data objects in order.
+     * <p>
+     * The whole batch is decoded in one pass over the stream, each message the
+     * same way {@link #getData(JsonReader)} decodes a single one. A single
+     * message that is not wrapped in a batch is accepted too, and returned as a
+     * list of one.
+     * 
+     * @param reader JSON reader positioned at a batch in format:
+     *               {"batch":[{"type":"MOB_DEFENCE", "data":object}, ...]}
+     * @return The created data objects, in the order of the batch
+     * @throws ChannelDecodeException if the JSON format is invalid or a type is
+     *                                not supported
+     */
+    public List<Object> getBatch(JsonReader reader) {
+        return readBatch(reader, null).data;
+    }
 
+    private BatchMessages<T> readBatch(JsonReader reader, List<T> types) {
+        try {
+            BatchMessages<T> messages = new BatchMessages<>(this, types);
+            readMessages(reader, messages);
+            return messages;
+        } catch (ChannelDecodeException e) {
+            throw e;
         } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to process channel data: " + e.getMessage(), e);
+            throw malformed(e);
         }
     }
 
+    /**
+     * Processes a batch of JSON messages for the configured channel and returns
+     * their data objects in order. A single message that is not wrapped in a
+     * batch is returned as a list of one. Messages of an unknown type are left
+     * out if the handler skips unknown types.
+     * 
+     * @param jsonObject JSON object in format: {"batch":[{"type":"MOB_DEFENCE",
+     *                   "data":object}, ...]}
+     * @return The created data objects, in the order of the batch
+     * @throws ChannelDecodeException if the JSON format is invalid or a type is
+     *                                not supported
+     */
+    public List<Object> getBatch(JsonObject jsonObject) {
+        if (!jsonObject.has("batch")) {
+            Object data = getData(jsonObject);
+            return data == null ? List.of() : List.of(data);
+        }
+        if (jsonObject.has("type") || jsonObject.has("data")) {
+            throw malformed("JSON must not contain 'type' or 'data' fields alongside 'batch'");
+        }
+        if (!jsonObject.get("batch").isJsonArray()) {
+            throw malformed("'batch' must be a JSON array");
+        }
+
+        JsonArray batch = jsonObject.getAsJsonArray("batch");
+        List<Object> data = new ArrayList<>(batch.size());
+        for (JsonElement message : batch) {
+            if (!message.isJsonObject()) {
+                throw malformed("batch entries must be JSON objects");
+            }
+            Object messageData = getData(message.getAsJsonObject());
+            if (messageData != null) {
+                data.add(messageData);
+            }
+        }
+        return data;
+    }
+
     /**
      * Extracts the type from a JSON object without processing the data.
      * 
      * @param jsonObject JSON object in format: {"type":"LOGIN_SKILLS",
      *                   "data":object}
      * @return The enum type from the JSON
-     * @throws IllegalArgumentException if the JSON format is invalid or type field
-     *                                  is missing
+     * @throws ChannelDecodeException if the JSON format is invalid, the type field
+     *                                is missing or the type is not supported,
+     *                                even if the handler skips unknown types
      */
     public T getType(JsonObject jsonObject) {
-        try {
-            // Check if type field exists
-            if (!jsonObject.has("type")) {
-                throw new IllegalArgumentException("JSON must contain 'type' field");
+        return getType(typeNameOf(jsonObject));
+    }
+
+    /**
+     * Reads the type of a JSON object, honouring
+     * {@link Builder#skipUnknownTypes()}.
+     * 
+     * @param jsonObject JSON object with a 'type' field
+     * @return The enum type from the JSON, or null if it is unknown and the
+     *         handler skips unknown types
+     * @throws ChannelDecodeException if the type field is missing, or the type is
+     *                                not supported and not skipped
+     */
+    T typeOf(JsonObject jsonObject) {
+        String typeString = typeNameOf(jsonObject);
+        T type = lookupType(typeString);
+        if (type == null && !skipUnknownTypes) {
+            throw unknownType(typeString);
+        }
+        return type;
+    }
+
+    /**
+     * Gets the data object of a message held as a JSON object.
+     * 
+     * @param jsonObject JSON object with a 'data' field
+     * @return The data object
+     * @throws ChannelDecodeException if the data is not a JSON object
+     */
+    JsonObject dataOf(JsonObject jsonObject) {
+        JsonElement data = jsonObject.get("data");
+        if (data == null || !data.isJsonObject()) {
+            throw malformed("'data' must be a JSON object");
+        }
+        return data.getAsJsonObject();
+    }
+
+    private static String typeNameOf(JsonObject jsonObject) {
+        JsonElement type = jsonObject.get("type");
+        if (type == null) {
+            throw malformed("JSON must contain 'type' field");
+        }
+        if (!type.isJsonPrimitive()) {
+            throw malformed("'type' must be a string");
+        }
+        return type.getAsString();
+    }
+
+    /**
+     * Finds the enum constant that matches a type name.
+     * 
+     * @param typeString The type name from the JSON
+     * @return The enum type for the name
+     * @throws ChannelDecodeException if the type is not supported
+     */
+    private T getType(String typeString) {
+        T type = lookupType(typeString);
+        if (type == null) {
+            throw unknownType(typeString);
+        }
+
+        return type;
+    }
+
+    /**
+     * Finds the enum constant that matches a type name, counting names that do
+     * not match any.
+     * 
+     * @param typeString The type name from the JSON
+     * @return The enum type for the name, or null if it is unknown
+     */
+    private T lookupType(String typeString) {
+        T type = typesByName.get(typeString);
+        if (type == null) {
+            unknownTypes.increment();
+            if (metrics != null) {
+                metrics.recordUnknownType();
             }
+        }
+        return type;
+    }
+
+    private ChannelDecodeException unknownType(String typeString) {
+        return new ChannelDecodeException(DecodeError.UNKNOWN_TYPE,
+                "Unknown type: " + typeString + " for channel: " + channel);
+    }
+
+    private static ChannelDecodeException malformed(String message) {
+        return new ChannelDecodeException(DecodeError.MALFORMED, message);
+    }
+
+    private static ChannelDecodeException malformed(Exception cause) {
+        return new ChannelDecodeException(DecodeError.MALFORMED, "Failed to process channel data: "
+                + cause.getMessage(), cause);
+    }
+
+    private static ChannelDecodeException invalidData(Object type, Exception cause) {
+        return new ChannelDecodeException(DecodeError.INVALID_DATA, "Failed to create object for type " + type + ": "
+                + cause.getMessage(), cause);
+    }
+
+    /**
+     * Handles data for the configured channel.
+     * 
+     * @param type The enum type from the channel
+     * @param data The data object from the JSON
+     * @return The created data object
+     */
+    Object getData(T type, JsonObject data) {
+        // Deserialize the data to the appropriate class
+        return getData(type, adapters[type.ordinal()], data);
+    }
 
-            String typeString = jsonObject.get("type").getAsString();
+    /**
+     * Reads a single message, decoding the data as soon as its type is known.
+     * 
+     * @param reader  JSON reader positioned at the message
+     * @param visitor Chooses how to decode the data and receives the result
+     * @return Whether the message was decoded and passed to the visitor
+     * @throws IOException if the message cannot be read
+     */
+    boolean readMessage(JsonReader reader, MessageVisitor<T> visitor) throws IOException {
+        return readMessages(reader, visitor, false) > 0;
+    }
 
-            // Find the enum constant that matches the type string
-            T[] enumConstants = typeClass.getEnumConstants();
-            for (T enumConstant : enumConstants) {
-                if (enumConstant.name().equals(typeString)) {
-                    return enumConstant;
+    /**
+     * Reads a single message or a batch envelope, passing each message to the
+     * visitor in order.
+     * 
+     * @param reader  JSON reader positioned at the message or envelope
+     * @param visitor Chooses how to decode the data and receives the results
+     * @return The number of messages decoded and passed to the visitor
+     * @throws IOException if the messages cannot be read
+     */
+    int readMessages(JsonReader reader, MessageVisitor<T> visitor) throws IOException {
+        return readMessages(reader, visitor, true);
+    }
+
+    private int readMessages(JsonReader reader, MessageVisitor<T> visitor, boolean allowBatch) throws IOException {
+        T type = null;
+        TypeAdapter<?> adapter = null;
+        Object data = null;
+        JsonElement pendingData = null;
+        boolean hasData = false;
+        boolean unknown = false;
+        int batched = -1;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (allowBatch && name.equals("batch") && batched < 0) {
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    throw malformed("'batch' must be a JSON array");
+                }
+                batched = 0;
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    batched += readMessages(reader, visitor, false);
+                }
+                reader.endArray();
+                continue;
+            }
+            switch (name) {
+            case "type" -> {
+                String typeString = reader.nextString();
+                type = lookupType(typeString);
+                if (type != null) {
+                    adapter = visitor.adapterFor(type);
+                } else if (visitor.skipUnknownType(typeString) || skipUnknownTypes) {
+                    unknown = true;
+                } else {
+                    throw unknownType(typeString);
                 }
             }
+            case "data" -> {
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    throw malformed("'data' must be a JSON object");
+                }
+                hasData = true;
+                if (type == null && !unknown) {
+                    // Type arrives later; hold the data until we know what to decode it as
+                    pendingData = JsonParser.parseReader(reader);
+                } else if (adapter == null) {
+                    reader.skipValue();
+                } else {
+                    data = readData(type, adapter, reader);
+                }
+            }
+            default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
 
-            throw new IllegalArgumentException("Unknown type: " + typeString + " for channel: " + channel);
+        if (batched >= 0) {
+            if (type != null || unknown || hasData) {
+                throw malformed("JSON must not contain 'type' or 'data' fields alongside 'batch'");
+            }
+            return batched;
+        }
+        if ((type == null && !unknown) || !hasData) {
+            throw malformed("JSON must contain 'type' and 'data' fields");
+        }
+        if (adapter == null) {
+            return 0;
+        }
+        if (pendingData != null) {
+            data = getData(type, adapter, pendingData);
+        }
+
+        visitor.visit(type, data);
+        return 1;
+    }
+
+    /**
+     * Streams data for the configured channel straight into its data class.
+     * 
+     * @param type    The enum type from the channel
+     * @param adapter The adapter to decode the data with
+     * @param reader  JSON reader positioned at the data object
+     * @return The created data object
+     */
+    private Object readData(T type, TypeAdapter<?> adapter, JsonReader reader) {
+        if (metrics != null) {
+            return readDataTimed(type, adapter, reader);
+        }
+        try {
+            return adapter.read(reader);
 
         } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to extract type from JSON: " + e.getMessage(), e);
+            throw invalidData(type, e);
         }
     }
 
     /**
-     * Handles data for the configured channel.
+     * Decodes data held as a tree for the configured channel.
      * 
-     * @param type The enum type from the channel
-     * @param data The data object from the JSON
+     * @param type    The enum type from the channel
+     * @param adapter The adapter to decode the data with
+     * @param data    The data object from the JSON
      * @return The created data object
      */
-    private Object getData(T type, JsonObject data) {
+    Object getData(T type, TypeAdapter<?> adapter, JsonElement data) {
+        long start = metrics == null ? 0L : System.nanoTime();
         try {
-            // Get the class for this type
-            Class<?> dataClass = type.get();
+            Object result = adapter.fromJsonTree(data);
+            if (metrics != null) {
+                metrics.recordDecode(type, System.nanoTime() - start);
+            }
+            return result;
+
+        } catch (Exception e) {
+            if (metrics != null) {
+                metrics.recordFailure(type);
+            }
+            throw invalidData(type, e);
+        }
+    }
 
-            // Deserialize the data to the appropriate class
-            return gson.fromJson(data, dataClass);
+    /**
+     * Streams data into its data class like
+     * {@link #readData(Enum, TypeAdapter, JsonReader)}, recording the decode
+     * into the metrics.
+     */
+    private Object readDataTimed(T type, TypeAdapter<?> adapter, JsonReader reader) {
+        long start = System.nanoTime();
+        try {
+            Object result = adapter.read(reader);
+            metrics.recordDecode(type, System.nanoTime() - start);
+            return result;
 
         } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to create object for type " + type + ": " + e.getMessage(), e);
+            metrics.recordFailure(type);
+            throw invalidData(type, e);
         }
     }
 
+    /**
+     * Gets the adapter that decodes data for a type.
+     * 
+     * @param type The enum type from the channel
+     * @return The adapter for the type's data class
+     */
+    TypeAdapter<?> getAdapter(T type) {
+        return adapters[type.ordinal()];
+    }
+
+    /**
+     * Gets the enum class of the types this handler processes.
+     * 
+     * @return The type class
+     */
+    Class<T> getTypeClass() {
+        return typeClass;
+    }
+
     /**
      * Generic method to handle channel data with type-safe casting.
      * 
      * @param <R>           The expected return type
      * @param jsonObject    The JSON object to process
      * @param expectedClass The expected class of the result
-     * @return The created data object cast to the expected type
+     * @return The created data object cast to the expected type, or null if the
+     *         type is unknown and the handler skips unknown types
      */
     @SuppressWarnings("unchecked")
     public <R> R getData(JsonObject jsonObject, Class<R> expectedClass) {
         Object result = getData(jsonObject);
 
-        if (!expectedClass.isInstance(result)) {
+        if (result != null && !expectedClass.isInstance(result)) {
             throw new IllegalArgumentException(
                     "Expected " + expectedClass.getSimpleName() + " but got " + result.getClass().getSimpleName());
         }
 
         return (R) result;
     }
+
+    /**
+     * Builder for a {@link ChannelDataHandler}.
+     * 
+     * @param <T> The enum type of the channel
+     */
+    public static final class Builder<T extends Enum<T> & Supplier<Class<?>>> {
+        private final Channels channel;
+        private final Class<T> typeClass;
+        private Gson gson = DEFAULT_GSON;
+        private ChannelMetrics<T> metrics;
+        private boolean skipUnknownTypes;
+
+        private Builder(Channels channel, Class<T> typeClass) {
+            this.channel = channel;
+            this.typeClass = typeClass;
+        }
+
+        /**
+         * Sets the {@link Gson} to look the data adapters up from. It should
+         * come from {@link ChannelDataHandler#newGsonBuilder()}, or otherwise
+         * have the {@link GeneralTypeAdapterFactory} registered, so the data
+         * classes are not decoded by reflection.
+         * 
+         * @param gson The Gson instance
+         * @return This builder
+         */
+        public Builder<T> gson(Gson gson) {
+            this.gson = Objects.requireNonNull(gson, "gson");
+            return this;
+        }
+
+        /**
+         * Sets the metrics to record decode counts, sizes, failures and times
+         * into. By default none are recorded.
+         * 
+         * @param metrics The metrics
+         * @return This builder
+         */
+        public Builder<T> metrics(ChannelMetrics<T> metrics) {
+            this.metrics = Objects.requireNonNull(metrics, "metrics");
+            return this;
+        }
+
+        /**
+         * Skips messages with a type name the channel does not know, as a newer
+         * server may send, instead of failing on them. Their data is skipped
+         * without being parsed and they are still counted. The {@code getData}
+         * methods return null for them, batches and dispatchers leave them out,
+         * and {@link #getType(JsonObject)} and {@link #getMessage(JsonObject)}
+         * still throw.
+         * 
+         * @return This builder
+         */
+        public Builder<T> skipUnknownTypes() {
+            this.skipUnknownTypes = true;
+            return this;
+        }
+
+        /**
+         * Creates the handler.
+         * 
+         * @return A new ChannelDataHandler
+         */
+        public ChannelDataHandler<T> build() {
+            return new ChannelDataHandler<>(channel, typeClass, gson, metrics, skipUnknownTypes);
+        }
+    }
+
+    /**
+     * Receives messages read by {@link #readMessage(JsonReader, MessageVisitor)}.
+     * 
+     * @param <T> The enum type of the channel
+     */
+    interface MessageVisitor<T> {
+
+        /**
+         * Chooses the adapter to decode a message's data with.
+         * 
+         * @param type The type of the message
+         * @return The adapter to use, or null to skip the data without decoding it
+         */
+        TypeAdapter<?> adapterFor(T type);
+
+        /**
+         * Receives a decoded message.
+         * 
+         * @param type The type of the message
+         * @param data The decoded data
+         */
+        void visit(T type, Object data);
+
+        /**
+         * Chooses whether to skip a message with a type name the channel does
+         * not know. The message is also skipped if the handler skips unknown
+         * types.
+         * 
+         * @param typeString The type name from the JSON
+         * @return true to skip the message, false to let the handler decide
+         */
+        default boolean skipUnknownType(String typeString) {
+            return false;
+        }
+    }
+
+    /**
+     * Visitor that decodes every message with the handler's adapters and keeps
+     * the result.
+     */
+    private static final class SingleMessage<T extends Enum<T> & Supplier<Class<?>>> implements MessageVisitor<T> {
+        private final ChannelDataHandler<T> handler;
+        private final boolean skipUnknown;
+        private T type;
+        private String unknownTypeName;
+        private Object data;
+
+        SingleMessage(ChannelDataHandler<T> handler, boolean skipUnknown) {
+            this.handler = handler;
+            this.skipUnknown = skipUnknown;
+        }
+
+        @Override
+        public TypeAdapter<?> adapterFor(T type) {
+            this.type = type;
+            return handler.getAdapter(type);
+        }
+
+        @Override
+        public void visit(T type, Object data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean skipUnknownType(String typeString) {
+            this.unknownTypeName = typeString;
+            return skipUnknown;
+        }
+    }
+
+    /**
+     * Visitor that decodes every message with the handler's adapters and keeps
+     * the results in order.
+     */
+    private static final class BatchMessages<T extends Enum<T> & Supplier<Class<?>>> implements MessageVisitor<T> {
+        private final ChannelDataHandler<T> handler;
+        private final List<T> types;
+        private final List<Object> data = new ArrayList<>();
+
+        BatchMessages(ChannelDataHandler<T> handler, List<T> types) {
+            this.handler = handler;
+            this.types = types;
+        }
+
+        @Override
+        public TypeAdapter<?> adapterFor(T type) {
+            return handler.getAdapter(type);
+        }
+
+        @Override
+        public void visit(T type, Object data) {
+            if (types != null) {
+                types.add(type);
+            }
+            this.data.add(data);
+        }
+    }
+
+    /**
+     * Reader that counts the characters read through it, for the sizes
+     * recorded in the metrics.
+     */
+    private static final class CountingReader extends FilterReader {
+        private long count;
+
+        CountingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                count++;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
 }
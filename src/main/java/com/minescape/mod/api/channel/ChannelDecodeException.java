@@ -0,0 +1,53 @@
+package com.minescape.mod.api.channel;
+
+/**
+ * Thrown when a channel message cannot be decoded.
+ * <p>
+ * The handler throws it once, where the problem is found, rather than wrapping
+ * it again at every level. It does not fill in a stack trace, since the
+ * handler's own frames say nothing about the message, so a server sending many
+ * bad messages costs little more than the message text. When Gson or the JSON
+ * reader failed, its exception is the cause and keeps its stack trace.
+ */
+public class ChannelDecodeException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    /** Why the message could not be decoded. */
+    private final DecodeError error;
+
+    /**
+     * Creates an exception.
+     *
+     * @param error   why the message could not be decoded
+     * @param message the detail message
+     */
+    public ChannelDecodeException(DecodeError error, String message) {
+        this(error, message, null);
+    }
+
+    /**
+     * Creates an exception caused by another.
+     *
+     * @param error   why the message could not be decoded
+     * @param message the detail message
+     * @param cause   the exception thrown while reading or decoding
+     */
+    public ChannelDecodeException(DecodeError error, String message, Throwable cause) {
+        super(message, cause);
+        this.error = error;
+    }
+
+    /**
+     * Gets why the message could not be decoded.
+     *
+     * @return the error
+     */
+    public DecodeError error() {
+        return error;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,364 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches channel messages to listeners registered per type, so consumers
+ * do not need their own {@code switch} over
+ * {@link ChannelDataHandler#getType(JsonObject)} and cast of the result.
+ * <p>
+ * Messages whose type has no listeners are skipped without decoding their
+ * data, as are messages of an unknown type when the handler was built with
+ * {@link ChannelDataHandler.Builder#skipUnknownTypes()}.
+ *
+ * <pre>{@code
+ * ChannelDispatcher<GeneralType> dispatcher = new ChannelDispatcher<>(handler)
+ *         .on(GeneralType.MOB_ATTACK, (MobAttackData attack) -> ...)
+ *         .on(GeneralType.MOB_DEFENCE, (MobDefenceData defence) -> ...);
+ *
+ * dispatcher.dispatch(new StringReader(json));
+ * }</pre>
+ * <p>
+ * Listeners should be registered before messages are dispatched, or from the
+ * thread that dispatches them.
+ *
+ * @param <T> The enum type that implements Supplier&lt;Class&lt;?&gt;&gt;
+ */
+public class ChannelDispatcher<T extends Enum<T> & Supplier<Class<?>>> {
+
+    private final ChannelDataHandler<T> handler;
+    private final EnumMap<T, Listener<?>[]> listeners;
+    private final EnumMap<T, TypeAdapter<?>> decoders;
+    private final ChannelDataHandler.MessageVisitor<T> visitor = new ChannelDataHandler.MessageVisitor<>() {
+        @Override
+        public TypeAdapter<?> adapterFor(T type) {
+            return listeners.containsKey(type) ? getDecoder(type) : null;
+        }
+
+        @Override
+        public void visit(T type, Object data) {
+            try {
+                callListeners(listeners.get(type), data);
+            } catch (RuntimeException e) {
+                throw new ListenerException(e);
+            }
+        }
+    };
+
+    /**
+     * Creates a new dispatcher that decodes messages with the given handler.
+     *
+     * @param handler The handler for the channel the messages arrive on
+     */
+    public ChannelDispatcher(ChannelDataHandler<T> handler) {
+        this.handler = handler;
+        this.listeners = new EnumMap<>(handler.getTypeClass());
+        this.decoders = new EnumMap<>(handler.getTypeClass());
+    }
+
+    /**
+     * Registers a listener for a type of message. Listeners for the same type
+     * are called in the order they were registered.
+     *
+     * @param <D>      The data class of the type, see {@link Supplier#get()}
+     * @param type     The type of message to listen for
+     * @param listener The listener to call with each decoded message
+     * @return This dispatcher
+     */
+    public <D> ChannelDispatcher<T> on(T type, Listener<D> listener) {
+        Listener<?>[] current = listeners.get(type);
+        if (current == null) {
+            listeners.put(type, new Listener<?>[] { listener });
+        } else {
+            Listener<?>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+            listeners.put(type, updated);
+        }
+        return this;
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param type     The type the listener was registered for
+     * @param listener The listener to remove
+     * @return true if the listener was registered, false otherwise
+     */
+    public boolean remove(T type, Listener<?> listener) {
+        Listener<?>[] current = listeners.get(type);
+        if (current == null) {
+            return false;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                if (current.length == 1) {
+                    listeners.remove(type);
+                } else {
+                    Listener<?>[] updated = new Listener<?>[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    listeners.put(type, updated);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decodes messages of a type with the given adapter instead of the
+     * handler's. Listeners for the type receive whatever the adapter reads, so
+     * they must accept the adapter's class rather than the type's data class.
+     * <p>
+     * This is how reusable data objects are plugged in, see
+     * {@link com.minescape.mod.api.channel.general.GeneralFlyweights}.
+     *
+     * @param type    The type of message
+     * @param adapter The adapter to decode the type's data with, or {@code null}
+     *                to go back to the handler's
+     * @return This dispatcher
+     */
+    public ChannelDispatcher<T> decodeWith(T type, TypeAdapter<?> adapter) {
+        if (adapter == null) {
+            decoders.remove(type);
+        } else {
+            decoders.put(type, adapter);
+        }
+        return this;
+    }
+
+    /**
+     * Checks whether any listeners are registered for a type.
+     *
+     * @param type The type of message
+     * @return true if messages of the type will be decoded and dispatched
+     */
+    public boolean hasListeners(T type) {
+        return listeners.containsKey(type);
+    }
+
+    /**
+     * Decodes a JSON object and passes it to the listeners for its type.
+     *
+     * @param jsonObject JSON object in format: {"type":"LOGIN_SKILLS",
+     *                   "data":object}
+     * @return true if the message had listeners, false if it was skipped
+     * @throws ChannelDecodeException if the JSON format is invalid or type is not
+     *                                supported
+     */
+    public boolean dispatch(JsonObject jsonObject) {
+        T type = handler.typeOf(jsonObject);
+        if (type == null) {
+            return false;
+        }
+        Listener<?>[] typeListeners = listeners.get(type);
+        if (typeListeners == null) {
+            return false;
+        }
+
+        callListeners(typeListeners, handler.getData(type, getDecoder(type), handler.dataOf(jsonObject)));
+        return true;
+    }
+
+    /**
+     * Passes data that has already been decoded, for example from another wire
+     * format, to the listeners for its type.
+     *
+     * @param type The type of the message
+     * @param data The decoded data, an instance of the type's data class
+     * @return true if the message had listeners, false if it was skipped
+     */
+    public boolean dispatch(T type, Object data) {
+        Listener<?>[] typeListeners = listeners.get(type);
+        if (typeListeners == null) {
+            return false;
+        }
+
+        callListeners(typeListeners, data);
+        return true;
+    }
+
+    /**
+     * Reads a JSON message from a character stream and passes it to the
+     * listeners for its type.
+     *
+     * @param reader reader positioned at a message in format:
+     *               {"type":"LOGIN_SKILLS", "data":object}
+     * @return true if the message had listeners, false if it was skipped
+     * @throws ChannelDecodeException if the JSON format is invalid or type is not
+     *                                supported
+     */
+    public boolean dispatch(Reader reader) {
+        return dispatch(new JsonReader(reader));
+    }
+
+    /**
+     * Reads the next JSON message from a JSON reader and passes it to the
+     * listeners for its type. The data of a message with no listeners is
+     * skipped over without being decoded.
+     *
+     * @param reader JSON reader positioned at a message in format:
+     *               {"type":"LOGIN_SKILLS", "data":object}
+     * @return true if the message had listeners, false if it was skipped
+     * @throws ChannelDecodeException if the JSON format is invalid or type is not
+     *                                supported
+     */
+    public boolean dispatch(JsonReader reader) {
+        try {
+            return handler.readMessage(reader, visitor);
+        } catch (ListenerException e) {
+            throw e.getCause();
+        } catch (ChannelDecodeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw malformed("Failed to process channel data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodes a batch of JSON messages and passes each to the listeners for its
+     * type, in the order of the batch. A single message that is not wrapped in a
+     * batch is dispatched as a batch of one.
+     * <p>
+     * If a message in the batch is invalid, the messages before it have already
+     * been dispatched when the exception is thrown.
+     *
+     * @param jsonObject JSON object in format: {"batch":[{"type":"MOB_DEFENCE",
+     *                   "data":object}, ...]}
+     * @return the number of messages that had listeners
+     * @throws ChannelDecodeException if the JSON format is invalid or a type is
+     *                                not supported
+     */
+    public int dispatchBatch(JsonObject jsonObject) {
+        if (!jsonObject.has("batch")) {
+            return dispatch(jsonObject) ? 1 : 0;
+        }
+        if (jsonObject.has("type") || jsonObject.has("data")) {
+            throw malformed("JSON must not contain 'type' or 'data' fields alongside 'batch'", null);
+        }
+        if (!jsonObject.get("batch").isJsonArray()) {
+            throw malformed("'batch' must be a JSON array", null);
+        }
+
+        int dispatched = 0;
+        for (JsonElement message : jsonObject.getAsJsonArray("batch")) {
+            if (!message.isJsonObject()) {
+                throw malformed("batch entries must be JSON objects", null);
+            }
+            if (dispatch(message.getAsJsonObject())) {
+                dispatched++;
+            }
+        }
+        return dispatched;
+    }
+
+    /**
+     * Reads a batch of JSON messages from a character stream and passes each to
+     * the listeners for its type, in the order of the batch.
+     *
+     * @param reader reader positioned at a batch in format:
+     *               {"batch":[{"type":"MOB_DEFENCE", "data":object}, ...]}
+     * @return the number of messages that had listeners
+     * @throws ChannelDecodeException if the JSON format is invalid or a type is
+     *                                not supported
+     * @see #dispatchBatch(JsonReader)
+     */
+    public int dispatchBatch(Reader reader) {
+        return dispatchBatch(new JsonReader(reader));
+    }
+
+    /**
+     * Reads a batch of JSON messages from a JSON reader and passes each to the
+     * listeners for its type, in the order of the batch. The batch is read in a
+     * single pass, and each message is dispatched as soon as it has been read.
+     * A single message that is not wrapped in a batch is dispatched as a batch
+     * of one.
+     * <p>
+     * If a message in the batch is invalid, the messages before it have already
+     * been dispatched when the exception is thrown.
+     *
+     * @param reader JSON reader positioned at a batch in format:
+     *               {"batch":[{"type":"MOB_DEFENCE", "data":object}, ...]}
+     * @return the number of messages that had listeners
+     * @throws ChannelDecodeException if the JSON format is invalid or a type is
+     *                                not supported
+     */
+    public int dispatchBatch(JsonReader reader) {
+        try {
+            return handler.readMessages(reader, visitor);
+        } catch (ListenerException e) {
+            throw e.getCause();
+        } catch (ChannelDecodeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw malformed("Failed to process channel data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the adapter set with {@link #decodeWith(Enum, TypeAdapter)} for a
+     * type.
+     *
+     * @param type The type of message
+     * @return The adapter, or null if the type uses the handler's
+     */
+    TypeAdapter<?> getCustomDecoder(T type) {
+        return decoders.get(type);
+    }
+
+    private TypeAdapter<?> getDecoder(T type) {
+        TypeAdapter<?> decoder = decoders.get(type);
+        return decoder == null ? handler.getAdapter(type) : decoder;
+    }
+
+    private static ChannelDecodeException malformed(String message, Exception cause) {
+        return new ChannelDecodeException(DecodeError.MALFORMED, message, cause);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void callListeners(Listener<?>[] typeListeners, Object data) {
+        for (Listener<?> listener : typeListeners) {
+            ((Listener<Object>) listener).accept(data);
+        }
+    }
+
+    /**
+     * Carries an exception thrown by a listener past the decoding error
+     * handling, so it reaches the caller unwrapped.
+     */
+    private static final class ListenerException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ListenerException(RuntimeException cause) {
+            super(null, cause, false, false);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+
+    /**
+     * Listener for decoded messages of one type.
+     *
+     * @param <D> The data class of the type the listener is registered for
+     */
+    @FunctionalInterface
+    public interface Listener<D> {
+
+        /**
+         * Called with each decoded message of the registered type.
+         *
+         * @param data The decoded data
+         */
+        void accept(D data);
+    }
+}
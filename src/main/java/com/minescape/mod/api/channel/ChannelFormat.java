@@ -0,0 +1,39 @@
+package com.minescape.mod.api.channel;
+
+/**
+ * Enum representing the wire formats a channel's messages can be sent in.
+ * <p>
+ * Each format has its own plugin channel name, see
+ * {@link Channels#getChannelName(ChannelFormat)}. A client advertises the
+ * formats it can decode by registering their channel names, and the server
+ * sends each message in one format the client registered, falling back to
+ * {@link #JSON}.
+ */
+public enum ChannelFormat {
+    /**
+     * JSON messages in format: {"type":"LOGIN_SKILLS", "data":object}. Every
+     * client supports this format.
+     */
+    JSON(""),
+    /**
+     * Compact binary messages, see
+     * {@link com.minescape.mod.api.channel.general.GeneralBinaryCodec}.
+     */
+    BINARY("_binary"),
+    ;
+
+    private final String suffix;
+
+    ChannelFormat(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Gets the suffix added to a channel's name for this format.
+     *
+     * @return the channel name suffix, empty for {@link #JSON}
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+}
@@ -0,0 +1,102 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.JsonObject;
+import java.util.function.Supplier;
+
+/**
+ * View of a single channel message whose type is known up front but whose data
+ * is only decoded the first time it is asked for.
+ * <p>
+ * Returned by {@link ChannelDataHandler#getMessage(JsonObject)}. Use it to
+ * filter messages on their type, or on the raw {@link #data()}, before paying
+ * for decoding. The decoded payload is cached, so repeated calls to
+ * {@link #payload()} return the same object.
+ * <p>
+ * A message is meant to be used from one thread. Sharing it is safe, but two
+ * threads calling {@link #payload()} at once may both decode it.
+ *
+ * @param <T> The enum type that implements Supplier&lt;Class&lt;?&gt;&gt;
+ */
+public final class ChannelMessage<T extends Enum<T> & Supplier<Class<?>>> {
+
+    private final ChannelDataHandler<T> handler;
+    private final T type;
+    private final JsonObject data;
+    private Object payload;
+
+    ChannelMessage(ChannelDataHandler<T> handler, T type, JsonObject data) {
+        this.handler = handler;
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * Gets the type of the message.
+     *
+     * @return the message type
+     */
+    public T type() {
+        return type;
+    }
+
+    /**
+     * Gets the undecoded data of the message.
+     *
+     * @return the data object from the JSON
+     */
+    public JsonObject data() {
+        return data;
+    }
+
+    /**
+     * Gets the decoded data of the message, decoding it on the first call.
+     *
+     * @return the created data object based on the type
+     * @throws IllegalArgumentException if the data cannot be decoded as the type's
+     *                                  data class
+     */
+    public Object payload() {
+        Object result = payload;
+        if (result == null) {
+            result = handler.getData(type, data);
+            payload = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the decoded data of the message with type-safe casting, decoding it
+     * on the first call.
+     *
+     * @param <R>           The expected return type
+     * @param expectedClass The expected class of the result
+     * @return the created data object cast to the expected type
+     * @throws IllegalArgumentException if the data cannot be decoded or is not an
+     *                                  instance of the expected class
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R payload(Class<R> expectedClass) {
+        Object result = payload();
+
+        if (!expectedClass.isInstance(result)) {
+            throw new IllegalArgumentException(
+                    "Expected " + expectedClass.getSimpleName() + " but got " + result.getClass().getSimpleName());
+        }
+
+        return (R) result;
+    }
+
+    /**
+     * Checks whether the data has already been decoded.
+     *
+     * @return true if {@link #payload()} has decoded the data, false otherwise
+     */
+    public boolean isDecoded() {
+        return payload != null;
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelMessage{" + "type=" + type + ", data=" + data + '}';
+    }
+}
@@ -0,0 +1,404 @@
+package com.minescape.mod.api.channel;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Decode counts, sizes, failures and decode time histograms per message type,
+ * for finding out whether decoding is what makes a client stutter.
+ * <p>
+ * Pass an instance to {@link ChannelDataHandler.Builder#metrics(ChannelMetrics)}
+ * to have the handler record into it. A handler without metrics only checks a
+ * field for null per message, so leaving them off costs close to nothing.
+ * <p>
+ * Decode times go into a histogram per type with 8 buckets per power of two,
+ * so percentiles are accurate to within 12.5% as in HdrHistogram. Recording
+ * only updates atomic counters: it takes no lock and allocates nothing, from
+ * any number of threads. Read the figures with {@link #snapshot(Enum)}, or over
+ * JMX after {@link #registerMBean(String)}.
+ * <p>
+ * Sizes are the characters of JSON read from a {@link java.io.Reader} or
+ * submitted to a {@link ChannelPipeline}. Each message of a batch is counted
+ * with an equal share of the batch. Messages decoded from a
+ * {@code JsonObject} or {@code JsonReader} add no size.
+ *
+ * @param <T> The enum type of the channel
+ */
+public final class ChannelMetrics<T extends Enum<T>> {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Longer times are counted in the last bucket; 2^40 ns is over 18 minutes
+    private static final long MAX_TRACKED_NANOS = (1L << 40) - 1;
+    private static final int BUCKETS = bucketOf(MAX_TRACKED_NANOS) + 1;
+
+    private final Class<T> typeClass;
+    private final T[] types;
+    private final AtomicLongArray messages;
+    private final AtomicLongArray bytes;
+    private final AtomicLongArray failures;
+    private final AtomicLongArray totalNanos;
+    private final AtomicLongArray maxNanos;
+    // Bucket b of the type with ordinal t is at index t * BUCKETS + b.
+    private final AtomicLongArray histograms;
+    private final AtomicLong unknownTypes = new AtomicLong();
+
+    /**
+     * Creates metrics for the types of a channel.
+     *
+     * @param typeClass the enum class of the channel's types
+     */
+    public ChannelMetrics(Class<T> typeClass) {
+        this.typeClass = typeClass;
+        this.types = typeClass.getEnumConstants();
+        this.messages = new AtomicLongArray(types.length);
+        this.bytes = new AtomicLongArray(types.length);
+        this.failures = new AtomicLongArray(types.length);
+        this.totalNanos = new AtomicLongArray(types.length);
+        this.maxNanos = new AtomicLongArray(types.length);
+        this.histograms = new AtomicLongArray(types.length * BUCKETS);
+    }
+
+    /**
+     * Records a message whose data decoded successfully.
+     *
+     * @param type  the type of the message
+     * @param nanos the time the decode took
+     */
+    public void recordDecode(T type, long nanos) {
+        int ordinal = type.ordinal();
+        long value = Math.max(0L, nanos);
+        messages.incrementAndGet(ordinal);
+        totalNanos.addAndGet(ordinal, value);
+        histograms.incrementAndGet(ordinal * BUCKETS + bucketOf(Math.min(value, MAX_TRACKED_NANOS)));
+        long max;
+        while (value > (max = maxNanos.get(ordinal)) && !maxNanos.compareAndSet(ordinal, max, value)) {
+            // Another thread raised the maximum; check against the new one
+        }
+    }
+
+    /**
+     * Records a message whose data failed to decode.
+     *
+     * @param type the type of the message
+     */
+    public void recordFailure(T type) {
+        failures.incrementAndGet(type.ordinal());
+    }
+
+    /**
+     * Records a message with a type name the channel does not know.
+     */
+    public void recordUnknownType() {
+        unknownTypes.incrementAndGet();
+    }
+
+    /**
+     * Records the size of a message.
+     *
+     * @param type  the type of the message
+     * @param count the characters or bytes of the message
+     */
+    public void recordBytes(T type, long count) {
+        bytes.addAndGet(type.ordinal(), count);
+    }
+
+    /**
+     * Records the size of a payload, sharing it equally between its messages.
+     */
+    void recordBytes(List<T> payloadTypes, long count) {
+        int size = payloadTypes.size();
+        if (size == 0) {
+            return;
+        }
+        long share = count / size;
+        long remainder = count % size;
+        for (int i = 0; i < size; i++) {
+            recordBytes(payloadTypes.get(i), i == 0 ? share + remainder : share);
+        }
+    }
+
+    /**
+     * Gets the figures recorded so far for a type.
+     *
+     * @param type the message type
+     * @return a snapshot of the type's figures
+     */
+    public Snapshot snapshot(T type) {
+        int ordinal = type.ordinal();
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histograms.get(ordinal * BUCKETS + i);
+        }
+        return new Snapshot(type.name(), messages.get(ordinal), bytes.get(ordinal), failures.get(ordinal),
+                totalNanos.get(ordinal), maxNanos.get(ordinal), buckets);
+    }
+
+    /**
+     * Gets the figures recorded so far for every type.
+     *
+     * @return a snapshot per type, in declaration order
+     */
+    public Map<T, Snapshot> snapshot() {
+        Map<T, Snapshot> snapshots = new EnumMap<>(typeClass);
+        for (T type : types) {
+            snapshots.put(type, snapshot(type));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Gets the number of messages with a type name the channel does not know.
+     *
+     * @return the number of unknown types
+     */
+    public long unknownTypeCount() {
+        return unknownTypes.get();
+    }
+
+    /**
+     * Sets every count and histogram back to zero. Messages recorded during the
+     * reset may be partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < types.length; i++) {
+            messages.set(i, 0L);
+            bytes.set(i, 0L);
+            failures.set(i, 0L);
+            totalNanos.set(i, 0L);
+            maxNanos.set(i, 0L);
+        }
+        for (int i = 0; i < histograms.length(); i++) {
+            histograms.set(i, 0L);
+        }
+        unknownTypes.set(0L);
+    }
+
+    /**
+     * Registers a {@link ChannelMetricsMXBean} view of these metrics with the
+     * platform MBean server, under
+     * {@code com.minescape.mod.api:type=ChannelMetrics,name=<name>}.
+     *
+     * @param name the name to register under, such as the channel name
+     * @return the object name registered
+     * @throws IllegalStateException if the name is taken or registration fails
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("com.minescape.mod.api:type=ChannelMetrics,name="
+                    + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new StandardMBean(new MXBeanView(), ChannelMetricsMXBean.class, true), objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register channel metrics " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((nanos >>> shift) - SUB_BUCKETS);
+    }
+
+    static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return ((long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1)) + 1) << shift) - 1;
+    }
+
+    /**
+     * The figures of one message type at a point in time.
+     */
+    public static final class Snapshot {
+        private final String type;
+        private final long messages;
+        private final long bytes;
+        private final long failures;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+
+        private Snapshot(String type, long messages, long bytes, long failures, long totalNanos, long maxNanos,
+                long[] buckets) {
+            this.type = type;
+            this.messages = messages;
+            this.bytes = bytes;
+            this.failures = failures;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+
+        /**
+         * Gets the name of the message type.
+         *
+         * @return the type name
+         */
+        public String type() {
+            return type;
+        }
+
+        /**
+         * Gets the number of messages decoded.
+         *
+         * @return the number of messages
+         */
+        public long messages() {
+            return messages;
+        }
+
+        /**
+         * Gets the size of the messages decoded, where it is known.
+         *
+         * @return the characters or bytes of the messages
+         */
+        public long bytes() {
+            return bytes;
+        }
+
+        /**
+         * Gets the number of messages whose data failed to decode.
+         *
+         * @return the number of failures
+         */
+        public long failures() {
+            return failures;
+        }
+
+        /**
+         * Gets the mean decode time.
+         *
+         * @return the mean time in nanoseconds, or 0 if nothing was decoded
+         */
+        public double meanNanos() {
+            return messages == 0 ? 0.0 : (double) totalNanos / messages;
+        }
+
+        /**
+         * Gets the longest decode time.
+         *
+         * @return the longest time in nanoseconds, or 0 if nothing was decoded
+         */
+        public long maxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Gets the decode time that a percentage of the messages took at most.
+         *
+         * @param percentile the percentage, from 0 to 100
+         * @return the time in nanoseconds, within 12.5% above the true value,
+         *         or 0 if nothing was decoded
+         * @throws IllegalArgumentException if the percentage is out of range
+         */
+        public long percentileNanos(double percentile) {
+            if (!(percentile >= 0.0 && percentile <= 100.0)) {
+                throw new IllegalArgumentException("Percentile must be from 0 to 100: " + percentile);
+            }
+            long recorded = 0L;
+            for (long count : buckets) {
+                recorded += count;
+            }
+            if (recorded == 0) {
+                return 0L;
+            }
+            long target = Math.max(1L, (long) Math.ceil(percentile / 100.0 * recorded));
+            long seen = 0L;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    return Math.min(bucketUpperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" + "type=" + type + ", messages=" + messages + ", bytes=" + bytes + ", failures="
+                    + failures + ", meanNanos=" + meanNanos() + ", maxNanos=" + maxNanos + '}';
+        }
+    }
+
+    private final class MXBeanView implements ChannelMetricsMXBean {
+        @Override
+        public long getMessageCount() {
+            return sum(messages);
+        }
+
+        @Override
+        public long getFailureCount() {
+            return sum(failures);
+        }
+
+        @Override
+        public long getUnknownTypeCount() {
+            return unknownTypeCount();
+        }
+
+        @Override
+        public Map<String, Long> getMessageCounts() {
+            return perType(Snapshot::messages);
+        }
+
+        @Override
+        public Map<String, Long> getByteCounts() {
+            return perType(Snapshot::bytes);
+        }
+
+        @Override
+        public Map<String, Long> getFailureCounts() {
+            return perType(Snapshot::failures);
+        }
+
+        @Override
+        public Map<String, Long> getMedianDecodeNanos() {
+            return perType(snapshot -> snapshot.percentileNanos(50.0));
+        }
+
+        @Override
+        public Map<String, Long> getP99DecodeNanos() {
+            return perType(snapshot -> snapshot.percentileNanos(99.0));
+        }
+
+        @Override
+        public Map<String, Long> getMaxDecodeNanos() {
+            return perType(Snapshot::maxNanos);
+        }
+
+        @Override
+        public void reset() {
+            ChannelMetrics.this.reset();
+        }
+
+        private long sum(AtomicLongArray counts) {
+            long total = 0L;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+
+        private Map<String, Long> perType(ToLongFunction<Snapshot> figure) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (Snapshot snapshot : snapshot().values()) {
+                values.put(snapshot.type(), figure.applyAsLong(snapshot));
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.minescape.mod.api.channel;
+
+import java.util.Map;
+
+/**
+ * JMX view of a {@link ChannelMetrics}, registered with
+ * {@link ChannelMetrics#registerMBean(String)}. Maps are keyed by type name.
+ */
+public interface ChannelMetricsMXBean {
+
+    /**
+     * Gets the number of messages decoded, of every type.
+     *
+     * @return the number of messages
+     */
+    long getMessageCount();
+
+    /**
+     * Gets the number of messages whose data failed to decode, of every type.
+     *
+     * @return the number of failures
+     */
+    long getFailureCount();
+
+    /**
+     * Gets the number of messages with a type name the channel does not know.
+     *
+     * @return the number of unknown types
+     */
+    long getUnknownTypeCount();
+
+    /**
+     * Gets the number of messages decoded per type.
+     *
+     * @return the message counts
+     */
+    Map<String, Long> getMessageCounts();
+
+    /**
+     * Gets the size of the messages decoded per type, where it is known.
+     *
+     * @return the byte counts
+     */
+    Map<String, Long> getByteCounts();
+
+    /**
+     * Gets the number of decode failures per type.
+     *
+     * @return the failure counts
+     */
+    Map<String, Long> getFailureCounts();
+
+    /**
+     * Gets the median decode time per type.
+     *
+     * @return the median times, in nanoseconds
+     */
+    Map<String, Long> getMedianDecodeNanos();
+
+    /**
+     * Gets the 99th percentile decode time per type.
+     *
+     * @return the 99th percentile times, in nanoseconds
+     */
+    Map<String, Long> getP99DecodeNanos();
+
+    /**
+     * Gets the longest decode time per type.
+     *
+     * @return the longest times, in nanoseconds
+     */
+    Map<String, Long> getMaxDecodeNanos();
+
+    /**
+     * Sets every count and histogram back to zero.
+     */
+    void reset();
+}
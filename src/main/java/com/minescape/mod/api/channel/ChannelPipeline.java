@@ -0,0 +1,553 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decodes raw channel messages on worker threads and hands the results to
+ * another thread, usually the client main thread, in the order they arrived.
+ * <p>
+ * The network thread calls {@link #submit(String)} with each payload, which
+ * only queues it. A worker decodes it with the {@link ChannelDataHandler},
+ * and the main thread calls {@link #drain(ChannelDispatcher)} once per tick to
+ * pass everything decoded so far to its listeners. Messages are delivered in
+ * the order they were submitted, whichever worker decoded them; a message still
+ * being decoded holds back the ones after it until the next drain.
+ *
+ * <pre>{@code
+ * ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler).build();
+ *
+ * // Network thread
+ * pipeline.submit(json);
+ *
+ * // Main thread, every tick
+ * pipeline.drain(dispatcher);
+ * }</pre>
+ * <p>
+ * Decoded messages wait in a lock-free queue. When more than the capacity are
+ * waiting, the oldest decoded message of a {@link BackPressure#DROP_OLDEST}
+ * type is discarded. By default that is every {@code MOB_*} broadcast, which
+ * busy areas send in bursts and which are stale by the time they would be
+ * shown. Every other type is {@link BackPressure#NEVER_DROP}: it is never
+ * discarded, even if that leaves more than the capacity waiting, so
+ * {@code LOGIN_*} state is not lost.
+ * <p>
+ * The number of payloads waiting to be decoded or drained is bounded by the
+ * {@link Builder#limit(int) limit}. Once it is reached, {@link #submit(String)}
+ * discards a few droppable messages to make room. If that is not enough, the
+ * payload is still decoded but kept only if it holds a message of a
+ * {@link BackPressure#NEVER_DROP} type; otherwise it is discarded and counted
+ * as rejected.
+ * <p>
+ * A message that fails to decode is passed to the error handler on the
+ * draining thread, at its place in the order. Any thread may submit; only one
+ * thread at a time may drain.
+ *
+ * @param <T> The enum type that implements Supplier&lt;Class&lt;?&gt;&gt;
+ */
+public final class ChannelPipeline<T extends Enum<T> & Supplier<Class<?>>> implements AutoCloseable {
+    private static final int PENDING = 0;
+    private static final int DECODED = 1;
+    private static final int FAILED = 2;
+    // Most messages one submit may drop to get under the limit
+    private static final int MAX_SUBMIT_DROPS = 16;
+
+    private final ChannelDataHandler<T> handler;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int capacity;
+    private final int limit;
+    private final boolean[] droppable;
+    private final Consumer<? super RuntimeException> errorHandler;
+    private final ConcurrentLinkedQueue<Slot<T>> queue = new ConcurrentLinkedQueue<>();
+    // Decoded messages of droppable types, oldest first; drained ones are skipped
+    private final ConcurrentLinkedQueue<Event<T>> droppableEvents = new ConcurrentLinkedQueue<>();
+    // Payloads still being decoded or holding messages not yet drained or dropped
+    private final AtomicInteger slots = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * What to do with waiting messages of a type when more than the capacity
+     * are waiting.
+     */
+    public enum BackPressure {
+        /** Discard the oldest waiting message of the type to make room. */
+        DROP_OLDEST,
+        /** Never discard messages of the type. */
+        NEVER_DROP
+    }
+
+    private ChannelPipeline(Builder<T> builder) {
+        this.handler = builder.handler;
+        this.capacity = builder.capacity;
+        this.limit = builder.limit;
+        this.droppable = builder.droppable.clone();
+        this.errorHandler = builder.errorHandler;
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = Executors.newFixedThreadPool(builder.workers, new DecodeThreadFactory());
+            this.executor = ownedExecutor;
+        }
+    }
+
+    /**
+     * Creates a builder for a pipeline that decodes with the given handler.
+     *
+     * @param <T>     The enum type of the channel
+     * @param handler The handler to decode messages with
+     * @return A new builder
+     */
+    public static <T extends Enum<T> & Supplier<Class<?>>> Builder<T> builder(ChannelDataHandler<T> handler) {
+        return new Builder<>(handler);
+    }
+
+    /**
+     * Queues a JSON message, or a batch of messages, to be decoded on a worker.
+     * If the limit of waiting payloads has been reached and dropping a few
+     * waiting messages does not make room, the payload is kept only if it holds
+     * a message that is never dropped, see {@link #rejectedCount()}.
+     *
+     * @param json the message in format: {"type":"LOGIN_SKILLS", "data":object}
+     *             or {"batch":[...]}
+     * @throws IllegalStateException if the pipeline has been closed
+     */
+    public void submit(String json) {
+        Objects.requireNonNull(json, "json");
+        if (closed) {
+            throw new IllegalStateException("Pipeline is closed");
+        }
+        Slot<T> slot = new Slot<>(json);
+        if (slots.incrementAndGet() > limit) {
+            for (int i = 0; i < MAX_SUBMIT_DROPS && slots.get() > limit && dropOldest(); i++) {
+                // Each pass discards one message
+            }
+            slot.overLimit = slots.get() > limit;
+        }
+        queue.add(slot);
+        try {
+            executor.execute(() -> decode(slot));
+        } catch (RejectedExecutionException e) {
+            slot.fail(new IllegalStateException("Decoding was rejected: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Passes every message decoded so far, in order, to a dispatcher's
+     * listeners.
+     * <p>
+     * Workers decode with the handler's adapters. Messages of a type the
+     * dispatcher decodes with its own adapter, see
+     * {@link ChannelDispatcher#decodeWith}, are converted with that adapter on
+     * the draining thread, so its listeners receive the class they expect. That
+     * costs a copy of each message, so reusable data objects such as
+     * {@link com.minescape.mod.api.channel.general.GeneralFlyweights} save
+     * nothing here.
+     *
+     * @param dispatcher the dispatcher to pass the messages to
+     * @return the number of messages passed on
+     */
+    public int drain(ChannelDispatcher<T> dispatcher) {
+        return drain((type, data) -> {
+            TypeAdapter<?> decoder = dispatcher.getCustomDecoder(type);
+            if (decoder != null && dispatcher.hasListeners(type)) {
+                data = convert(type, decoder, data);
+            }
+            dispatcher.dispatch(type, data);
+        });
+    }
+
+    /**
+     * Passes every message decoded so far, in order, to a listener.
+     * <p>
+     * If the listener throws, the exception is rethrown and the messages after
+     * the one it was passed stay waiting for the next drain.
+     *
+     * @param listener called with the type and data of each message
+     * @return the number of messages passed on
+     */
+    public int drain(BiConsumer<? super T, Object> listener) {
+        int delivered = 0;
+        Slot<T> slot;
+        while ((slot = queue.peek()) != null && slot.state != PENDING) {
+            if (slot.state == FAILED) {
+                queue.poll();
+                slots.decrementAndGet();
+                failed.incrementAndGet();
+                errorHandler.accept(slot.error);
+                continue;
+            }
+            // The slot stays at the front until every message in it is taken, so a
+            // listener that throws leaves the rest for the next drain
+            for (Event<T> event : slot.events) {
+                Object data = event.data.getAndSet(null);
+                if (data != null) {
+                    take(slot);
+                    listener.accept(event.type, data);
+                    delivered++;
+                }
+            }
+            queue.poll();
+        }
+
+        // Forget drained messages at the front of the droppable queue, so it does not grow
+        Event<T> event;
+        while ((event = droppableEvents.peek()) != null && event.data.get() == null) {
+            droppableEvents.remove(event);
+        }
+        return delivered;
+    }
+
+    /**
+     * Gets the number of decoded messages waiting to be drained.
+     *
+     * @return the number of waiting messages
+     */
+    public int size() {
+        return waiting.get();
+    }
+
+    /**
+     * Gets the number of messages discarded to make room.
+     *
+     * @return the number of dropped messages
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of payloads discarded because they were submitted past
+     * the limit and held only droppable messages.
+     *
+     * @return the number of rejected payloads
+     */
+    public long rejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of payloads that failed to decode and have been drained.
+     *
+     * @return the number of failed payloads
+     */
+    public long failedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Stops accepting messages. Workers the pipeline created are shut down
+     * once the queued payloads are decoded, and messages decoded already can
+     * still be drained. An executor passed to the builder is left running.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Re-reads data decoded with the handler's adapter using another adapter.
+     */
+    @SuppressWarnings("unchecked")
+    private Object convert(T type, TypeAdapter<?> decoder, Object data) {
+        return decoder.fromJsonTree(((TypeAdapter<Object>) handler.getAdapter(type)).toJsonTree(data));
+    }
+
+    private void decode(Slot<T> slot) {
+        List<Event<T>> events = new ArrayList<>(1);
+        try {
+            handler.readMessages(new JsonReader(new StringReader(slot.payload)),
+                    new ChannelDataHandler.MessageVisitor<T>() {
+                        @Override
+                        public TypeAdapter<?> adapterFor(T type) {
+                            return handler.getAdapter(type);
+                        }
+
+                        @Override
+                        public void visit(T type, Object data) {
+                            if (data != null) {
+                                events.add(new Event<>(slot, type, data));
+                            }
+                        }
+                    });
+        } catch (ChannelDecodeException e) {
+            slot.fail(e);
+            return;
+        } catch (Exception e) {
+            slot.fail(new ChannelDecodeException(DecodeError.MALFORMED,
+                    "Failed to process channel data: " + e.getMessage(), e));
+            return;
+        }
+
+        ChannelMetrics<T> metrics = handler.getMetrics();
+        if (metrics != null) {
+            List<T> types = new ArrayList<>(events.size());
+            for (Event<T> event : events) {
+                types.add(event.type);
+            }
+            metrics.recordBytes(types, slot.payload.length());
+        }
+
+        List<Event<T>> kept = events;
+        if (slot.overLimit && !hasUndroppable(events)) {
+            rejected.incrementAndGet();
+            kept = List.of();
+        }
+
+        slot.events = kept;
+        slot.live.set(kept.size());
+        slot.payload = null;
+        waiting.addAndGet(kept.size());
+        slot.state = DECODED;
+        if (kept.isEmpty()) {
+            slots.decrementAndGet();
+        }
+        for (Event<T> event : kept) {
+            if (droppable[event.type.ordinal()]) {
+                droppableEvents.add(event);
+            }
+        }
+
+        while (waiting.get() > capacity && dropOldest()) {
+            // Each pass discards one message
+        }
+    }
+
+    private boolean hasUndroppable(List<Event<T>> events) {
+        for (Event<T> event : events) {
+            if (!droppable[event.type.ordinal()]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Discards the oldest decoded message of a type that may be dropped,
+     * skipping those drained already. A slot emptied this way stays in the
+     * queue until the draining thread reaches it.
+     */
+    private boolean dropOldest() {
+        Event<T> event;
+        while ((event = droppableEvents.poll()) != null) {
+            if (event.data.getAndSet(null) != null) {
+                take(event.slot);
+                dropped.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accounts for a message taken out of a slot, by draining or dropping it.
+     */
+    private void take(Slot<T> slot) {
+        waiting.decrementAndGet();
+        if (slot.live.decrementAndGet() == 0) {
+            slots.decrementAndGet();
+        }
+    }
+
+    /**
+     * A submitted payload, holding its place in the order until it is decoded
+     * and drained.
+     */
+    private static final class Slot<T> {
+        private String payload;
+        private List<Event<T>> events;
+        private RuntimeException error;
+        private final AtomicInteger live = new AtomicInteger();
+        // Submitted past the limit, so kept only if it holds a message never dropped
+        private boolean overLimit;
+        // Written last, so the fields above are visible to whoever reads it
+        private volatile int state = PENDING;
+
+        private Slot(String payload) {
+            this.payload = payload;
+        }
+
+        private void fail(RuntimeException error) {
+            this.error = error;
+            this.payload = null;
+            this.state = FAILED;
+        }
+    }
+
+    /**
+     * A decoded message. Its data is taken exactly once, by whichever of the
+     * draining thread and a dropping worker gets there first.
+     */
+    private static final class Event<T> {
+        private final Slot<T> slot;
+        private final T type;
+        private final AtomicReference<Object> data;
+
+        private Event(Slot<T> slot, T type, Object data) {
+            this.slot = slot;
+            this.type = type;
+            this.data = new AtomicReference<>(data);
+        }
+    }
+
+    private static final class DecodeThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOLS = new AtomicInteger();
+        private final int pool = POOLS.incrementAndGet();
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "channel-decode-" + pool + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Builder for a {@link ChannelPipeline}.
+     *
+     * @param <T> The enum type of the channel
+     */
+    public static final class Builder<T extends Enum<T> & Supplier<Class<?>>> {
+        private final ChannelDataHandler<T> handler;
+        private final boolean[] droppable;
+        private Executor executor;
+        private int workers = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        private int capacity = 4096;
+        private int limit = 16384;
+        private Consumer<? super RuntimeException> errorHandler = error -> {
+        };
+
+        private Builder(ChannelDataHandler<T> handler) {
+            this.handler = Objects.requireNonNull(handler, "handler");
+            T[] types = handler.getTypeClass().getEnumConstants();
+            this.droppable = new boolean[types.length];
+            for (T type : types) {
+                droppable[type.ordinal()] = type.name().startsWith("MOB_");
+            }
+        }
+
+        /**
+         * Sets the executor to decode on, such as
+         * {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21. By
+         * default the pipeline creates its own pool of daemon threads.
+         *
+         * @param executor the executor
+         * @return This builder
+         */
+        public Builder<T> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Sets the number of threads in the pool the pipeline creates when no
+         * executor is given. Defaults to half the processors, from 1 to 4.
+         *
+         * @param workers the number of decoding threads
+         * @return This builder
+         * @throws IllegalArgumentException if the number is not positive
+         */
+        public Builder<T> workers(int workers) {
+            if (workers <= 0) {
+                throw new IllegalArgumentException("Workers must be positive: " + workers);
+            }
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Sets how many decoded messages may wait before messages of
+         * {@link BackPressure#DROP_OLDEST} types are discarded. Defaults to
+         * 4096.
+         *
+         * @param capacity the number of waiting messages
+         * @return This builder
+         * @throws IllegalArgumentException if the capacity is not positive
+         */
+        public Builder<T> capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets how many payloads may wait to be decoded or drained before
+         * {@link ChannelPipeline#submit(String)} rejects new ones that hold
+         * only droppable messages. Defaults to 16384.
+         *
+         * @param limit the number of waiting payloads
+         * @return This builder
+         * @throws IllegalArgumentException if the limit is not positive
+         */
+        public Builder<T> limit(int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Limit must be positive: " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Sets what happens to waiting messages of a type when more than the
+         * capacity are waiting. Defaults to {@link BackPressure#DROP_OLDEST} for
+         * types named {@code MOB_*} and {@link BackPressure#NEVER_DROP} for the
+         * rest.
+         *
+         * @param type         the message type
+         * @param backPressure the policy for the type
+         * @return This builder
+         */
+        public Builder<T> backPressure(T type, BackPressure backPressure) {
+            droppable[type.ordinal()] = backPressure == BackPressure.DROP_OLDEST;
+            return this;
+        }
+
+        /**
+         * Sets the handler for payloads that fail to decode, called on the
+         * draining thread. By default failures are only counted.
+         *
+         * @param errorHandler called with the decoding error
+         * @return This builder
+         */
+        public Builder<T> onError(Consumer<? super RuntimeException> errorHandler) {
+            this.errorHandler = Objects.requireNonNull(errorHandler, "errorHandler");
+            return this;
+        }
+
+        /**
+         * Creates the pipeline, starting its worker pool if it has one.
+         *
+         * @return A new ChannelPipeline
+         */
+        public ChannelPipeline<T> build() {
+            return new ChannelPipeline<>(this);
+        }
+    }
+}
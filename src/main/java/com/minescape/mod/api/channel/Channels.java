@@ -31,6 +31,32 @@ public enum Channels {
         return channelName;
     }
 
+    /**
+     * Gets the name of this channel for messages in the given format.
+     * 
+     * @param format the wire format
+     * @return the channel name, such as {@code minescape_server:general_binary}
+     */
+    public String getChannelName(ChannelFormat format) {
+        return channelName + format.getSuffix();
+    }
+
+    /**
+     * Gets the wire format of a channel name of this channel.
+     * 
+     * @param channelName the name of a plugin channel
+     * @return the format the channel carries, or {@code null} if the name is not
+     *         one of this channel's
+     */
+    public ChannelFormat getFormat(String channelName) {
+        for (ChannelFormat format : ChannelFormat.values()) {
+            if (getChannelName(format).equals(channelName)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
     /**
      * Gets the channel type class for this channel.
      * 
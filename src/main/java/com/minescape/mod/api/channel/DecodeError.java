@@ -0,0 +1,14 @@
+package com.minescape.mod.api.channel;
+
+/**
+ * Why a channel message could not be decoded, reported by
+ * {@link DecodeResult#error()} and {@link ChannelDecodeException#error()}.
+ */
+public enum DecodeError {
+    /** The message is not valid JSON or lacks its 'type' or 'data' field. */
+    MALFORMED,
+    /** The type name is not one the channel knows, as sent by a newer server. */
+    UNKNOWN_TYPE,
+    /** The data does not decode as the type's data class. */
+    INVALID_DATA
+}
@@ -0,0 +1,112 @@
+package com.minescape.mod.api.channel;
+
+import java.util.function.Supplier;
+
+/**
+ * The outcome of {@link ChannelDataHandler#decode(com.google.gson.JsonObject)}:
+ * either the decoded data or why there is none, so a bad message can be
+ * handled without catching an exception.
+ *
+ * <pre>{@code
+ * DecodeResult<GeneralType> result = handler.decode(json);
+ * if (result.isSuccess()) {
+ *     dispatcher.dispatch(result.type(), result.data());
+ * } else if (result.error() != DecodeError.UNKNOWN_TYPE) {
+ *     LOGGER.warn("Bad message: {}", result);
+ * }
+ * }</pre>
+ *
+ * @param <T> The enum type that implements Supplier&lt;Class&lt;?&gt;&gt;
+ */
+public final class DecodeResult<T extends Enum<T> & Supplier<Class<?>>> {
+
+    private final T type;
+    private final String typeName;
+    private final Object data;
+    private final DecodeError error;
+    private final String message;
+
+    private DecodeResult(T type, String typeName, Object data, DecodeError error, String message) {
+        this.type = type;
+        this.typeName = typeName;
+        this.data = data;
+        this.error = error;
+        this.message = message;
+    }
+
+    static <T extends Enum<T> & Supplier<Class<?>>> DecodeResult<T> success(T type, Object data) {
+        return new DecodeResult<>(type, type.name(), data, null, null);
+    }
+
+    static <T extends Enum<T> & Supplier<Class<?>>> DecodeResult<T> unknownType(String typeName) {
+        return new DecodeResult<>(null, typeName, null, DecodeError.UNKNOWN_TYPE, null);
+    }
+
+    static <T extends Enum<T> & Supplier<Class<?>>> DecodeResult<T> failure(T type, DecodeError error,
+            String message) {
+        return new DecodeResult<>(type, type == null ? null : type.name(), null, error, message);
+    }
+
+    /**
+     * Checks whether the message was decoded.
+     *
+     * @return true if {@link #data()} holds the decoded data
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Gets the type of the message.
+     *
+     * @return the message type, or null if it is unknown or could not be read
+     */
+    public T type() {
+        return type;
+    }
+
+    /**
+     * Gets the type name as sent, which is useful when the type is unknown.
+     *
+     * @return the type name, or null if it could not be read
+     */
+    public String typeName() {
+        return typeName;
+    }
+
+    /**
+     * Gets the decoded data.
+     *
+     * @return the created data object, or null if decoding failed
+     */
+    public Object data() {
+        return data;
+    }
+
+    /**
+     * Gets why the message could not be decoded.
+     *
+     * @return the error, or null if decoding succeeded
+     */
+    public DecodeError error() {
+        return error;
+    }
+
+    /**
+     * Gets a description of the failure.
+     *
+     * @return the failure message, or null if decoding succeeded or the type
+     *         is unknown
+     */
+    public String message() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        if (error == null) {
+            return "DecodeResult{" + "type=" + type + ", data=" + data + '}';
+        }
+        return "DecodeResult{" + "typeName=" + typeName + ", error=" + error + ", message=" + message + '}';
+    }
+}
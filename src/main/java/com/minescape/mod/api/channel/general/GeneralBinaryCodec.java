@@ -0,0 +1,701 @@
+package com.minescape.mod.api.channel.general;
+
+import com.minescape.mod.api.channel.ChannelDecodeException;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.ChannelFormat;
+import com.minescape.mod.api.channel.DecodeError;
+import com.minescape.mod.api.channel.general.action.GameplayActionData;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.farming.FarmingPlotData;
+import com.minescape.mod.api.channel.general.farming.GameplayFarmingPlantedData;
+import com.minescape.mod.api.channel.general.farming.LoginFarmingPlotsData;
+import com.minescape.mod.api.channel.general.item.GameplayItemConsumedData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillEffectData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillsData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetDeathData;
+import com.minescape.mod.api.types.skills.SkillType;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the general channel's messages, carried on the
+ * {@link ChannelFormat#BINARY} channel name. It produces and consumes the same
+ * data classes as the JSON format.
+ * <p>
+ * A message is the {@link GeneralType} ordinal as a varint, the strings it adds
+ * to the string table, and its body: the byte length of the data as a varint
+ * followed by the data's fields in a fixed order, with no field names:
+ * <ul>
+ * <li>{@code int} and {@code long} values are zigzag varints, so small values
+ * of either sign take one byte</li>
+ * <li>{@code double} values are 8 bytes, big-endian</li>
+ * <li>UUIDs are a presence byte followed by their 16 raw bytes</li>
+ * <li>{@link SkillType} values are their ordinal plus one as a varint, with 0
+ * for {@code null}</li>
+ * <li>maps are an entry count followed by their entries</li>
+ * <li>strings, such as action, state, style, item and patch names, go through
+ * a string table: the first time a string is sent it is added to the table
+ * ahead of the body, as a count of new strings each written in full as UTF-8,
+ * and the body refers to it by its table index</li>
+ * </ul>
+ * Several messages may follow one another in a buffer. Skill and type ordinals
+ * are those of this API version; {@link GeneralType} and {@link SkillType}
+ * constants are only ever added at the end, and skills with an ordinal this
+ * version does not know are skipped like unknown skill names in JSON. As the
+ * new strings and the body length come before the body, a message of a type
+ * this version does not know can be skipped whole without losing the string
+ * table, and fields a newer version appends to a body are ignored.
+ * <p>
+ * The string table makes a codec stateful: use one codec per connection and
+ * direction, read messages in the order they were written, and {@link #reset()}
+ * it when the connection is re-established. A codec is not thread-safe.
+ *
+ * <pre>{@code
+ * GeneralBinaryCodec codec = new GeneralBinaryCodec();
+ *
+ * // For each payload received on Channels.GENERAL.getChannelName(ChannelFormat.BINARY)
+ * codec.dispatch(ByteBuffer.wrap(payload), dispatcher);
+ * }</pre>
+ */
+public final class GeneralBinaryCodec {
+
+    /**
+     * The most strings a string table holds. Strings first sent after the table
+     * is full are always written in full.
+     */
+    public static final int MAX_STRINGS = 4096;
+
+    private static final GeneralType[] TYPES = GeneralType.values();
+    private static final SkillType[] SKILL_TYPES = SkillType.values();
+    private static final Map<Class<?>, GeneralType> TYPES_BY_CLASS = new HashMap<>();
+
+    static {
+        for (GeneralType type : TYPES) {
+            TYPES_BY_CLASS.put(type.get(), type);
+        }
+    }
+
+    private static final int STRING_NULL = 0;
+    // Only written once the table is full; the string is not added to it
+    private static final int STRING_LITERAL = 1;
+    private static final int STRING_INDEX_OFFSET = 2;
+
+    private final Map<String, Integer> writeIndexes = new HashMap<>();
+    private String[] writeStrings = new String[64];
+    private int writeSize;
+
+    private String[] readStrings = new String[64];
+    private int readSize;
+
+    private byte[] scratch = new byte[64];
+    private ByteBuffer body = ByteBuffer.allocate(256);
+    // End of the body of the message whose type readType has just read
+    private int bodyEnd = -1;
+    private int skippedOrdinal;
+
+    /**
+     * Creates a new codec with empty string tables.
+     */
+    public GeneralBinaryCodec() {
+    }
+
+    /**
+     * Clears both string tables, for a new connection.
+     */
+    public void reset() {
+        writeIndexes.clear();
+        Arrays.fill(writeStrings, 0, writeSize, null);
+        writeSize = 0;
+        Arrays.fill(readStrings, 0, readSize, null);
+        readSize = 0;
+        bodyEnd = -1;
+    }
+
+    /**
+     * Writes a message to a buffer at its position.
+     * <p>
+     * If the buffer does not have room for the whole message, nothing is
+     * written and the string table is left as it was.
+     *
+     * @param out  the buffer to write to
+     * @param data the data object of one of the {@link GeneralType} data
+     *             classes
+     * @throws IllegalArgumentException if the data is not a general channel data
+     *                                  class
+     * @throws BufferOverflowException  if the buffer does not have room for the
+     *                                  message
+     */
+    public void write(ByteBuffer out, Object data) {
+        GeneralType type = data == null ? null : TYPES_BY_CLASS.get(data.getClass());
+        if (type == null) {
+            throw new IllegalArgumentException("Not a general channel data class: "
+                    + (data == null ? null : data.getClass().getName()));
+        }
+
+        int start = out.position();
+        int tableSize = writeSize;
+        try {
+            // The body goes first into a scratch buffer, to learn its length and new strings
+            while (true) {
+                try {
+                    body.clear();
+                    writeData(body, type, data);
+                    break;
+                } catch (BufferOverflowException e) {
+                    truncateTable(tableSize);
+                    body = ByteBuffer.allocate(body.capacity() * 2);
+                }
+            }
+            body.flip();
+
+            writeVarInt(out, type.ordinal());
+            writeVarInt(out, writeSize - tableSize);
+            for (int i = tableSize; i < writeSize; i++) {
+                byte[] bytes = writeStrings[i].getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, bytes.length);
+                out.put(bytes);
+            }
+            writeVarInt(out, body.remaining());
+            out.put(body);
+        } catch (RuntimeException e) {
+            // Undo the strings this message added, so both tables stay in step
+            out.position(start);
+            truncateTable(tableSize);
+            throw e;
+        }
+    }
+
+    private void truncateTable(int tableSize) {
+        while (writeSize > tableSize) {
+            writeIndexes.remove(writeStrings[--writeSize]);
+            writeStrings[writeSize] = null;
+        }
+    }
+
+    /**
+     * Reads the next message from a buffer, advancing its position past it.
+     *
+     * @param in the buffer positioned at a message
+     * @return the created data object based on the type
+     * @throws ChannelDecodeException if the message is malformed or truncated,
+     *                                or of an unknown type, in which case the
+     *                                buffer is left at the next message
+     */
+    public Object read(ByteBuffer in) {
+        return readData(in, readType(in));
+    }
+
+    /**
+     * Reads the type of the next message from a buffer, leaving the buffer
+     * positioned at its data. Follow with {@link #readData(ByteBuffer,
+     * GeneralType)}.
+     *
+     * @param in the buffer positioned at a message
+     * @return the type of the message
+     * @throws ChannelDecodeException if the message is malformed, or of an
+     *                                unknown type, in which case the buffer is
+     *                                left at the next message
+     */
+    public GeneralType readType(ByteBuffer in) {
+        GeneralType type = nextType(in);
+        if (type == null) {
+            throw new ChannelDecodeException(DecodeError.UNKNOWN_TYPE, "Unknown type: " + skippedOrdinal);
+        }
+        return type;
+    }
+
+    /**
+     * Reads the data of a message whose type has just been read, leaving the
+     * buffer at the next message. Fields after those this version reads are
+     * skipped.
+     *
+     * @param in   the buffer positioned at the message data
+     * @param type the type read by {@link #readType(ByteBuffer)}
+     * @return the created data object based on the type
+     * @throws ChannelDecodeException if the data is malformed or truncated
+     * @throws IllegalStateException  if no type has just been read
+     */
+    public Object readData(ByteBuffer in, GeneralType type) {
+        int end = bodyEnd;
+        if (end < 0) {
+            throw new IllegalStateException("No message type has been read");
+        }
+        bodyEnd = -1;
+
+        int limit = in.limit();
+        in.limit(end);
+        try {
+            return readData0(in, type);
+        } catch (RuntimeException e) {
+            throw new ChannelDecodeException(DecodeError.INVALID_DATA,
+                    "Failed to create object for type " + type + ": " + e.getMessage(), e);
+        } finally {
+            in.limit(limit);
+            in.position(end);
+        }
+    }
+
+    /**
+     * Reads the header of the next message: its type, the strings it adds to
+     * the table and the length of its body. A message of an unknown type is
+     * skipped.
+     *
+     * @return the type, or null if it is unknown and the message was skipped
+     */
+    private GeneralType nextType(ByteBuffer in) {
+        int ordinal;
+        int end;
+        try {
+            ordinal = readVarInt(in);
+            int strings = readCount(in);
+            for (int i = 0; i < strings; i++) {
+                addString(readUtf8(in, readCount(in)));
+            }
+            int length = readCount(in);
+            end = in.position() + length;
+        } catch (RuntimeException e) {
+            throw new ChannelDecodeException(DecodeError.MALFORMED,
+                    "Failed to process channel data: " + e.getMessage(), e);
+        }
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            in.position(end);
+            skippedOrdinal = ordinal;
+            return null;
+        }
+        bodyEnd = end;
+        return TYPES[ordinal];
+    }
+
+    /**
+     * Reads every message remaining in a buffer and passes each to the
+     * dispatcher's listeners for its type, in order. Messages of a type this
+     * version does not know, or with no listeners, are skipped without reading
+     * their data.
+     * <p>
+     * Listeners receive the immutable data classes; adapters set with
+     * {@link ChannelDispatcher#decodeWith} only apply to JSON.
+     *
+     * @param in         the buffer positioned at the first message
+     * @param dispatcher the dispatcher for the general channel
+     * @return the number of messages that had listeners
+     * @throws ChannelDecodeException if a message is malformed or truncated
+     */
+    public int dispatch(ByteBuffer in, ChannelDispatcher<GeneralType> dispatcher) {
+        int dispatched = 0;
+        while (in.hasRemaining()) {
+            GeneralType type = nextType(in);
+            if (type == null) {
+                continue;
+            }
+            if (!dispatcher.hasListeners(type)) {
+                in.position(bodyEnd);
+                bodyEnd = -1;
+                continue;
+            }
+            dispatcher.dispatch(type, readData(in, type));
+            dispatched++;
+        }
+        return dispatched;
+    }
+
+    private void writeData(ByteBuffer out, GeneralType type, Object data) {
+        switch (type) {
+        case LOGIN_SKILLS -> {
+            LoginSkillsData value = (LoginSkillsData) data;
+            int levels = 0;
+            int experiences = 0;
+            for (SkillType skillType : SKILL_TYPES) {
+                levels += value.hasLevel(skillType) ? 1 : 0;
+                experiences += value.hasExperience(skillType) ? 1 : 0;
+            }
+            writeVarInt(out, levels);
+            for (SkillType skillType : SKILL_TYPES) {
+                if (value.hasLevel(skillType)) {
+                    writeVarInt(out, skillType.ordinal());
+                    writeSignedVarInt(out, value.levelOf(skillType));
+                }
+            }
+            writeVarInt(out, experiences);
+            for (SkillType skillType : SKILL_TYPES) {
+                if (value.hasExperience(skillType)) {
+                    writeVarInt(out, skillType.ordinal());
+                    writeDouble(out, value.experienceOf(skillType));
+                }
+            }
+        }
+        case LOGIN_SKILL_EFFECTS -> {
+            LoginSkillEffectData value = (LoginSkillEffectData) data;
+            int modifiers = 0;
+            for (SkillType skillType : SKILL_TYPES) {
+                modifiers += value.hasModifier(skillType) ? 1 : 0;
+            }
+            writeVarInt(out, modifiers);
+            for (SkillType skillType : SKILL_TYPES) {
+                if (value.hasModifier(skillType)) {
+                    writeVarInt(out, skillType.ordinal());
+                    writeSignedVarInt(out, value.modifierOf(skillType));
+                }
+            }
+        }
+        case GAMEPLAY_SKILLS_EXPERIENCE -> {
+            GameplaySkillsExperienceData value = (GameplaySkillsExperienceData) data;
+            writeSkillType(out, value.skillType());
+            writeDouble(out, value.experienceGained());
+            writeDouble(out, value.totalExperience());
+        }
+        case GAMEPLAY_SKILL_EFFECT -> {
+            GameplaySkillEffectData value = (GameplaySkillEffectData) data;
+            writeSkillType(out, value.skillType());
+            writeSignedVarInt(out, value.previousModifier());
+            writeSignedVarInt(out, value.newModifier());
+            writeSignedVarInt(out, value.skillLevel());
+        }
+        case PLAYER_TARGET -> {
+            PlayerTargetData value = (PlayerTargetData) data;
+            writeUuid(out, value.uuid());
+            writeUuid(out, value.nameplateUuid());
+            writeSignedVarInt(out, value.currentHp());
+            writeSignedVarInt(out, value.totalHp());
+        }
+        case PLAYER_TARGET_DEATH -> writeUuid(out, ((PlayerTargetDeathData) data).uuid());
+        case GAMEPLAY_ITEM_CONSUMED -> writeString(out, ((GameplayItemConsumedData) data).item());
+        case GAMEPLAY_FARMING_PLANTED -> {
+            GameplayFarmingPlantedData value = (GameplayFarmingPlantedData) data;
+            writeString(out, value.patch());
+            writePlot(out, value.plotData());
+        }
+        case LOGIN_FARMING_PLOTS -> {
+            LoginFarmingPlotsData value = (LoginFarmingPlotsData) data;
+            writeVarInt(out, value.plots().size());
+            for (Map.Entry<String, FarmingPlotData> entry : value.plots().entrySet()) {
+                writeString(out, entry.getKey());
+                writePlot(out, entry.getValue());
+            }
+        }
+        case MOB_ATTACK -> {
+            MobAttackData value = (MobAttackData) data;
+            writeUuid(out, value.uuid());
+            writeString(out, value.style());
+        }
+        case MOB_DEFENCE -> {
+            MobDefenceData value = (MobDefenceData) data;
+            writeUuid(out, value.uuid());
+            writeString(out, value.style());
+            writeSignedVarInt(out, value.damage());
+        }
+        case GAMEPLAY_ACTION -> {
+            GameplayActionData value = (GameplayActionData) data;
+            writeString(out, value.action());
+            writeString(out, value.state());
+            writeSignedVarLong(out, value.durationMillis());
+        }
+        case PLAYER_ACTION -> {
+            PlayerActionData value = (PlayerActionData) data;
+            writeUuid(out, value.uuid());
+            writeString(out, value.action());
+            writeString(out, value.state());
+            writeSignedVarLong(out, value.durationMillis());
+        }
+        }
+    }
+
+    private Object readData0(ByteBuffer in, GeneralType type) {
+        return switch (type) {
+        case LOGIN_SKILLS -> {
+            LoginSkillsData.Builder builder = LoginSkillsData.builder();
+            int levels = readCount(in);
+            for (int i = 0; i < levels; i++) {
+                int ordinal = readOrdinal(in);
+                int level = readSignedVarInt(in);
+                if (ordinal < SKILL_TYPES.length) {
+                    builder.level(SKILL_TYPES[ordinal], level);
+                }
+            }
+            int experiences = readCount(in);
+            for (int i = 0; i < experiences; i++) {
+                int ordinal = readOrdinal(in);
+                double experience = readDouble(in);
+                if (ordinal < SKILL_TYPES.length) {
+                    builder.experience(SKILL_TYPES[ordinal], experience);
+                }
+            }
+            yield builder.build();
+        }
+        case LOGIN_SKILL_EFFECTS -> {
+            LoginSkillEffectData.Builder builder = LoginSkillEffectData.builder();
+            int modifiers = readCount(in);
+            for (int i = 0; i < modifiers; i++) {
+                int ordinal = readOrdinal(in);
+                int modifier = readSignedVarInt(in);
+                if (ordinal < SKILL_TYPES.length) {
+                    builder.modifier(SKILL_TYPES[ordinal], modifier);
+                }
+            }
+            yield builder.build();
+        }
+        case GAMEPLAY_SKILLS_EXPERIENCE -> new GameplaySkillsExperienceData(readSkillType(in), readDouble(in), readDouble(in));
+        case GAMEPLAY_SKILL_EFFECT -> new GameplaySkillEffectData(readSkillType(in), readSignedVarInt(in),
+                readSignedVarInt(in), readSignedVarInt(in));
+        case PLAYER_TARGET -> new PlayerTargetData(readUuid(in), readUuid(in), readSignedVarInt(in), readSignedVarInt(in));
+        case PLAYER_TARGET_DEATH -> new PlayerTargetDeathData(readUuid(in));
+        case GAMEPLAY_ITEM_CONSUMED -> new GameplayItemConsumedData(readString(in));
+        case GAMEPLAY_FARMING_PLANTED -> new GameplayFarmingPlantedData(readName(in), readPlot(in));
+        case LOGIN_FARMING_PLOTS -> {
+            int count = readCount(in);
+            Map<String, FarmingPlotData> plots = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String patch = readName(in);
+                FarmingPlotData plot = readPlot(in);
+                if (patch != null && plot != null) {
+                    plots.put(patch, plot);
+                }
+            }
+            yield new LoginFarmingPlotsData(plots);
+        }
+        case MOB_ATTACK -> new MobAttackData(readUuid(in), readName(in));
+        case MOB_DEFENCE -> new MobDefenceData(readUuid(in), readName(in), readSignedVarInt(in));
+        case GAMEPLAY_ACTION -> new GameplayActionData(readName(in), readName(in), readSignedVarLong(in));
+        case PLAYER_ACTION -> new PlayerActionData(readUuid(in), readName(in), readName(in), readSignedVarLong(in));
+        };
+    }
+
+    private void writePlot(ByteBuffer out, FarmingPlotData plot) {
+        if (plot == null) {
+            out.put((byte) 0);
+            return;
+        }
+        out.put((byte) 1);
+        writeString(out, plot.patch());
+        writeString(out, plot.product());
+        writeSignedVarLong(out, plot.nextGrowthMillis());
+    }
+
+    private FarmingPlotData readPlot(ByteBuffer in) {
+        if (!readPresence(in)) {
+            return null;
+        }
+        return new FarmingPlotData(readName(in), readName(in), readSignedVarLong(in));
+    }
+
+    private void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            writeVarInt(out, STRING_NULL);
+            return;
+        }
+        Integer index = writeIndexes.get(value);
+        if (index != null) {
+            writeVarInt(out, index + STRING_INDEX_OFFSET);
+            return;
+        }
+
+        if (writeSize < MAX_STRINGS) {
+            // Written ahead of the body by write(); the body only holds the index
+            if (writeSize == writeStrings.length) {
+                writeStrings = Arrays.copyOf(writeStrings, Math.min(writeSize * 2, MAX_STRINGS));
+            }
+            writeIndexes.put(value, writeSize);
+            writeVarInt(out, writeSize + STRING_INDEX_OFFSET);
+            writeStrings[writeSize++] = value;
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, STRING_LITERAL);
+        writeVarInt(out, bytes.length);
+        out.put(bytes);
+    }
+
+    /**
+     * Reads an action, state, style, patch or product name as its shared
+     * instance from {@link GeneralStrings}.
+     */
+    private String readName(ByteBuffer in) {
+        return GeneralStrings.canonical(readString(in));
+    }
+
+    private String readString(ByteBuffer in) {
+        int tag = readVarInt(in);
+        if (tag == STRING_NULL) {
+            return null;
+        }
+        if (tag != STRING_LITERAL) {
+            int index = tag - STRING_INDEX_OFFSET;
+            if (index < 0 || index >= readSize) {
+                throw new IllegalArgumentException("Unknown string index: " + index);
+            }
+            return readStrings[index];
+        }
+
+        return readUtf8(in, readCount(in));
+    }
+
+    private void addString(String value) {
+        if (readSize < MAX_STRINGS) {
+            if (readSize == readStrings.length) {
+                readStrings = Arrays.copyOf(readStrings, Math.min(readSize * 2, MAX_STRINGS));
+            }
+            readStrings[readSize++] = value;
+        }
+    }
+
+    private String readUtf8(ByteBuffer in, int length) {
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            in.get(scratch, 0, length);
+            value = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static void writeUuid(ByteBuffer out, UUID value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        out.put((byte) 1);
+        writeLong(out, value.getMostSignificantBits());
+        writeLong(out, value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer in) {
+        if (!readPresence(in)) {
+            return null;
+        }
+        return new UUID(readLong(in), readLong(in));
+    }
+
+    private static void writeSkillType(ByteBuffer out, SkillType value) {
+        writeVarInt(out, value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static SkillType readSkillType(ByteBuffer in) {
+        int value = readOrdinal(in);
+        return value == 0 || value > SKILL_TYPES.length ? null : SKILL_TYPES[value - 1];
+    }
+
+    /**
+     * Reads a skill ordinal, which may be one this version does not know but
+     * is never negative.
+     */
+    private static int readOrdinal(ByteBuffer in) {
+        int value = readVarInt(in);
+        if (value < 0) {
+            throw new IllegalArgumentException("Malformed ordinal: " + value);
+        }
+        return value;
+    }
+
+    private static boolean readPresence(ByteBuffer in) {
+        byte presence = in.get();
+        if (presence != 0 && presence != 1) {
+            throw new IllegalArgumentException("Malformed presence byte: " + presence);
+        }
+        return presence == 1;
+    }
+
+    private static int readCount(ByteBuffer in) {
+        int count = readVarInt(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("Malformed length: " + count);
+        }
+        return count;
+    }
+
+    private static void writeDouble(ByteBuffer out, double value) {
+        writeLong(out, Double.doubleToRawLongBits(value));
+    }
+
+    private static double readDouble(ByteBuffer in) {
+        return Double.longBitsToDouble(readLong(in));
+    }
+
+    /**
+     * Writes a long big-endian, whatever the buffer's byte order.
+     */
+    private static void writeLong(ByteBuffer out, long value) {
+        out.putLong(out.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value));
+    }
+
+    /**
+     * Reads a big-endian long, whatever the buffer's byte order.
+     */
+    private static long readLong(ByteBuffer in) {
+        long value = in.getLong();
+        return in.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    private static void writeSignedVarInt(ByteBuffer out, int value) {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    private static int readSignedVarInt(ByteBuffer in) {
+        int value = readVarInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeSignedVarLong(ByteBuffer out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readSignedVarLong(ByteBuffer in) {
+        long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static void writeVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,205 @@
+package com.minescape.mod.api.channel.general;
+
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetData;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Collapses general channel messages superseded within one drain window, so
+ * the work done per tick grows with the number of entities rather than the
+ * number of messages.
+ * <p>
+ * Messages are collected with {@link #accept(GeneralType, Object)} and passed
+ * on by {@link #flush(ChannelDispatcher)}. Of the messages in a window with the
+ * same key, only the latest is passed on, at the position of the latest. The
+ * keys are:
+ * <ul>
+ * <li>{@link GeneralType#PLAYER_TARGET}: the UUID of the target</li>
+ * <li>{@link GeneralType#GAMEPLAY_SKILL_EFFECT}: the skill; the message passed
+ * on keeps the {@code previousModifier} of the first message and the
+ * {@code newModifier} and level of the latest, so it describes the whole
+ * change</li>
+ * <li>{@link GeneralType#PLAYER_ACTION}: the UUID of the acting player, so a
+ * {@code STARTED} and {@code CANCELLED} pair leaves only the outcome</li>
+ * </ul>
+ * Every other message, and messages without a key, are passed on unchanged and
+ * in order.
+ *
+ * <pre>{@code
+ * GeneralCoalescer coalescer = new GeneralCoalescer();
+ *
+ * // Main thread, every tick
+ * pipeline.drain(coalescer);
+ * coalescer.flush(dispatcher);
+ * }</pre>
+ * <p>
+ * Messages are held until the flush, so do not feed it the reusable objects of
+ * {@link GeneralFlyweights}. This class is not thread-safe; use it from the
+ * draining thread.
+ */
+public final class GeneralCoalescer implements BiConsumer<GeneralType, Object> {
+    private static final GeneralType[] TYPES = GeneralType.values();
+
+    // The position in the window of the latest message per key, by type ordinal
+    private final Map<?, ?>[] latest = new Map<?, ?>[TYPES.length];
+    private GeneralType[] types = new GeneralType[16];
+    private Object[] data = new Object[16];
+    // The arrays of the previous window, kept for the next flush to swap in
+    private GeneralType[] spareTypes = new GeneralType[16];
+    private Object[] spareData = new Object[16];
+    private int size;
+    private int live;
+    private long coalesced;
+
+    /**
+     * Creates a coalescer for the player target, skill effect and player action
+     * messages.
+     */
+    public GeneralCoalescer() {
+        latest[GeneralType.PLAYER_TARGET.ordinal()] = new HashMap<Object, Integer>();
+        latest[GeneralType.GAMEPLAY_SKILL_EFFECT.ordinal()] = new HashMap<Object, Integer>();
+        latest[GeneralType.PLAYER_ACTION.ordinal()] = new HashMap<Object, Integer>();
+    }
+
+    /**
+     * Adds a decoded message to the current window, replacing an earlier
+     * message with the same key.
+     *
+     * @param type    the type of the message
+     * @param message the decoded data
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accept(GeneralType type, Object message) {
+        Object key = keyOf(type, message);
+        Map<Object, Integer> positions = (Map<Object, Integer>) latest[type.ordinal()];
+        if (key != null) {
+            Integer previous = positions.get(key);
+            if (previous != null) {
+                if (type == GeneralType.GAMEPLAY_SKILL_EFFECT) {
+                    message = merge((GameplaySkillEffectData) data[previous], (GameplaySkillEffectData) message);
+                }
+                data[previous] = null;
+                live--;
+                coalesced++;
+            }
+            positions.put(key, size);
+        }
+        add(type, message);
+    }
+
+    /**
+     * Passes the messages of the current window, in order, to a dispatcher's
+     * listeners and starts a new window.
+     *
+     * @param dispatcher the dispatcher to pass the messages to
+     * @return the number of messages passed on
+     */
+    public int flush(ChannelDispatcher<GeneralType> dispatcher) {
+        return flush(dispatcher::dispatch);
+    }
+
+    /**
+     * Passes the messages of the current window, in order, to a listener and
+     * starts a new window.
+     *
+     * @param listener called with the type and data of each message
+     * @return the number of messages passed on
+     */
+    public int flush(BiConsumer<? super GeneralType, Object> listener) {
+        int count = size;
+        int flushed = live;
+        GeneralType[] flushTypes = types;
+        Object[] flushData = data;
+        // Swap windows first, so a listener may already add to the next one
+        types = spareTypes;
+        data = spareData;
+        size = 0;
+        live = 0;
+        clearPositions();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (flushData[i] != null) {
+                    listener.accept(flushTypes[i], flushData[i]);
+                }
+            }
+        } finally {
+            Arrays.fill(flushTypes, 0, count, null);
+            Arrays.fill(flushData, 0, count, null);
+            spareTypes = flushTypes;
+            spareData = flushData;
+        }
+        return flushed;
+    }
+
+    /**
+     * Gets the number of messages the next flush passes on.
+     *
+     * @return the number of messages in the current window after coalescing
+     */
+    public int size() {
+        return live;
+    }
+
+    /**
+     * Gets the number of messages replaced by a later one since this coalescer
+     * was created.
+     *
+     * @return the number of coalesced messages
+     */
+    public long coalescedCount() {
+        return coalesced;
+    }
+
+    /**
+     * Discards the messages of the current window.
+     */
+    public void clear() {
+        Arrays.fill(types, 0, size, null);
+        Arrays.fill(data, 0, size, null);
+        size = 0;
+        live = 0;
+        clearPositions();
+    }
+
+    private void clearPositions() {
+        for (Map<?, ?> positions : latest) {
+            if (positions != null) {
+                positions.clear();
+            }
+        }
+    }
+
+    private void add(GeneralType type, Object message) {
+        if (size == data.length) {
+            types = Arrays.copyOf(types, size * 2);
+            data = Arrays.copyOf(data, size * 2);
+        }
+        types[size] = type;
+        data[size] = message;
+        size++;
+        live++;
+    }
+
+    private Object keyOf(GeneralType type, Object message) {
+        if (latest[type.ordinal()] == null) {
+            return null;
+        }
+        return switch (type) {
+        case PLAYER_TARGET -> ((PlayerTargetData) message).uuid();
+        case GAMEPLAY_SKILL_EFFECT -> ((GameplaySkillEffectData) message).skillType();
+        case PLAYER_ACTION -> message instanceof PlayerActionData action ? action.uuid() : null;
+        default -> null;
+        };
+    }
+
+    private static GameplaySkillEffectData merge(GameplaySkillEffectData first, GameplaySkillEffectData latest) {
+        return new GameplaySkillEffectData(latest.skillType(), first.previousModifier(), latest.newModifier(),
+                latest.skillLevel());
+    }
+}
@@ -0,0 +1,208 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.action.MutablePlayerActionData;
+import com.minescape.mod.api.channel.general.mob.MutableMobAttackData;
+import com.minescape.mod.api.channel.general.mob.MutableMobDefenceData;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Opt-in decode mode for the high-rate broadcast types that refills one
+ * reusable data object per type instead of creating a new one per message.
+ * <p>
+ * After {@link #install(ChannelDispatcher)}, listeners for
+ * {@link GeneralType#MOB_ATTACK}, {@link GeneralType#MOB_DEFENCE} and
+ * {@link GeneralType#PLAYER_ACTION} receive a {@link MutableMobAttackData},
+ * {@link MutableMobDefenceData} and {@link MutablePlayerActionData} in place of
+ * the immutable data classes. They have the same accessors.
+ *
+ * <pre>{@code
+ * ChannelDispatcher<GeneralType> dispatcher = GeneralFlyweights.install(new ChannelDispatcher<>(handler))
+ *         .on(GeneralType.MOB_DEFENCE, (MutableMobDefenceData defence) -> {
+ *             if (defence.uuidEquals(target)) {
+ *                 damageTaken += defence.damage();
+ *             }
+ *         });
+ * }</pre>
+ * <p>
+ * Each installed dispatcher gets its own instances, which are overwritten by
+ * the next message of the same type. An instance is only valid during the
+ * listener call: do not keep it past the call or share it with another thread,
+ * and use {@code toImmutable()} to keep a copy. Dispatch from one thread only.
+ * <p>
+ * UUIDs are parsed straight into the objects' long fields. The
+ * {@link JsonReader} still creates the strings for field names, the style,
+ * action and state values, and the UUID text, so decoding is not entirely free
+ * of garbage; what it saves is the data object and its {@link UUID}. The style,
+ * action and state kept are the shared instances from {@link GeneralStrings}.
+ */
+public final class GeneralFlyweights {
+
+    private GeneralFlyweights() {
+    }
+
+    /**
+     * Sets a dispatcher to decode {@code MOB_ATTACK}, {@code MOB_DEFENCE} and
+     * {@code PLAYER_ACTION} messages into reusable mutable objects.
+     *
+     * @param dispatcher the dispatcher for the general channel
+     * @return the dispatcher
+     */
+    public static ChannelDispatcher<GeneralType> install(ChannelDispatcher<GeneralType> dispatcher) {
+        return dispatcher
+                .decodeWith(GeneralType.MOB_ATTACK, new MutableMobAttackDataAdapter())
+                .decodeWith(GeneralType.MOB_DEFENCE, new MutableMobDefenceDataAdapter())
+                .decodeWith(GeneralType.PLAYER_ACTION, new MutablePlayerActionDataAdapter());
+    }
+
+    /**
+     * Reads a UUID string into a data object's two halves, without creating a
+     * {@link UUID} when it is in canonical form.
+     */
+    private static void readUuid(JsonReader in, UuidSetter target) throws IOException {
+        String uuid = in.nextString();
+        if (Uuids.isCanonical(uuid)) {
+            target.setUuid(Uuids.mostSigBits(uuid, 0), Uuids.leastSigBits(uuid, 0));
+        } else {
+            UUID parsed = UUID.fromString(uuid);
+            target.setUuid(parsed.getMostSignificantBits(), parsed.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * The {@code setUuid(long, long)} of a mutable data object.
+     */
+    private interface UuidSetter {
+        void setUuid(long mostSigBits, long leastSigBits);
+    }
+
+    private static final class MutableMobAttackDataAdapter extends TypeAdapter<MutableMobAttackData> {
+        private final MutableMobAttackData value = new MutableMobAttackData();
+        private final UuidSetter setUuid = value::setUuid;
+
+        @Override
+        public void write(JsonWriter out, MutableMobAttackData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            GeneralTypeAdapterFactory.writeUuid(out, value.uuid());
+            out.name("style").value(value.style());
+            out.endObject();
+        }
+
+        @Override
+        public MutableMobAttackData read(JsonReader in) throws IOException {
+            if (GeneralTypeAdapterFactory.skipNull(in)) {
+                return null;
+            }
+            value.clear();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (GeneralTypeAdapterFactory.skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "uuid" -> readUuid(in, setUuid);
+                case "style" -> value.setStyle(GeneralStrings.canonical(in.nextString()));
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+
+    private static final class MutableMobDefenceDataAdapter extends TypeAdapter<MutableMobDefenceData> {
+        private final MutableMobDefenceData value = new MutableMobDefenceData();
+        private final UuidSetter setUuid = value::setUuid;
+
+        @Override
+        public void write(JsonWriter out, MutableMobDefenceData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            GeneralTypeAdapterFactory.writeUuid(out, value.uuid());
+            out.name("style").value(value.style());
+            out.name("damage").value(value.damage());
+            out.endObject();
+        }
+
+        @Override
+        public MutableMobDefenceData read(JsonReader in) throws IOException {
+            if (GeneralTypeAdapterFactory.skipNull(in)) {
+                return null;
+            }
+            value.clear();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (GeneralTypeAdapterFactory.skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "uuid" -> readUuid(in, setUuid);
+                case "style" -> value.setStyle(GeneralStrings.canonical(in.nextString()));
+                case "damage" -> value.setDamage(in.nextInt());
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+
+    private static final class MutablePlayerActionDataAdapter extends TypeAdapter<MutablePlayerActionData> {
+        private final MutablePlayerActionData value = new MutablePlayerActionData();
+        private final UuidSetter setUuid = value::setUuid;
+
+        @Override
+        public void write(JsonWriter out, MutablePlayerActionData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            GeneralTypeAdapterFactory.writeUuid(out, value.uuid());
+            out.name("action").value(value.action());
+            out.name("state").value(value.state());
+            out.name("durationMillis").value(value.durationMillis());
+            out.endObject();
+        }
+
+        @Override
+        public MutablePlayerActionData read(JsonReader in) throws IOException {
+            if (GeneralTypeAdapterFactory.skipNull(in)) {
+                return null;
+            }
+            value.clear();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (GeneralTypeAdapterFactory.skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "uuid" -> readUuid(in, setUuid);
+                case "action" -> value.setAction(GeneralStrings.canonical(in.nextString()));
+                case "state" -> value.setState(GeneralStrings.canonical(in.nextString()));
+                case "durationMillis" -> value.setDurationMillis(in.nextLong());
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.minescape.mod.api.channel.general;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared instances of the names the general channel sends as strings: action
+ * names and states, mob attack styles, and farming patch and product names.
+ * <p>
+ * The decoders of {@link GeneralTypeAdapterFactory}, {@link GeneralFlyweights}
+ * and {@link GeneralBinaryCodec} pass those fields through
+ * {@link #canonical(String)}, so every message naming {@code MINING} holds the
+ * same string instead of its own copy, and the copy read from the message can
+ * be collected straight away. The names listed in the {@code docs} reference
+ * pages are canonicalized to the JVM's interned instance, the one a string
+ * literal is, so a decoded name can be compared by identity:
+ *
+ * <pre>{@code
+ * if (attack.style() == MobAttackData.STYLE_DRAGONFIRE) { ... }
+ * }</pre>
+ * <p>
+ * Names newer than this API version are shared too, up to
+ * {@value #MAX_UNKNOWN} of them, after which further new names are returned
+ * as read. Only compare those with {@code equals}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class GeneralStrings {
+
+    /** The most names not in the reference pages that are shared. */
+    public static final int MAX_UNKNOWN = 1024;
+
+    // docs/action-values.md, states
+    private static final String[] STATES = {
+            "STARTED", "CANCELLED", "FINISHED" };
+
+    // docs/action-values.md, actions
+    private static final String[] ACTIONS = {
+            "AUTO_WALK", "FOLLOW", "COMBAT", "TELEPORT", "AFTER_TELEPORT", "GROUPING_TELEPORT", "ANTI_CHEAT",
+            "HARVEST", "SEARCHING", "TRAVEL", "QUEST", "EATING", "DRINKING", "HEALING", "AGILITY_OBSTACLE",
+            "AGILITY_SHORTCUT", "CONSTRUCTION_BUILD", "CONSTRUCTION_BUILD_MODE", "CONSTRUCTION_REMOVE",
+            "CONSTRUCTION_REPAIR", "CONSTRUCTION_SAW", "CONSTRUCTION_LECTERN_TABLET", "COOKING", "COOKING_CHURN",
+            "COOKING_FIRE", "COOKING_KNIFE", "COOKING_PREPARE", "COOKING_RANGE", "CRAFTING_AMETHYST",
+            "CRAFTING_COMBINE", "CRAFTING_DRAGON_LEATHER", "CRAFTING_DRAGON_LEATHER_SHIELD", "CRAFTING_GEM_CUTTING",
+            "CRAFTING_GLASSBLOWING", "CRAFTING_GOLD_MOULD", "CRAFTING_HARD_LEATHER", "CRAFTING_LEATHER",
+            "CRAFTING_LOOM", "CRAFTING_MOLTEN_GLASS", "CRAFTING_POTTERY_FIRING", "CRAFTING_POTTERY_SHAPING",
+            "CRAFTING_SAND_BUCKET", "CRAFTING_SHEARING", "CRAFTING_SILVER_MOULD", "CRAFTING_SPINNING",
+            "CRAFTING_STRINGING", "FARMING", "FARMING_CLEAR", "FARMING_COMPOST", "FARMING_COMPOST_BIN",
+            "FARMING_CURE", "FARMING_FILL_POT", "FARMING_HARVEST", "FARMING_PLANT", "FARMING_RAKE", "FARMING_WATER",
+            "FIREMAKING", "FISHING", "FISHING_BAIT", "FISHING_BARBARIAN", "FISHING_BAREHAND", "FISHING_BIG_NET",
+            "FISHING_CAGE", "FISHING_HARPOON", "FISHING_LURE", "FISHING_NET", "FLETCHING", "FLETCHING_COMBINE",
+            "FLETCHING_CROSSBOW", "FLETCHING_CUTTING", "FLETCHING_STRINGING", "HERBLORE_GRIND", "HERBLORE_MIX",
+            "HERBLORE_POTION", "HERBLORE_TAR", "HERBLORE_UNFINISHED", "HUNTER_BUTTERFLY", "HUNTER_IMPLING",
+            "HUNTER_TRACKING", "HUNTER_TRAP_BIRD_SNARE", "HUNTER_TRAP_DEADFALL", "HUNTER_TRAP_NET",
+            "HUNTER_TRAP_PITFALL", "MAGIC", "MAGIC_ALCHEMY", "MAGIC_ENCHANT", "MAGIC_SUPERHEAT", "MINING",
+            "MINING_AMETHYST", "MINING_SHOOTING_STAR", "PRAYER", "PRAYER_ALTAR", "PRAYER_BURY", "PRAYER_GRIND",
+            "PRAYER_OFFER", "PRAYER_SCATTER", "PRAYER_SLIME", "PRAYER_WORSHIP", "RUNECRAFTING_ABYSS", "SMELTING",
+            "SMITHING", "THIEVING_PICKPOCKET", "THIEVING_STALL", "THIEVING_WALL_SAFE", "WOODCUTTING", "UNKNOWN" };
+
+    // docs/mob-attack-styles.md
+    private static final String[] STYLES = {
+            "MELEE", "RANGED", "MAGIC", "DRAGONFIRE", "SCREECH" };
+
+    // docs/farming-values.md, patches
+    private static final String[] PATCHES = {
+            "FALADOR_ALLOTMENT_NORTH", "FALADOR_ALLOTMENT_SOUTH", "CATHERBY_ALLOTMENT_NORTH",
+            "CATHERBY_ALLOTMENT_SOUTH", "PORT_PHASMATYS_ALLOTMENT_NORTH", "PORT_PHASMATYS_ALLOTMENT_SOUTH",
+            "ARDOUGNE_ALLOTMENT_NORTH", "ARDOUGNE_ALLOTMENT_SOUTH", "HOSIDIUS_ALLOTMENT_NORTH",
+            "HOSIDIUS_ALLOTMENT_SOUTH", "FARMING_GUILD_ALLOTMENT_NORTH", "FARMING_GUILD_ALLOTMENT_SOUTH",
+            "PRIFDDINAS_ALLOTMENT_NORTH", "PRIFDDINAS_ALLOTMENT_SOUTH", "FALADOR_HERBS", "CATHERBY_HERBS",
+            "PORT_PHASMATYS_HERBS", "ARDOUGNE_HERBS", "HOSIDIUS_HERBS", "TROLL_STRONGHOLD_HERBS",
+            "HARMONY_ISLAND_HERBS", "WEISS_HERBS", "FARMING_GUILD_HERBS", "FALADOR_FLOWERS", "CATHERBY_FLOWERS",
+            "PORT_PHASMATYS_FLOWERS", "ARDOUGNE_FLOWERS", "HOSIDIUS_FLOWERS", "FARMING_GUILD_FLOWERS",
+            "PRIFDDINAS_FLOWERS", "LUMBRIDGE_HOPS", "MCGRUBORS_WOOD_HOPS", "YANILLE_HOPS", "ENTRANA_HOPS",
+            "CHAMPIONS_GUILD_BUSHES", "RIMMINGTON_BUSHES", "ARDOUGNE_BUSHES", "ETCETERIA_BUSHES",
+            "FARMING_GUILD_BUSHES", "LUMBRIDGE_TREES", "VARROCK_TREES", "FALADOR_TREES", "TAVERLEY_TREES",
+            "TREE_GNOME_STRONGHOLD_TREES", "FARMING_GUILD_TREES", "TREE_GNOME_STRONGHOLD_FRUIT_TREES",
+            "CATHERBY_FRUIT_TREES", "TREE_GNOME_MAZE_FRUIT_TREES", "BRIMHAVEN_FRUIT_TREES", "LLETYA_FRUIT_TREES",
+            "FARMING_GUILD_FRUIT_TREES", "ETCETERIA_SPIRIT_TREE", "BRIMHAVEN_SPIRIT_TREE", "PORT_SARIM_SPIRIT_TREE",
+            "HOSIDIUS_SPIRIT_TREE", "FARMING_GUILD_SPIRIT_TREE", "FALADOR_COMPOST", "CATHERBY_COMPOST",
+            "PORT_PHASMATYS_COMPOST", "ARDOUGNE_COMPOST", "HOSIDIUS_COMPOST", "PRIFDDINAS_COMPOST",
+            "DRAYNOR_BELLADONNA_PATCH", "MORYTANIA_MUSHROOMS_PATCH" };
+
+    // docs/farming-values.md, products
+    private static final String[] PRODUCTS = {
+            "POTATO", "ONION", "CABBAGE", "TOMATO", "SWEETCORN", "STRAWBERRY", "WATERMELON", "SNAPE_GRASS", "GUAM",
+            "MARRENTILL", "TARROMIN", "HARRALANDER", "RANARR", "TOADFLAX", "IRIT", "AVANTOE", "KWUARM",
+            "SNAPDRAGON", "CADANTINE", "LANTADYME", "DWARF", "TORSTOL", "MARIGOLD", "ROSEMARY", "NASTURTIUM",
+            "WOAD", "LIMPWURT", "WHITE_LILY", "BARLEY", "HAMMERSTONE", "ASGARNIAN", "JUTE", "YANILLIAN",
+            "KRANDORIAN", "WILDBOOD", "REDBERRY", "CADAVABERRY", "DWELLBERRY", "JANGERBERRY", "WHITEBERRY",
+            "POISON_IVY", "OAK", "WILLOW", "MAPLE", "YEW", "MAGIC", "APPLE", "BANANA", "ORANGE", "CURRY",
+            "PINEAPPLE", "PAPAYA", "PALM", "DRAGONFRUIT", "SPIRIT_TREE", "BELLADONNA", "MUSHROOM", "CACTUS",
+            "POTATO_CACTUS", "COMPOST", "SUPERCOMPOST", "ULTRACOMPOST" };
+
+    private static final Map<String, String> KNOWN = new HashMap<>();
+    private static final Map<String, String> UNKNOWN = new ConcurrentHashMap<>();
+
+    static {
+        // String literals are interned, so these are the instances every literal is
+        for (String[] names : new String[][] { STATES, ACTIONS, STYLES, PATCHES, PRODUCTS }) {
+            for (String name : names) {
+                KNOWN.put(name, name);
+            }
+        }
+    }
+
+    private GeneralStrings() {
+    }
+
+    /**
+     * Gets the shared instance of a name.
+     *
+     * @param value the name as read from a message, or null
+     * @return the shared instance equal to the name, the name itself if there is
+     *         none, or null if the name is null
+     */
+    public static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String known = KNOWN.get(value);
+        if (known != null) {
+            return known;
+        }
+        String shared = UNKNOWN.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        // The bound may be passed by a few names when threads race here
+        if (UNKNOWN.size() >= MAX_UNKNOWN) {
+            return value;
+        }
+        shared = UNKNOWN.putIfAbsent(value, value);
+        return shared == null ? value : shared;
+    }
+
+    /**
+     * Checks whether a name is listed in the reference pages of this API
+     * version.
+     *
+     * @param value the name
+     * @return true if the name is a known action, state, style, patch or
+     *         product, false otherwise
+     */
+    public static boolean isKnown(String value) {
+        return value != null && KNOWN.containsKey(value);
+    }
+}
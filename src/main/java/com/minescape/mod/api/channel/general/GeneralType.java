@@ -19,6 +19,9 @@ import com.minescape.mod.api.channel.general.target.PlayerTargetDeathData;
 /**
  * Enum representing different types of data that can be sent through the
  * general channel.
+ * <p>
+ * New types are only ever added at the end, as {@link GeneralBinaryCodec}
+ * sends types by ordinal.
  */
 public enum GeneralType implements Supplier<Class<?>> {
     /**
@@ -0,0 +1,756 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.minescape.mod.api.channel.general.action.GameplayActionData;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.farming.FarmingPlotData;
+import com.minescape.mod.api.channel.general.farming.GameplayFarmingPlantedData;
+import com.minescape.mod.api.channel.general.farming.LoginFarmingPlotsData;
+import com.minescape.mod.api.channel.general.item.GameplayItemConsumedData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillEffectData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillsData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetDeathData;
+import com.minescape.mod.api.types.skills.SkillType;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Gson {@link TypeAdapterFactory} with a hand-written adapter for every
+ * {@link GeneralType} data class, plus {@link FarmingPlotData}.
+ * <p>
+ * The adapters read fields straight into the data class constructors instead
+ * of going through Gson's reflection, and write the same JSON the server
+ * sends. Missing or {@code null} fields take the same defaults the reflective
+ * path gives them: {@code null} for objects, 0 for numbers and an empty map for
+ * maps. Unknown fields are skipped, as are skill names this API version does
+ * not know.
+ * <p>
+ * {@link com.minescape.mod.api.channel.ChannelDataHandler} registers this
+ * factory on its own {@link Gson}; register it on yours to decode the data
+ * classes outside of a handler:
+ *
+ * <pre>{@code
+ * Gson gson = new GsonBuilder().registerTypeAdapterFactory(GeneralTypeAdapterFactory.INSTANCE).create();
+ * }</pre>
+ */
+public final class GeneralTypeAdapterFactory implements TypeAdapterFactory {
+
+    /** The shared factory instance. The adapters hold no state. */
+    public static final GeneralTypeAdapterFactory INSTANCE = new GeneralTypeAdapterFactory();
+
+    private static final Map<String, SkillType> SKILL_TYPES = new HashMap<>();
+
+    static {
+        for (SkillType skillType : SkillType.values()) {
+            SKILL_TYPES.put(skillType.name(), skillType);
+        }
+    }
+
+    private final Map<Class<?>, TypeAdapter<?>> adapters = new HashMap<>();
+
+    private GeneralTypeAdapterFactory() {
+        FarmingPlotDataAdapter farmingPlotDataAdapter = new FarmingPlotDataAdapter();
+
+        adapters.put(LoginSkillsData.class, new LoginSkillsDataAdapter());
+        adapters.put(LoginSkillEffectData.class, new LoginSkillEffectDataAdapter());
+        adapters.put(GameplaySkillsExperienceData.class, new GameplaySkillsExperienceDataAdapter());
+        adapters.put(GameplaySkillEffectData.class, new GameplaySkillEffectDataAdapter());
+        adapters.put(PlayerTargetData.class, new PlayerTargetDataAdapter());
+        adapters.put(PlayerTargetDeathData.class, new PlayerTargetDeathDataAdapter());
+        adapters.put(GameplayItemConsumedData.class, new GameplayItemConsumedDataAdapter());
+        adapters.put(FarmingPlotData.class, farmingPlotDataAdapter);
+        adapters.put(GameplayFarmingPlantedData.class, new GameplayFarmingPlantedDataAdapter(farmingPlotDataAdapter));
+        adapters.put(LoginFarmingPlotsData.class, new LoginFarmingPlotsDataAdapter(farmingPlotDataAdapter));
+        adapters.put(MobAttackData.class, new MobAttackDataAdapter());
+        adapters.put(MobDefenceData.class, new MobDefenceDataAdapter());
+        adapters.put(GameplayActionData.class, new GameplayActionDataAdapter());
+        adapters.put(PlayerActionData.class, new PlayerActionDataAdapter());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        return (TypeAdapter<T>) adapters.get(type.getRawType());
+    }
+
+    /**
+     * Reads a UUID in its standard string form.
+     */
+    private static UUID readUuid(JsonReader in) throws IOException {
+        return UUID.fromString(in.nextString());
+    }
+
+    /**
+     * Reads a skill name, returning {@code null} for names this API version does
+     * not know.
+     */
+    private static SkillType readSkillType(JsonReader in) throws IOException {
+        return SKILL_TYPES.get(in.nextString());
+    }
+
+    /**
+     * Reads an action, state, style, patch or product name as its shared
+     * instance from {@link GeneralStrings}.
+     */
+    private static String readName(JsonReader in) throws IOException {
+        return GeneralStrings.canonical(in.nextString());
+    }
+
+    /**
+     * Checks for a {@code null} value, consuming it if present.
+     */
+    static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    static void writeUuid(JsonWriter out, UUID value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.toString());
+        }
+    }
+
+    private static void writeSkillType(JsonWriter out, SkillType value) throws IOException {
+        out.value(value == null ? null : value.name());
+    }
+
+    private static final class LoginSkillsDataAdapter extends TypeAdapter<LoginSkillsData> {
+        @Override
+        public void write(JsonWriter out, LoginSkillsData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("levels").beginObject();
+            for (SkillType skillType : SkillType.values()) {
+                if (value.hasLevel(skillType)) {
+                    out.name(skillType.name()).value(value.levelOf(skillType));
+                }
+            }
+            out.endObject();
+            out.name("experiences").beginObject();
+            for (SkillType skillType : SkillType.values()) {
+                if (value.hasExperience(skillType)) {
+                    out.name(skillType.name()).value(value.experienceOf(skillType));
+                }
+            }
+            out.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public LoginSkillsData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            LoginSkillsData.Builder builder = LoginSkillsData.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "levels" -> {
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        SkillType skillType = SKILL_TYPES.get(in.nextName());
+                        if (skillType == null) {
+                            in.skipValue();
+                        } else if (!skipNull(in)) {
+                            builder.level(skillType, in.nextInt());
+                        }
+                    }
+                    in.endObject();
+                }
+                case "experiences" -> {
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        SkillType skillType = SKILL_TYPES.get(in.nextName());
+                        if (skillType == null) {
+                            in.skipValue();
+                        } else if (!skipNull(in)) {
+                            builder.experience(skillType, in.nextDouble());
+                        }
+                    }
+                    in.endObject();
+                }
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return builder.build();
+        }
+    }
+
+    private static final class LoginSkillEffectDataAdapter extends TypeAdapter<LoginSkillEffectData> {
+        @Override
+        public void write(JsonWriter out, LoginSkillEffectData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("modifiers").beginObject();
+            for (SkillType skillType : SkillType.values()) {
+                if (value.hasModifier(skillType)) {
+                    out.name(skillType.name()).value(value.modifierOf(skillType));
+                }
+            }
+            out.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public LoginSkillEffectData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            LoginSkillEffectData.Builder builder = LoginSkillEffectData.builder();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                if (name.equals("modifiers")) {
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        SkillType skillType = SKILL_TYPES.get(in.nextName());
+                        if (skillType == null) {
+                            in.skipValue();
+                        } else if (!skipNull(in)) {
+                            builder.modifier(skillType, in.nextInt());
+                        }
+                    }
+                    in.endObject();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return builder.build();
+        }
+    }
+
+    private static final class GameplaySkillsExperienceDataAdapter extends TypeAdapter<GameplaySkillsExperienceData> {
+        @Override
+        public void write(JsonWriter out, GameplaySkillsExperienceData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("skillType");
+            writeSkillType(out, value.skillType());
+            out.name("experienceGained").value(value.experienceGained());
+            out.name("totalExperience").value(value.totalExperience());
+            out.endObject();
+        }
+
+        @Override
+        public GameplaySkillsExperienceData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            SkillType skillType = null;
+            double experienceGained = 0;
+            double totalExperience = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "skillType" -> skillType = readSkillType(in);
+                case "experienceGained" -> experienceGained = in.nextDouble();
+                case "totalExperience" -> totalExperience = in.nextDouble();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GameplaySkillsExperienceData(skillType, experienceGained, totalExperience);
+        }
+    }
+
+    private static final class GameplaySkillEffectDataAdapter extends TypeAdapter<GameplaySkillEffectData> {
+        @Override
+        public void write(JsonWriter out, GameplaySkillEffectData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("skillType");
+            writeSkillType(out, value.skillType());
+            out.name("previousModifier").value(value.previousModifier());
+            out.name("newModifier").value(value.newModifier());
+            out.name("skillLevel").value(value.skillLevel());
+            out.endObject();
+        }
+
+        @Override
+        public GameplaySkillEffectData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            SkillType skillType = null;
+            int previousModifier = 0;
+            int newModifier = 0;
+            int skillLevel = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "skillType" -> skillType = readSkillType(in);
+                case "previousModifier" -> previousModifier = in.nextInt();
+                case "newModifier" -> newModifier = in.nextInt();
+                case "skillLevel" -> skillLevel = in.nextInt();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GameplaySkillEffectData(skillType, previousModifier, newModifier, skillLevel);
+        }
+    }
+
+    private static final class PlayerTargetDataAdapter extends TypeAdapter<PlayerTargetData> {
+        @Override
+        public void write(JsonWriter out, PlayerTargetData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            writeUuid(out, value.uuid());
+            out.name("nameplateUuid");
+            writeUuid(out, value.nameplateUuid());
+            out.name("currentHp").value(value.currentHp());
+            out.name("totalHp").value(value.totalHp());
+            out.endObject();
+        }
+
+        @Override
+        public PlayerTargetData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            UUID uuid = null;
+            UUID nameplateUuid = null;
+            int currentHp = 0;
+            int totalHp = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "uuid" -> uuid = readUuid(in);
+                case "nameplateUuid" -> nameplateUuid = readUuid(in);
+                case "currentHp" -> currentHp = in.nextInt();
+                case "totalHp" -> totalHp = in.nextInt();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new PlayerTargetData(uuid, nameplateUuid, currentHp, totalHp);
+        }
+    }
+
+    private static final class PlayerTargetDeathDataAdapter extends TypeAdapter<PlayerTargetDeathData> {
+        @Override
+        public void write(JsonWriter out, PlayerTargetDeathData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            writeUuid(out, value.uuid());
+            out.endObject();
+        }
+
+        @Override
+        public PlayerTargetDeathData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            UUID uuid = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                if (name.equals("uuid")) {
+                    uuid = readUuid(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new PlayerTargetDeathData(uuid);
+        }
+    }
+
+    private static final class GameplayItemConsumedDataAdapter extends TypeAdapter<GameplayItemConsumedData> {
+        @Override
+        public void write(JsonWriter out, GameplayItemConsumedData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("item").value(value.item());
+            out.endObject();
+        }
+
+        @Override
+        public GameplayItemConsumedData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            String item = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                if (name.equals("item")) {
+                    item = in.nextString();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GameplayItemConsumedData(item);
+        }
+    }
+
+    private static final class FarmingPlotDataAdapter extends TypeAdapter<FarmingPlotData> {
+        @Override
+        public void write(JsonWriter out, FarmingPlotData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("patch").value(value.patch());
+            out.name("product").value(value.product());
+            out.name("nextGrowthMillis").value(value.nextGrowthMillis());
+            out.endObject();
+        }
+
+        @Override
+        public FarmingPlotData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            String patch = null;
+            String product = null;
+            long nextGrowthMillis = 0L;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "patch" -> patch = readName(in);
+                case "product" -> product = readName(in);
+                case "nextGrowthMillis" -> nextGrowthMillis = in.nextLong();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new FarmingPlotData(patch, product, nextGrowthMillis);
+        }
+    }
+
+    private static final class GameplayFarmingPlantedDataAdapter extends TypeAdapter<GameplayFarmingPlantedData> {
+        private final FarmingPlotDataAdapter plotDataAdapter;
+
+        GameplayFarmingPlantedDataAdapter(FarmingPlotDataAdapter plotDataAdapter) {
+            this.plotDataAdapter = plotDataAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, GameplayFarmingPlantedData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("patch").value(value.patch());
+            out.name("plotData");
+            plotDataAdapter.write(out, value.plotData());
+            out.endObject();
+        }
+
+        @Override
+        public GameplayFarmingPlantedData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            String patch = null;
+            FarmingPlotData plotData = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "patch" -> patch = readName(in);
+                case "plotData" -> plotData = plotDataAdapter.read(in);
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GameplayFarmingPlantedData(patch, plotData);
+        }
+    }
+
+    private static final class LoginFarmingPlotsDataAdapter extends TypeAdapter<LoginFarmingPlotsData> {
+        private final FarmingPlotDataAdapter plotDataAdapter;
+
+        LoginFarmingPlotsDataAdapter(FarmingPlotDataAdapter plotDataAdapter) {
+            this.plotDataAdapter = plotDataAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, LoginFarmingPlotsData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("plots").beginObject();
+            for (Map.Entry<String, FarmingPlotData> entry : value.plots().entrySet()) {
+                out.name(entry.getKey());
+                plotDataAdapter.write(out, entry.getValue());
+            }
+            out.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public LoginFarmingPlotsData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Map<String, FarmingPlotData> plots = new HashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                if (name.equals("plots")) {
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        String patch = GeneralStrings.canonical(in.nextName());
+                        FarmingPlotData plot = plotDataAdapter.read(in);
+                        if (plot != null) {
+                            plots.put(patch, plot);
+                        }
+                    }
+                    in.endObject();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new LoginFarmingPlotsData(plots);
+        }
+    }
+
+    private static final class MobAttackDataAdapter extends TypeAdapter<MobAttackData> {
+        @Override
+        public void write(JsonWriter out, MobAttackData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            writeUuid(out, value.uuid());
+            out.name("style").value(value.style());
+            out.endObject();
+        }
+
+        @Override
+        public MobAttackData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            UUID uuid = null;
+            String style = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "uuid" -> uuid = readUuid(in);
+                case "style" -> style = readName(in);
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new MobAttackData(uuid, style);
+        }
+    }
+
+    private static final class MobDefenceDataAdapter extends TypeAdapter<MobDefenceData> {
+        @Override
+        public void write(JsonWriter out, MobDefenceData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            writeUuid(out, value.uuid());
+            out.name("style").value(value.style());
+            out.name("damage").value(value.damage());
+            out.endObject();
+        }
+
+        @Override
+        public MobDefenceData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            UUID uuid = null;
+            String style = null;
+            int damage = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "uuid" -> uuid = readUuid(in);
+                case "style" -> style = readName(in);
+                case "damage" -> damage = in.nextInt();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new MobDefenceData(uuid, style, damage);
+        }
+    }
+
+    private static final class GameplayActionDataAdapter extends TypeAdapter<GameplayActionData> {
+        @Override
+        public void write(JsonWriter out, GameplayActionData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("action").value(value.action());
+            out.name("state").value(value.state());
+            out.name("durationMillis").value(value.durationMillis());
+            out.endObject();
+        }
+
+        @Override
+        public GameplayActionData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            String action = null;
+            String state = null;
+            long durationMillis = 0L;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "action" -> action = readName(in);
+                case "state" -> state = readName(in);
+                case "durationMillis" -> durationMillis = in.nextLong();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new GameplayActionData(action, state, durationMillis);
+        }
+    }
+
+    private static final class PlayerActionDataAdapter extends TypeAdapter<PlayerActionData> {
+        @Override
+        public void write(JsonWriter out, PlayerActionData value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("uuid");
+            writeUuid(out, value.uuid());
+            out.name("action").value(value.action());
+            out.name("state").value(value.state());
+            out.name("durationMillis").value(value.durationMillis());
+            out.endObject();
+        }
+
+        @Override
+        public PlayerActionData read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            UUID uuid = null;
+            String action = null;
+            String state = null;
+            long durationMillis = 0L;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) {
+                    continue;
+                }
+                switch (name) {
+                case "uuid" -> uuid = readUuid(in);
+                case "action" -> action = readName(in);
+                case "state" -> state = readName(in);
+                case "durationMillis" -> durationMillis = in.nextLong();
+                default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new PlayerActionData(uuid, action, state, durationMillis);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Filters general channel messages on the {@code uuid} of their data without
+ * decoding them.
+ * <p>
+ * {@code MobAttackData}, {@code MobDefenceData}, {@code PlayerActionData},
+ * {@code PlayerTargetData} and {@code PlayerTargetDeathData} all carry the UUID
+ * of the entity they are about. The filter finds {@code data.uuid} in the raw
+ * message text, parses its hex digits straight into two longs and passes them
+ * to a {@link UuidPredicate}, so uninteresting broadcasts can be dropped before
+ * any JSON tree, {@link java.util.UUID} or data object is created.
+ *
+ * <pre>{@code
+ * UuidFilter tracked = new UuidFilter(UuidPredicate.in(trackedMobs));
+ *
+ * if (tracked.test(packet.jsonData())) {
+ *     dispatcher.dispatch(new StringReader(packet.jsonData()));
+ * }
+ * }</pre>
+ * <p>
+ * Only the canonical 36 character form of a UUID, as sent by the server, is
+ * recognised. A message whose data has no such {@code uuid} is kept or dropped
+ * as configured. The filter checks only as much of the message as it needs to
+ * find the UUID; malformed messages are left for the decoder to reject.
+ *
+ * @see com.minescape.mod.api.channel.general.mob.MobAttackData
+ * @see com.minescape.mod.api.channel.general.mob.MobDefenceData
+ * @see com.minescape.mod.api.channel.general.action.PlayerActionData
+ * @see com.minescape.mod.api.channel.general.target.PlayerTargetData
+ * @see com.minescape.mod.api.channel.general.target.PlayerTargetDeathData
+ */
+public final class UuidFilter {
+
+    private final UuidPredicate predicate;
+    private final boolean keepWithoutUuid;
+
+    /**
+     * Creates a filter that keeps messages whose UUID matches the predicate, as
+     * well as messages that have no UUID.
+     *
+     * @param predicate the predicate to test UUIDs with
+     */
+    public UuidFilter(UuidPredicate predicate) {
+        this(predicate, true);
+    }
+
+    /**
+     * Creates a filter that keeps messages whose UUID matches the predicate.
+     *
+     * @param predicate       the predicate to test UUIDs with
+     * @param keepWithoutUuid whether messages that have no UUID are kept
+     */
+    public UuidFilter(UuidPredicate predicate, boolean keepWithoutUuid) {
+        this.predicate = predicate;
+        this.keepWithoutUuid = keepWithoutUuid;
+    }
+
+    /**
+     * Tests the raw text of a message.
+     *
+     * @param json message text in format: {"type":"MOB_ATTACK",
+     *             "data":{"uuid":"...", ...}}
+     * @return true if the message should be kept
+     */
+    public boolean test(CharSequence json) {
+        int data = findMember(json, skipWhitespace(json, 0), "data");
+        if (data >= 0 && json.charAt(data) == '{') {
+            int uuid = findMember(json, data, "uuid") + 1;
+            if (uuid > 0 && json.charAt(uuid - 1) == '"'
+                    && uuid + Uuids.LENGTH < json.length() && json.charAt(uuid + Uuids.LENGTH) == '"') {
+                return test(json, uuid);
+            }
+        }
+        return keepWithoutUuid;
+    }
+
+    /**
+     * Tests a parsed message.
+     *
+     * @param jsonObject JSON object in format: {"type":"MOB_ATTACK",
+     *                   "data":{"uuid":"...", ...}}
+     * @return true if the message should be kept
+     */
+    public boolean test(JsonObject jsonObject) {
+        JsonElement data = jsonObject.get("data");
+        if (data != null && data.isJsonObject()) {
+            JsonElement uuid = data.getAsJsonObject().get("uuid");
+            if (uuid != null && uuid.isJsonPrimitive() && uuid.getAsJsonPrimitive().isString()) {
+                String value = uuid.getAsString();
+                if (value.length() == Uuids.LENGTH) {
+                    return test(value, 0);
+                }
+            }
+        }
+        return keepWithoutUuid;
+    }
+
+    /**
+     * Parses the 36 characters of a UUID from the given offset and tests it.
+     */
+    private boolean test(CharSequence s, int start) {
+        if (!Uuids.isCanonical(s, start)) {
+            return keepWithoutUuid;
+        }
+        return predicate.test(Uuids.mostSigBits(s, start), Uuids.leastSigBits(s, start));
+    }
+
+    /**
+     * Finds a member of the object starting at the given offset, returning the
+     * offset of its value or -1 if the object has no such member.
+     */
+    private static int findMember(CharSequence s, int i, String name) {
+        if (i >= s.length() || s.charAt(i) != '{') {
+            return -1;
+        }
+        i++;
+        while (true) {
+            i = skipWhitespace(s, i);
+            if (i >= s.length() || s.charAt(i) != '"') {
+                return -1;
+            }
+            int end = endOfString(s, i);
+            if (end < 0) {
+                return -1;
+            }
+            boolean match = end - i - 1 == name.length() && regionMatches(s, i + 1, name);
+
+            i = skipWhitespace(s, end + 1);
+            if (i >= s.length() || s.charAt(i) != ':') {
+                return -1;
+            }
+            i = skipWhitespace(s, i + 1);
+            if (i >= s.length()) {
+                return -1;
+            }
+            if (match) {
+                return i;
+            }
+
+            i = skipWhitespace(s, skipValue(s, i));
+            if (i < 0 || i >= s.length() || s.charAt(i) != ',') {
+                return -1;
+            }
+            i++;
+        }
+    }
+
+    private static boolean regionMatches(CharSequence s, int start, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (s.charAt(start + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips the value starting at the given offset, returning the offset after
+     * it or -1 if it does not end.
+     */
+    private static int skipValue(CharSequence s, int i) {
+        char c = s.charAt(i);
+        if (c == '"') {
+            int end = endOfString(s, i);
+            return end < 0 ? -1 : end + 1;
+        }
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            while (i < s.length()) {
+                c = s.charAt(i);
+                if (c == '"') {
+                    i = endOfString(s, i);
+                    if (i < 0) {
+                        return -1;
+                    }
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    return i + 1;
+                }
+                i++;
+            }
+            return -1;
+        }
+        while (i < s.length() && (c = s.charAt(i)) != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the offset of the quote closing the string that starts at the
+     * given offset, or -1 if it does not end.
+     */
+    private static int endOfString(CharSequence s, int i) {
+        for (i++; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(CharSequence s, int i) {
+        while (i >= 0 && i < s.length() && isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,262 @@
+package com.minescape.mod.api.channel.general;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Hash map from UUIDs to values that stores each UUID as its two long halves.
+ * <p>
+ * Keys are held in primitive arrays with open addressing, so looking up the
+ * UUID of a mob or player read straight into longs, as the mutable data
+ * classes of {@link GeneralFlyweights} do, allocates nothing. Methods taking a
+ * {@link UUID} are provided for convenience.
+ * <p>
+ * Null values are not supported. This class is not thread-safe.
+ *
+ * @param <V> the type of values
+ */
+public final class UuidMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public UuidMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates an empty map sized for a number of entries.
+     *
+     * @param expectedSize the number of entries to hold without resizing
+     */
+    public UuidMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Gets the value for a UUID.
+     *
+     * @param mostSigBits  the most significant bits of the UUID
+     * @param leastSigBits the least significant bits of the UUID
+     * @return the value, or null if the UUID has none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long mostSigBits, long leastSigBits) {
+        int index = indexOf(mostSigBits, leastSigBits);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Gets the value for a UUID.
+     *
+     * @param uuid the UUID
+     * @return the value, or null if the UUID has none
+     */
+    public V get(UUID uuid) {
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Checks whether a UUID has a value.
+     *
+     * @param mostSigBits  the most significant bits of the UUID
+     * @param leastSigBits the least significant bits of the UUID
+     * @return true if the UUID has a value, false otherwise
+     */
+    public boolean containsKey(long mostSigBits, long leastSigBits) {
+        return indexOf(mostSigBits, leastSigBits) >= 0;
+    }
+
+    /**
+     * Sets the value for a UUID.
+     *
+     * @param mostSigBits  the most significant bits of the UUID
+     * @param leastSigBits the least significant bits of the UUID
+     * @param value        the value
+     * @return the previous value, or null if the UUID had none
+     * @throws NullPointerException if the value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long mostSigBits, long leastSigBits, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        int mask = values.length - 1;
+        int index = hash(mostSigBits, leastSigBits) & mask;
+        while (values[index] != null) {
+            if (this.mostSigBits[index] == mostSigBits && this.leastSigBits[index] == leastSigBits) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        this.mostSigBits[index] = mostSigBits;
+        this.leastSigBits[index] = leastSigBits;
+        values[index] = value;
+        if (++size * 2 > values.length) {
+            resize(values.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Sets the value for a UUID.
+     *
+     * @param uuid  the UUID
+     * @param value the value
+     * @return the previous value, or null if the UUID had none
+     * @throws NullPointerException if the value is null
+     */
+    public V put(UUID uuid, V value) {
+        return put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), value);
+    }
+
+    /**
+     * Removes the value for a UUID.
+     *
+     * @param mostSigBits  the most significant bits of the UUID
+     * @param leastSigBits the least significant bits of the UUID
+     * @return the removed value, or null if the UUID had none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long mostSigBits, long leastSigBits) {
+        int index = indexOf(mostSigBits, leastSigBits);
+        if (index < 0) {
+            return null;
+        }
+        V previous = (V) values[index];
+        size--;
+
+        // Shift later entries of the probe run back so lookups still find them
+        int mask = values.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (values[next] != null) {
+            int home = hash(this.mostSigBits[next], this.leastSigBits[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                this.mostSigBits[hole] = this.mostSigBits[next];
+                this.leastSigBits[hole] = this.leastSigBits[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[hole] = null;
+        return previous;
+    }
+
+    /**
+     * Removes the value for a UUID.
+     *
+     * @param uuid the UUID
+     * @return the removed value, or null if the UUID had none
+     */
+    public V remove(UUID uuid) {
+        return remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Calls an action with every value, in no particular order. The map must not
+     * be changed during the call.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of UUIDs with a value.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return true if no UUID has a value, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int indexOf(long mostSigBits, long leastSigBits) {
+        int mask = values.length - 1;
+        int index = hash(mostSigBits, leastSigBits) & mask;
+        while (values[index] != null) {
+            if (this.mostSigBits[index] == mostSigBits && this.leastSigBits[index] == leastSigBits) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldMostSigBits = mostSigBits;
+        long[] oldLeastSigBits = leastSigBits;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = hash(oldMostSigBits[i], oldLeastSigBits[i]) & mask;
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                mostSigBits[index] = oldMostSigBits[i];
+                leastSigBits[index] = oldLeastSigBits[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mostSigBits = new long[capacity];
+        leastSigBits = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    private static int hash(long mostSigBits, long leastSigBits) {
+        // Finalizer of MurmurHash3, as random UUIDs still share version bits
+        long h = mostSigBits * 31 + leastSigBits;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    @Override
+    public String toString() {
+        return "UuidMap{size=" + size + '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.minescape.mod.api.channel.general;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Predicate over a UUID given as its two halves, so it can be tested without
+ * creating a {@link UUID}.
+ *
+ * @see UuidFilter
+ */
+@FunctionalInterface
+public interface UuidPredicate {
+
+    /**
+     * Tests a UUID.
+     *
+     * @param mostSigBits  the most significant 64 bits of the UUID, see
+     *                     {@link UUID#getMostSignificantBits()}
+     * @param leastSigBits the least significant 64 bits of the UUID, see
+     *                     {@link UUID#getLeastSignificantBits()}
+     * @return true if the UUID matches
+     */
+    boolean test(long mostSigBits, long leastSigBits);
+
+    /**
+     * Creates a predicate that matches a single UUID.
+     *
+     * @param uuid the UUID to match
+     * @return a predicate matching only the given UUID
+     */
+    static UuidPredicate of(UUID uuid) {
+        long most = uuid.getMostSignificantBits();
+        long least = uuid.getLeastSignificantBits();
+        return (mostSigBits, leastSigBits) -> mostSigBits == most && leastSigBits == least;
+    }
+
+    /**
+     * Creates a predicate that matches any UUID in a set. The set is copied
+     * into a {@link UuidMap} so tests compare the two halves without creating
+     * a {@link UUID}; entities added to or removed from the set later are not
+     * picked up. Use {@link #in(UuidMap)} to track a changing set.
+     *
+     * @param uuids the UUIDs to match
+     * @return a predicate matching the UUIDs in the set
+     */
+    static UuidPredicate in(Set<UUID> uuids) {
+        UuidMap<Boolean> copy = new UuidMap<>(uuids.size());
+        for (UUID uuid : uuids) {
+            copy.put(uuid, Boolean.TRUE);
+        }
+        return copy::containsKey;
+    }
+
+    /**
+     * Creates a predicate that matches any UUID with a value in a map. The map
+     * is read on every test, so entities added to or removed from it later are
+     * picked up. As {@link UuidMap} is not thread-safe, only change it on the
+     * thread that runs the predicate.
+     *
+     * @param uuids the UUIDs to match
+     * @return a predicate matching the UUIDs in the map
+     */
+    static UuidPredicate in(UuidMap<?> uuids) {
+        return uuids::containsKey;
+    }
+}
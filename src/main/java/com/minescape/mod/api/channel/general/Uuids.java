@@ -0,0 +1,60 @@
+package com.minescape.mod.api.channel.general;
+
+/**
+ * Parses the canonical 36 character form of a UUID straight into its two
+ * halves, without creating a {@link java.util.UUID}.
+ */
+final class Uuids {
+
+    /** The length of a UUID in its canonical form. */
+    static final int LENGTH = 36;
+
+    private Uuids() {
+    }
+
+    /**
+     * Checks whether the 36 characters from the given offset are a UUID in its
+     * canonical form.
+     */
+    static boolean isCanonical(CharSequence s, int start) {
+        if (start + LENGTH > s.length()) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = s.charAt(start + i);
+            if (i == 8 || i == 13 || i == 18 || i == 23 ? c != '-' : Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string is a UUID in its canonical form.
+     */
+    static boolean isCanonical(String s) {
+        return s.length() == LENGTH && isCanonical(s, 0);
+    }
+
+    /**
+     * Parses the most significant 64 bits of a canonical UUID.
+     */
+    static long mostSigBits(CharSequence s, int start) {
+        return parseHex(s, start, 8) << 32 | parseHex(s, start + 9, 4) << 16 | parseHex(s, start + 14, 4);
+    }
+
+    /**
+     * Parses the least significant 64 bits of a canonical UUID.
+     */
+    static long leastSigBits(CharSequence s, int start) {
+        return parseHex(s, start + 19, 4) << 48 | parseHex(s, start + 24, 12);
+    }
+
+    private static long parseHex(CharSequence s, int start, int length) {
+        long value = 0;
+        for (int i = start; i < start + length; i++) {
+            value = value << 4 | Character.digit(s.charAt(i), 16);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,88 @@
+package com.minescape.mod.api.channel.general.action;
+
+/**
+ * Byte codes for the action states this API version knows, so the action data
+ * classes can test their state with a single comparison.
+ * <p>
+ * A state the server added later decodes to {@link #OTHER}, and the data class
+ * keeps its raw string alongside so it still reads and encodes unchanged.
+ */
+final class ActionState {
+    /** A state this API version does not know, or no state at all. */
+    static final byte OTHER = 0;
+    /** The code for {@link GameplayActionData#STATE_STARTED}. */
+    static final byte STARTED = 1;
+    /** The code for {@link GameplayActionData#STATE_CANCELLED}. */
+    static final byte CANCELLED = 2;
+    /** The code for {@link GameplayActionData#STATE_FINISHED}. */
+    static final byte FINISHED = 3;
+
+    private ActionState() {
+    }
+
+    /**
+     * Gets the code for a state name.
+     *
+     * @param state the state name, or null
+     * @return the code, or {@link #OTHER} if the state is not known
+     */
+    static byte of(String state) {
+        // Decoded names are the shared constants, so the identity checks usually hit
+        if (state == GameplayActionData.STATE_STARTED) {
+            return STARTED;
+        }
+        if (state == GameplayActionData.STATE_CANCELLED) {
+            return CANCELLED;
+        }
+        if (state == GameplayActionData.STATE_FINISHED) {
+            return FINISHED;
+        }
+        if (state == null) {
+            return OTHER;
+        }
+        return switch (state) {
+        case GameplayActionData.STATE_STARTED -> STARTED;
+        case GameplayActionData.STATE_CANCELLED -> CANCELLED;
+        case GameplayActionData.STATE_FINISHED -> FINISHED;
+        default -> OTHER;
+        };
+    }
+
+    /**
+     * Gets the raw string to keep for a state: null when its code stands for
+     * it, the state itself otherwise.
+     *
+     * @param code  the code of the state
+     * @param state the state name
+     * @return the state name to keep, or null
+     */
+    static String raw(byte code, String state) {
+        return code == OTHER ? state : null;
+    }
+
+    /**
+     * Gets the name of a state from its code and kept raw string.
+     *
+     * @param code the code of the state
+     * @param raw  the raw state name kept for {@link #OTHER}
+     * @return the state name, or null if there was none
+     */
+    static String name(byte code, String raw) {
+        return switch (code) {
+        case STARTED -> GameplayActionData.STATE_STARTED;
+        case CANCELLED -> GameplayActionData.STATE_CANCELLED;
+        case FINISHED -> GameplayActionData.STATE_FINISHED;
+        default -> raw;
+        };
+    }
+
+    /**
+     * Checks whether a code is one of the ending states.
+     *
+     * @param code the code of the state
+     * @return true if the code is {@link #CANCELLED} or {@link #FINISHED}
+     */
+    static boolean isEnd(byte code) {
+        return code >= CANCELLED;
+    }
+}
@@ -0,0 +1,296 @@
+package com.minescape.mod.api.channel.general.action;
+
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.UuidMap;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * The actions other visible players are performing, fed by
+ * {@link PlayerActionData}, with their progress.
+ * <p>
+ * A {@link GameplayActionData#STATE_STARTED} message replaces whatever the
+ * player was doing, and {@link GameplayActionData#STATE_CANCELLED} or
+ * {@link GameplayActionData#STATE_FINISHED} ends it if it names the current
+ * action. As the server does not end actions of players that move out of view
+ * or log out, every action also expires on its own: a timed action a grace
+ * period after its duration, an untimed one after a fixed time. Expiry runs on
+ * a timing wheel of one second slots, so memory stays bounded by the players
+ * in view without scanning every action.
+ * <p>
+ * Actions are keyed by the two halves of the player's UUID in a
+ * {@link UuidMap}. {@link #register(ChannelDispatcher)} also accepts the
+ * {@link MutablePlayerActionData} of
+ * {@link com.minescape.mod.api.channel.general.GeneralFlyweights}, which then
+ * records actions without creating a {@link UUID}.
+ *
+ * <pre>{@code
+ * ActionTracker actions = new ActionTracker();
+ * actions.register(dispatcher);
+ *
+ * double progress = actions.progress(playerUuid); // 0 to 1, or -1
+ * }</pre>
+ * <p>
+ * The methods are synchronized, so the tracker can be fed on the network thread
+ * and read from another.
+ */
+public class ActionTracker {
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int WHEEL_SLOTS = 64;
+    private static final long SLOT_MILLIS = 1_000L;
+
+    private final LongSupplier clock;
+    private final long graceMillis;
+    private final long untimedMillis;
+    private final UuidMap<Action> actions = new UuidMap<>();
+    private final Action[] wheel = new Action[WHEEL_SLOTS];
+    private long currentTick = NONE;
+
+    /**
+     * Creates a tracker that expires timed actions 5 seconds after their
+     * duration and untimed ones after 60 seconds, using {@link System#nanoTime()}
+     * as the clock.
+     */
+    public ActionTracker() {
+        this(5_000L, 60_000L, () -> System.nanoTime() / 1_000_000L);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param graceMillis   how long after its duration a timed action expires
+     * @param untimedMillis how long after it started an untimed action expires
+     * @param clock         a monotonic clock, in milliseconds
+     * @throws IllegalArgumentException if either time is not positive
+     */
+    public ActionTracker(long graceMillis, long untimedMillis, LongSupplier clock) {
+        if (graceMillis <= 0 || untimedMillis <= 0) {
+            throw new IllegalArgumentException("Expiry times must be positive: " + graceMillis + ", " + untimedMillis);
+        }
+        this.clock = clock;
+        this.graceMillis = graceMillis;
+        this.untimedMillis = untimedMillis;
+    }
+
+    /**
+     * Registers a listener on a dispatcher that applies each player action
+     * message to this tracker.
+     *
+     * @param dispatcher the dispatcher for the general channel
+     * @return the dispatcher
+     */
+    public ChannelDispatcher<GeneralType> register(ChannelDispatcher<GeneralType> dispatcher) {
+        return dispatcher.on(GeneralType.PLAYER_ACTION, (Object data) -> {
+            if (data instanceof MutablePlayerActionData mutable) {
+                apply(mutable);
+            } else {
+                apply((PlayerActionData) data);
+            }
+        });
+    }
+
+    /**
+     * Applies a player action message. Messages without a UUID or with a state
+     * this API version does not know are ignored.
+     *
+     * @param data the player action
+     */
+    public void apply(PlayerActionData data) {
+        if (data.uuid() != null) {
+            record(data.uuid().getMostSignificantBits(), data.uuid().getLeastSignificantBits(), data.action(),
+                    data.stateCode(), data.durationMillis());
+        }
+    }
+
+    /**
+     * Applies a player action message decoded into a reusable object. Messages
+     * without a UUID or with a state this API version does not know are
+     * ignored.
+     *
+     * @param data the player action
+     */
+    public void apply(MutablePlayerActionData data) {
+        if (data.hasUuid()) {
+            record(data.uuidMostSigBits(), data.uuidLeastSigBits(), data.action(), data.stateCode(),
+                    data.durationMillis());
+        }
+    }
+
+    private synchronized void record(long mostSigBits, long leastSigBits, String action, byte state,
+            long durationMillis) {
+        long now = clock.getAsLong();
+        expire(now);
+
+        if (state == ActionState.STARTED) {
+            Action previous = actions.remove(mostSigBits, leastSigBits);
+            if (previous != null) {
+                unschedule(previous);
+            }
+            long expiresAt = now + (durationMillis > 0 ? durationMillis + graceMillis : untimedMillis);
+            Action started = new Action(mostSigBits, leastSigBits, action, now, Math.max(0L, durationMillis), expiresAt);
+            actions.put(mostSigBits, leastSigBits, started);
+            schedule(started);
+        } else if (ActionState.isEnd(state)) {
+            Action current = actions.get(mostSigBits, leastSigBits);
+            // An end for an older action must not end the one that replaced it
+            if (current != null && (action == null || action.equals(current.action))) {
+                actions.remove(mostSigBits, leastSigBits);
+                unschedule(current);
+            }
+        }
+    }
+
+    /**
+     * Gets the action a player is performing.
+     *
+     * @param uuid the UUID of the player
+     * @return the action name, or null if the player is not performing one
+     */
+    public synchronized String action(UUID uuid) {
+        Action action = live(uuid);
+        return action == null ? null : action.action;
+    }
+
+    /**
+     * Checks whether a player is performing an action.
+     *
+     * @param uuid the UUID of the player
+     * @return true if the player is performing an action, false otherwise
+     */
+    public synchronized boolean isActive(UUID uuid) {
+        return live(uuid) != null;
+    }
+
+    /**
+     * Gets how far through its duration a player's action is.
+     *
+     * @param uuid the UUID of the player
+     * @return the progress from 0 to 1, or -1 if the player is not performing a
+     *         timed action
+     */
+    public synchronized double progress(UUID uuid) {
+        Action action = live(uuid);
+        if (action == null || action.durationMillis == 0) {
+            return -1.0;
+        }
+        long elapsed = clock.getAsLong() - action.startedAt;
+        return Math.min(1.0, Math.max(0.0, (double) elapsed / action.durationMillis));
+    }
+
+    /**
+     * Gets the milliseconds left until a player's action should complete.
+     *
+     * @param uuid the UUID of the player
+     * @return the milliseconds remaining, 0 if overdue, or -1 if the player is
+     *         not performing a timed action
+     */
+    public synchronized long remainingMillis(UUID uuid) {
+        Action action = live(uuid);
+        if (action == null || action.durationMillis == 0) {
+            return -1L;
+        }
+        return Math.max(0L, action.startedAt + action.durationMillis - clock.getAsLong());
+    }
+
+    /**
+     * Gets the number of players with an action, after expiring dangling ones.
+     *
+     * @return the number of actions tracked
+     */
+    public synchronized int size() {
+        expire(clock.getAsLong());
+        return actions.size();
+    }
+
+    /**
+     * Forgets every action.
+     */
+    public synchronized void clear() {
+        actions.clear();
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = null;
+        }
+        currentTick = NONE;
+    }
+
+    private Action live(UUID uuid) {
+        expire(clock.getAsLong());
+        return actions.get(uuid);
+    }
+
+    /**
+     * Turns the wheel to the current tick, expiring the actions in the slots it
+     * passes. At most one turn of slots is visited however long since the last
+     * call, and actions due in a later turn stay where they are.
+     */
+    private void expire(long now) {
+        long nowTick = Math.floorDiv(now, SLOT_MILLIS);
+        if (currentTick == NONE || nowTick <= currentTick) {
+            currentTick = Math.max(nowTick, currentTick);
+            return;
+        }
+        long first = Math.max(currentTick + 1, nowTick - WHEEL_SLOTS + 1);
+        for (long tick = first; tick <= nowTick; tick++) {
+            Action action = wheel[(int) (tick & (WHEEL_SLOTS - 1))];
+            while (action != null) {
+                Action next = action.next;
+                if (action.expiresAt <= now) {
+                    unschedule(action);
+                    actions.remove(action.mostSigBits, action.leastSigBits);
+                }
+                action = next;
+            }
+        }
+        currentTick = nowTick;
+    }
+
+    private void schedule(Action action) {
+        // The first tick at or after the expiry, so the slot is visited once it passed
+        long tick = Math.floorDiv(action.expiresAt + SLOT_MILLIS - 1, SLOT_MILLIS);
+        if (currentTick != NONE && tick <= currentTick) {
+            tick = currentTick + 1;
+        }
+        action.slot = (int) (tick & (WHEEL_SLOTS - 1));
+        action.next = wheel[action.slot];
+        if (action.next != null) {
+            action.next.previous = action;
+        }
+        wheel[action.slot] = action;
+    }
+
+    private void unschedule(Action action) {
+        if (action.previous != null) {
+            action.previous.next = action.next;
+        } else {
+            wheel[action.slot] = action.next;
+        }
+        if (action.next != null) {
+            action.next.previous = action.previous;
+        }
+        action.previous = null;
+        action.next = null;
+    }
+
+    private static final class Action {
+        private final long mostSigBits;
+        private final long leastSigBits;
+        private final String action;
+        private final long startedAt;
+        private final long durationMillis;
+        private final long expiresAt;
+        private int slot;
+        private Action previous;
+        private Action next;
+
+        private Action(long mostSigBits, long leastSigBits, String action, long startedAt, long durationMillis,
+                long expiresAt) {
+            this.mostSigBits = mostSigBits;
+            this.leastSigBits = leastSigBits;
+            this.action = action;
+            this.startedAt = startedAt;
+            this.durationMillis = durationMillis;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.minescape.mod.api.channel.general.action;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.minescape.mod.api.channel.general.GeneralTypeAdapterFactory;
 import java.util.Objects;
 
 /**
@@ -16,6 +18,7 @@ import java.util.Objects;
  * immediately repeats — cooking a second fish from the same stack — sends
  * {@link #STATE_FINISHED} followed by a fresh {@link #STATE_STARTED}.
  */
+@JsonAdapter(GeneralTypeAdapterFactory.class)
 public class GameplayActionData {
 
     /** The player began the action. */
@@ -26,7 +29,8 @@ public class GameplayActionData {
     public static final String STATE_FINISHED = "FINISHED";
 
     private final String action;
-    private final String state;
+    private final byte stateCode;
+    private final String rawState;
     private final long durationMillis;
 
     /**
@@ -49,7 +53,8 @@ public class GameplayActionData {
      */
     public GameplayActionData(String action, String state, long durationMillis) {
         this.action = action;
-        this.state = state;
+        this.stateCode = ActionState.of(state);
+        this.rawState = ActionState.raw(stateCode, state);
         this.durationMillis = durationMillis;
     }
 
@@ -81,7 +86,7 @@ public class GameplayActionData {
      * @return the state name
      */
     public String state() {
-        return state;
+        return ActionState.name(stateCode, rawState);
     }
 
     /**
@@ -103,7 +108,7 @@ public class GameplayActionData {
      * @return true if the state is {@link #STATE_STARTED}, false otherwise
      */
     public boolean isStarted() {
-        return STATE_STARTED.equals(state);
+        return stateCode == ActionState.STARTED;
     }
 
     /**
@@ -112,7 +117,7 @@ public class GameplayActionData {
      * @return true if the state is {@link #STATE_CANCELLED}, false otherwise
      */
     public boolean isCancelled() {
-        return STATE_CANCELLED.equals(state);
+        return stateCode == ActionState.CANCELLED;
     }
 
     /**
@@ -121,7 +126,7 @@ public class GameplayActionData {
      * @return true if the state is {@link #STATE_FINISHED}, false otherwise
      */
     public boolean isFinished() {
-        return STATE_FINISHED.equals(state);
+        return stateCode == ActionState.FINISHED;
     }
 
     /**
@@ -131,7 +136,7 @@ public class GameplayActionData {
      *         {@link #STATE_FINISHED}, false otherwise
      */
     public boolean hasEnded() {
-        return isCancelled() || isFinished();
+        return ActionState.isEnd(stateCode);
     }
 
     @Override
@@ -143,17 +148,18 @@ public class GameplayActionData {
         GameplayActionData that = (GameplayActionData) obj;
         return durationMillis == that.durationMillis
                 && Objects.equals(action, that.action)
-                && Objects.equals(state, that.state);
+                && stateCode == that.stateCode
+                && Objects.equals(rawState, that.rawState);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(action, state, durationMillis);
+        return Objects.hash(action, state(), durationMillis);
     }
 
     @Override
     public String toString() {
-        return "GameplayActionData{" + "action=" + action + ", state=" + state
+        return "GameplayActionData{" + "action=" + action + ", state=" + state()
                 + ", durationMillis=" + durationMillis + '}';
     }
 }
@@ -0,0 +1,236 @@
+package com.minescape.mod.api.channel.general.action;
+
+import java.util.UUID;
+
+/**
+ * Reusable, mutable counterpart of {@link PlayerActionData} for decoding without
+ * allocating a data object per message.
+ * <p>
+ * A dispatcher set up with
+ * {@link com.minescape.mod.api.channel.general.GeneralFlyweights} passes the
+ * same instance to every {@code PLAYER_ACTION} listener call, refilled for each
+ * message. The instance is only valid during the listener call: do not keep a
+ * reference to it or hand it to another thread, and copy it with
+ * {@link #toImmutable()} to keep the data.
+ * <p>
+ * The UUID is held as its two halves; compare it with
+ * {@link #uuidEquals(UUID)} to avoid creating a {@link UUID}.
+ */
+public class MutablePlayerActionData {
+    private boolean hasUuid;
+    private long uuidMostSigBits;
+    private long uuidLeastSigBits;
+    private String action;
+    private byte stateCode;
+    private String rawState;
+    private long durationMillis;
+
+    /**
+     * Creates a new empty MutablePlayerActionData instance.
+     */
+    public MutablePlayerActionData() {
+    }
+
+    /**
+     * Gets the UUID of the acting player. This creates a new {@link UUID} on
+     * every call.
+     *
+     * @return the UUID of the acting player, or {@code null} if none was sent
+     */
+    public UUID uuid() {
+        return hasUuid ? new UUID(uuidMostSigBits, uuidLeastSigBits) : null;
+    }
+
+    /**
+     * Checks whether a UUID was sent.
+     *
+     * @return true if the message had a UUID
+     */
+    public boolean hasUuid() {
+        return hasUuid;
+    }
+
+    /**
+     * Gets the most significant 64 bits of the UUID of the acting player.
+     *
+     * @return the most significant bits, or 0 if no UUID was sent
+     */
+    public long uuidMostSigBits() {
+        return uuidMostSigBits;
+    }
+
+    /**
+     * Gets the least significant 64 bits of the UUID of the acting player.
+     *
+     * @return the least significant bits, or 0 if no UUID was sent
+     */
+    public long uuidLeastSigBits() {
+        return uuidLeastSigBits;
+    }
+
+    /**
+     * Checks whether the acting player has the given UUID, without creating a
+     * {@link UUID}.
+     *
+     * @param uuid the UUID to compare with
+     * @return true if the player's UUID equals the given UUID
+     */
+    public boolean uuidEquals(UUID uuid) {
+        return uuid == null ? !hasUuid
+                : hasUuid && uuid.getMostSignificantBits() == uuidMostSigBits
+                        && uuid.getLeastSignificantBits() == uuidLeastSigBits;
+    }
+
+    /**
+     * Gets the name of the action, see {@link PlayerActionData#action()}.
+     *
+     * @return the action name
+     */
+    public String action() {
+        return action;
+    }
+
+    /**
+     * Gets the state the action moved into, see {@link PlayerActionData#state()}.
+     *
+     * @return the state name
+     */
+    public String state() {
+        return ActionState.name(stateCode, rawState);
+    }
+
+    byte stateCode() {
+        return stateCode;
+    }
+
+    /**
+     * Gets how long the action is expected to take, see
+     * {@link PlayerActionData#durationMillis()}.
+     *
+     * @return the milliseconds the action is expected to take, or 0
+     */
+    public long durationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Checks whether the acting player began the action.
+     *
+     * @return true if the state is {@link GameplayActionData#STATE_STARTED},
+     *         false otherwise
+     */
+    public boolean isStarted() {
+        return stateCode == ActionState.STARTED;
+    }
+
+    /**
+     * Checks whether the action ended before completing.
+     *
+     * @return true if the state is {@link GameplayActionData#STATE_CANCELLED},
+     *         false otherwise
+     */
+    public boolean isCancelled() {
+        return stateCode == ActionState.CANCELLED;
+    }
+
+    /**
+     * Checks whether the action ran to completion.
+     *
+     * @return true if the state is {@link GameplayActionData#STATE_FINISHED},
+     *         false otherwise
+     */
+    public boolean isFinished() {
+        return stateCode == ActionState.FINISHED;
+    }
+
+    /**
+     * Checks whether the action stopped, whether it completed or not.
+     *
+     * @return true if the state is {@link GameplayActionData#STATE_CANCELLED}
+     *         or {@link GameplayActionData#STATE_FINISHED}, false otherwise
+     */
+    public boolean hasEnded() {
+        return ActionState.isEnd(stateCode);
+    }
+
+    /**
+     * Sets the UUID of the acting player.
+     *
+     * @param mostSigBits  the most significant 64 bits of the UUID
+     * @param leastSigBits the least significant 64 bits of the UUID
+     */
+    public void setUuid(long mostSigBits, long leastSigBits) {
+        this.hasUuid = true;
+        this.uuidMostSigBits = mostSigBits;
+        this.uuidLeastSigBits = leastSigBits;
+    }
+
+    /**
+     * Sets the UUID of the acting player.
+     *
+     * @param uuid the UUID, or {@code null} for none
+     */
+    public void setUuid(UUID uuid) {
+        if (uuid == null) {
+            this.hasUuid = false;
+            this.uuidMostSigBits = 0L;
+            this.uuidLeastSigBits = 0L;
+        } else {
+            setUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * Sets the name of the action.
+     *
+     * @param action the action name
+     */
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    /**
+     * Sets the state the action moved into.
+     *
+     * @param state the state name
+     */
+    public void setState(String state) {
+        this.stateCode = ActionState.of(state);
+        this.rawState = ActionState.raw(stateCode, state);
+    }
+
+    /**
+     * Sets how long the action is expected to take.
+     *
+     * @param durationMillis the milliseconds the action is expected to take, or 0
+     */
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Resets every field to the value it has when missing from a message.
+     */
+    public void clear() {
+        setUuid(null);
+        this.action = null;
+        this.stateCode = ActionState.OTHER;
+        this.rawState = null;
+        this.durationMillis = 0L;
+    }
+
+    /**
+     * Copies the current values into an immutable {@link PlayerActionData}.
+     *
+     * @return a new PlayerActionData with the same values
+     */
+    public PlayerActionData toImmutable() {
+        return new PlayerActionData(uuid(), action, state(), durationMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "MutablePlayerActionData{" + "uuid=" + uuid() + ", action=" + action
+                + ", state=" + state() + ", durationMillis=" + durationMillis + '}';
+    }
+}
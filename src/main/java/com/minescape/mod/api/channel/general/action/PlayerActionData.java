@@ -1,5 +1,7 @@
 package com.minescape.mod.api.channel.general.action;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.minescape.mod.api.channel.general.GeneralTypeAdapterFactory;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -19,11 +21,13 @@ import java.util.UUID;
  * dangling action with no terminal state when the acting player moves out of
  * view or logs out mid-action.
  */
+@JsonAdapter(GeneralTypeAdapterFactory.class)
 public class PlayerActionData {
 
     private final UUID uuid;
     private final String action;
-    private final String state;
+    private final byte stateCode;
+    private final String rawState;
     private final long durationMillis;
 
     /**
@@ -49,7 +53,8 @@ public class PlayerActionData {
     public PlayerActionData(UUID uuid, String action, String state, long durationMillis) {
         this.uuid = uuid;
         this.action = action;
-        this.state = state;
+        this.stateCode = ActionState.of(state);
+        this.rawState = ActionState.raw(stateCode, state);
         this.durationMillis = durationMillis;
     }
 
@@ -92,7 +97,11 @@ public class PlayerActionData {
      * @return the state name
      */
     public String state() {
-        return state;
+        return ActionState.name(stateCode, rawState);
+    }
+
+    byte stateCode() {
+        return stateCode;
     }
 
     /**
@@ -116,7 +125,7 @@ public class PlayerActionData {
      *         false otherwise
      */
     public boolean isStarted() {
-        return GameplayActionData.STATE_STARTED.equals(state);
+        return stateCode == ActionState.STARTED;
     }
 
     /**
@@ -126,7 +135,7 @@ public class PlayerActionData {
      *         false otherwise
      */
     public boolean isCancelled() {
-        return GameplayActionData.STATE_CANCELLED.equals(state);
+        return stateCode == ActionState.CANCELLED;
     }
 
     /**
@@ -136,7 +145,7 @@ public class PlayerActionData {
      *         false otherwise
      */
     public boolean isFinished() {
-        return GameplayActionData.STATE_FINISHED.equals(state);
+        return stateCode == ActionState.FINISHED;
     }
 
     /**
@@ -146,7 +155,7 @@ public class PlayerActionData {
      *         or {@link GameplayActionData#STATE_FINISHED}, false otherwise
      */
     public boolean hasEnded() {
-        return isCancelled() || isFinished();
+        return ActionState.isEnd(stateCode);
     }
 
     @Override
@@ -159,17 +168,18 @@ public class PlayerActionData {
         return durationMillis == that.durationMillis
                 && Objects.equals(uuid, that.uuid)
                 && Objects.equals(action, that.action)
-                && Objects.equals(state, that.state);
+                && stateCode == that.stateCode
+                && Objects.equals(rawState, that.rawState);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(uuid, action, state, durationMillis);
+        return Objects.hash(uuid, action, state(), durationMillis);
     }
 
     @Override
     public String toString() {
         return "PlayerActionData{" + "uuid=" + uuid + ", action=" + action
-                + ", state=" + state + ", durationMillis=" + durationMillis + '}';
+                + ", state=" + state() + ", durationMillis=" + durationMillis + '}';
     }
 }
@@ -0,0 +1,270 @@
+package com.minescape.mod.api.channel.general.farming;
+
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.GeneralType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * The player's farming plots with their growth timers, fed by
+ * {@link LoginFarmingPlotsData} and {@link GameplayFarmingPlantedData}.
+ * <p>
+ * {@link FarmingPlotData#nextGrowthMillis()} counts from when the message was
+ * sent. The tracker turns it into a due time on a monotonic clock when the
+ * message arrives, and keeps the growing plots in a heap ordered by due time,
+ * so finding the next plot due and {@link #tick() notifying} the plots that
+ * came due take O(log n) per plot instead of a scan over every plot.
+ *
+ * <pre>{@code
+ * FarmingTracker farming = new FarmingTracker();
+ * farming.register(dispatcher);
+ * farming.onGrowth(plot -> notify(plot.patch() + " has grown"));
+ *
+ * // Every client tick
+ * farming.tick();
+ * }</pre>
+ * <p>
+ * The methods are synchronized, so the tracker can be fed on the network thread
+ * and ticked from another. Growth listeners are called by {@link #tick()}
+ * outside the lock.
+ */
+public class FarmingTracker {
+    private static final long NOT_GROWING = Long.MIN_VALUE;
+
+    private final LongSupplier clock;
+    private final Map<String, Plot> plots = new HashMap<>();
+    // May hold plots replaced since they were added, skipped when they surface
+    private final PriorityQueue<Plot> growing = new PriorityQueue<>(Comparator.comparingLong(plot -> plot.dueAt));
+    private final List<Consumer<FarmingPlotData>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a tracker using {@link System#nanoTime()} as the clock.
+     */
+    public FarmingTracker() {
+        this(() -> System.nanoTime() / 1_000_000L);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param clock a monotonic clock, in milliseconds
+     */
+    public FarmingTracker(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Registers listeners on a dispatcher that apply each farming message to
+     * this tracker.
+     *
+     * @param dispatcher the dispatcher for the general channel
+     * @return the dispatcher
+     */
+    public ChannelDispatcher<GeneralType> register(ChannelDispatcher<GeneralType> dispatcher) {
+        return dispatcher
+                .on(GeneralType.LOGIN_FARMING_PLOTS, (LoginFarmingPlotsData data) -> apply(data))
+                .on(GeneralType.GAMEPLAY_FARMING_PLANTED, (GameplayFarmingPlantedData data) -> apply(data));
+    }
+
+    /**
+     * Adds a listener called by {@link #tick()} with each plot that reached its
+     * next growth stage. The plot passed has a {@code nextGrowthMillis} of 0.
+     *
+     * @param listener the listener
+     * @return this tracker
+     */
+    public FarmingTracker onGrowth(Consumer<FarmingPlotData> listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Replaces every plot with those of a login message. Each plot is keyed on
+     * the name the message gives it, falling back to the name in the plot data.
+     *
+     * @param data the login farming plots
+     */
+    public synchronized void apply(LoginFarmingPlotsData data) {
+        long now = clock.getAsLong();
+        plots.clear();
+        growing.clear();
+        for (Map.Entry<String, FarmingPlotData> entry : data.plots().entrySet()) {
+            FarmingPlotData plot = entry.getValue();
+            if (plot != null) {
+                put(entry.getKey() != null ? entry.getKey() : plot.patch(), plot, now);
+            }
+        }
+    }
+
+    /**
+     * Updates a plot that was just seeded. The plot is the one named by the
+     * message, falling back to the name in the plot data if the message has
+     * none. Without updated plot data, the previous state of the plot no longer
+     * holds and is forgotten.
+     *
+     * @param data the planted plot
+     */
+    public synchronized void apply(GameplayFarmingPlantedData data) {
+        if (data.plotData() != null) {
+            String patch = data.patch() != null ? data.patch() : data.plotData().patch();
+            put(patch, data.plotData(), clock.getAsLong());
+        } else if (data.patch() != null) {
+            plots.remove(data.patch());
+        }
+    }
+
+    /**
+     * Gets the current state of a plot, with {@code nextGrowthMillis} counted
+     * from now.
+     *
+     * @param patch the name of the farming plot
+     * @return the plot state, or null if the tracker has no state for that plot
+     */
+    public synchronized FarmingPlotData getPlot(String patch) {
+        Plot plot = plots.get(patch);
+        return plot == null ? null : plot.toData(clock.getAsLong());
+    }
+
+    /**
+     * Gets the milliseconds until a plot's next growth stage.
+     *
+     * @param patch the name of the farming plot
+     * @return the milliseconds remaining, 0 if the stage is due, or -1 if the
+     *         plot is unknown or not growing
+     */
+    public synchronized long remainingMillis(String patch) {
+        Plot plot = plots.get(patch);
+        if (plot == null || plot.dueAt == NOT_GROWING) {
+            return -1L;
+        }
+        return Math.max(0L, plot.dueAt - clock.getAsLong());
+    }
+
+    /**
+     * Gets the plot whose next growth stage comes first, including plots that
+     * are due and not yet passed to {@link #tick()}.
+     *
+     * @return the plot state, or null if no plot is growing
+     */
+    public synchronized FarmingPlotData nextDue() {
+        Plot plot = peek();
+        return plot == null ? null : plot.toData(clock.getAsLong());
+    }
+
+    /**
+     * Gets the milliseconds until the first plot's next growth stage.
+     *
+     * @return the milliseconds remaining, 0 if a stage is due, or -1 if no plot
+     *         is growing
+     */
+    public synchronized long nextDueMillis() {
+        Plot plot = peek();
+        return plot == null ? -1L : Math.max(0L, plot.dueAt - clock.getAsLong());
+    }
+
+    /**
+     * Gets the current state of every plot, with {@code nextGrowthMillis}
+     * counted from now.
+     *
+     * @return a new map of farming plot names to their state
+     */
+    public synchronized Map<String, FarmingPlotData> plots() {
+        long now = clock.getAsLong();
+        Map<String, FarmingPlotData> result = new HashMap<>();
+        for (Plot plot : plots.values()) {
+            result.put(plot.patch, plot.toData(now));
+        }
+        return result;
+    }
+
+    /**
+     * Passes every plot whose next growth stage is due to the growth listeners.
+     * Each stage is only passed on once. Call this regularly, for example once a
+     * client tick; when nothing is due it only looks at the head of the heap.
+     *
+     * @return the number of plots that came due
+     */
+    public int tick() {
+        List<FarmingPlotData> due = null;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            Plot plot;
+            while ((plot = peek()) != null && plot.dueAt <= now) {
+                growing.poll();
+                Plot grown = new Plot(plot.patch, plot.product, NOT_GROWING);
+                plots.put(plot.patch, grown);
+                if (due == null) {
+                    due = new ArrayList<>();
+                }
+                due.add(grown.toData(now));
+            }
+        }
+        if (due == null) {
+            return 0;
+        }
+        for (FarmingPlotData plot : due) {
+            for (Consumer<FarmingPlotData> listener : listeners) {
+                listener.accept(plot);
+            }
+        }
+        return due.size();
+    }
+
+    /**
+     * Forgets every plot, for when the player disconnects.
+     */
+    public synchronized void clear() {
+        plots.clear();
+        growing.clear();
+    }
+
+    private void put(String patch, FarmingPlotData data, long now) {
+        if (data == null || patch == null) {
+            return;
+        }
+        Plot plot = new Plot(patch, data.product(), data.isGrowing() ? now + data.nextGrowthMillis() : NOT_GROWING);
+        plots.put(plot.patch, plot);
+        if (plot.dueAt != NOT_GROWING) {
+            growing.add(plot);
+            // Drop replaced plots before they outnumber the live ones
+            if (growing.size() > 2 * plots.size() + 16) {
+                growing.removeIf(queued -> plots.get(queued.patch) != queued);
+            }
+        }
+    }
+
+    /**
+     * Gets the first growing plot, dropping plots that were replaced since they
+     * were queued.
+     */
+    private Plot peek() {
+        Plot plot;
+        while ((plot = growing.peek()) != null && plots.get(plot.patch) != plot) {
+            growing.poll();
+        }
+        return plot;
+    }
+
+    private static final class Plot {
+        private final String patch;
+        private final String product;
+        private final long dueAt;
+
+        private Plot(String patch, String product, long dueAt) {
+            this.patch = patch;
+            this.product = product;
+            this.dueAt = dueAt;
+        }
+
+        private FarmingPlotData toData(long now) {
+            return new FarmingPlotData(patch, product, dueAt == NOT_GROWING ? 0L : Math.max(0L, dueAt - now));
+        }
+    }
+}
@@ -10,6 +10,18 @@ import java.util.UUID;
  * being attacked, so onlookers can react to the attack as well.
  */
 public class MobAttackData {
+
+    /** A melee hit (stab, slash or crush). */
+    public static final String STYLE_MELEE = "MELEE";
+    /** A thrown or fired projectile. */
+    public static final String STYLE_RANGED = "RANGED";
+    /** A cast spell. */
+    public static final String STYLE_MAGIC = "MAGIC";
+    /** Dragon breath, at melee range or fired. */
+    public static final String STYLE_DRAGONFIRE = "DRAGONFIRE";
+    /** The banshee's stat-draining scream. */
+    public static final String STYLE_SCREECH = "SCREECH";
+
     private final UUID uuid;
     private final String style;
 
@@ -43,8 +55,8 @@ public class MobAttackData {
     }
 
     /**
-     * Gets the attack style the mob used, such as {@code MELEE}, {@code RANGED},
-     * {@code MAGIC} or {@code DRAGONFIRE}.
+     * Gets the attack style the mob used, such as {@link #STYLE_MELEE},
+     * {@link #STYLE_RANGED}, {@link #STYLE_MAGIC} or {@link #STYLE_DRAGONFIRE}.
      * <p>
      * This is a string rather than an enum on purpose: the server can add a
      * style without requiring a new API release. Treat any value you do not
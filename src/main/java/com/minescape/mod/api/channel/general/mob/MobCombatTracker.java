@@ -0,0 +1,414 @@
+package com.minescape.mod.api.channel.general.mob;
+
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.UuidMap;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling combat statistics per visible mob, fed by {@link MobAttackData} and
+ * {@link MobDefenceData}: how often it attacks in each style, the damage it
+ * took, how often it blocked, and the damage per second it is taking.
+ * <p>
+ * Both messages are broadcast to everyone who can see the mob, so a boss area
+ * sends a lot of them. Each mob gets a slot of fixed size, with a ring of time
+ * buckets for its damage per second, and only a fixed number of slots exist:
+ * when a new mob appears with every slot in use, the slot of the mob seen least
+ * recently is reused. Memory therefore stays bounded however many mobs pass by.
+ * <p>
+ * Slots are keyed by the two halves of the mob's UUID in a {@link UuidMap}.
+ * {@link #register(ChannelDispatcher)} also accepts {@link MutableMobAttackData}
+ * and {@link MutableMobDefenceData} from
+ * {@link com.minescape.mod.api.channel.general.GeneralFlyweights}, which then
+ * records messages without creating a {@link UUID}.
+ *
+ * <pre>{@code
+ * MobCombatTracker combat = new MobCombatTracker();
+ * combat.register(dispatcher);
+ *
+ * double dps = combat.damagePerSecond(bossUuid);
+ * double blockRate = combat.blockRate(bossUuid);                   // 0 to 1, or -1
+ * long cadence = combat.attackIntervalMillis(bossUuid, MobAttackData.STYLE_MAGIC); // or -1
+ * }</pre>
+ * <p>
+ * The methods are synchronized, so the tracker can be fed on the network thread
+ * and read from another.
+ */
+public class MobCombatTracker {
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int BUCKETS = 10;
+    // The weight of the newest interval in the attack cadence average
+    private static final double CADENCE_WEIGHT = 0.25;
+    private static final String[] STYLES = { MobAttackData.STYLE_MELEE, MobAttackData.STYLE_RANGED,
+            MobAttackData.STYLE_MAGIC, MobAttackData.STYLE_DRAGONFIRE, MobAttackData.STYLE_SCREECH };
+    // Styles this version does not know, and attacks with no style, share the last index
+    private static final int OTHER_STYLE = STYLES.length;
+
+    private final LongSupplier clock;
+    private final int capacity;
+    private final long bucketMillis;
+    private final long windowMillis;
+    private final UuidMap<Slot> slots;
+    private int allocated;
+    // Most recently seen at the head, least recently seen at the tail
+    private Slot head;
+    private Slot tail;
+
+    /**
+     * Creates a tracker for up to 256 mobs with a 10 second damage window, using
+     * {@link System#nanoTime()} as the clock.
+     */
+    public MobCombatTracker() {
+        this(256, 10_000L, () -> System.nanoTime() / 1_000_000L);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param capacity     the number of mobs to keep statistics for
+     * @param windowMillis the length of the damage per second window, split
+     *                     into 10 buckets
+     * @param clock        a monotonic clock, in milliseconds
+     * @throws IllegalArgumentException if the capacity is not positive or the
+     *                                  window is shorter than 10 milliseconds
+     */
+    public MobCombatTracker(int capacity, long windowMillis, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (windowMillis < BUCKETS) {
+            throw new IllegalArgumentException("Window must be at least " + BUCKETS + " ms: " + windowMillis);
+        }
+        this.clock = clock;
+        this.capacity = capacity;
+        this.bucketMillis = windowMillis / BUCKETS;
+        this.windowMillis = bucketMillis * BUCKETS;
+        this.slots = new UuidMap<>(capacity);
+    }
+
+    /**
+     * Registers listeners on a dispatcher that apply each mob attack and mob
+     * defence message to this tracker.
+     *
+     * @param dispatcher the dispatcher for the general channel
+     * @return the dispatcher
+     */
+    public ChannelDispatcher<GeneralType> register(ChannelDispatcher<GeneralType> dispatcher) {
+        return dispatcher.on(GeneralType.MOB_ATTACK, (Object data) -> {
+            if (data instanceof MutableMobAttackData mutable) {
+                apply(mutable);
+            } else {
+                apply((MobAttackData) data);
+            }
+        }).on(GeneralType.MOB_DEFENCE, (Object data) -> {
+            if (data instanceof MutableMobDefenceData mutable) {
+                apply(mutable);
+            } else {
+                apply((MobDefenceData) data);
+            }
+        });
+    }
+
+    /**
+     * Applies a mob attack message. Messages without a UUID are ignored.
+     *
+     * @param data the mob attack
+     */
+    public void apply(MobAttackData data) {
+        if (data.uuid() != null) {
+            recordAttack(data.uuid().getMostSignificantBits(), data.uuid().getLeastSignificantBits(), data.style());
+        }
+    }
+
+    /**
+     * Applies a mob attack message decoded into a reusable object. Messages
+     * without a UUID are ignored.
+     *
+     * @param data the mob attack
+     */
+    public void apply(MutableMobAttackData data) {
+        if (data.hasUuid()) {
+            recordAttack(data.uuidMostSigBits(), data.uuidLeastSigBits(), data.style());
+        }
+    }
+
+    /**
+     * Applies a mob defence message. Messages without a UUID are ignored.
+     *
+     * @param data the mob defence
+     */
+    public void apply(MobDefenceData data) {
+        if (data.uuid() != null) {
+            recordDefence(data.uuid().getMostSignificantBits(), data.uuid().getLeastSignificantBits(), data.damage());
+        }
+    }
+
+    /**
+     * Applies a mob defence message decoded into a reusable object. Messages
+     * without a UUID are ignored.
+     *
+     * @param data the mob defence
+     */
+    public void apply(MutableMobDefenceData data) {
+        if (data.hasUuid()) {
+            recordDefence(data.uuidMostSigBits(), data.uuidLeastSigBits(), data.damage());
+        }
+    }
+
+    private synchronized void recordAttack(long mostSigBits, long leastSigBits, String style) {
+        long now = clock.getAsLong();
+        Slot slot = touch(mostSigBits, leastSigBits);
+        int index = styleIndex(style);
+
+        long last = slot.lastAttackAt[index];
+        if (last != NONE) {
+            long interval = Math.max(0L, now - last);
+            double average = slot.attackInterval[index];
+            slot.attackInterval[index] = average < 0 ? interval
+                    : average + CADENCE_WEIGHT * (interval - average);
+        }
+        slot.lastAttackAt[index] = now;
+        slot.attacks[index]++;
+    }
+
+    private synchronized void recordDefence(long mostSigBits, long leastSigBits, int damage) {
+        long now = clock.getAsLong();
+        Slot slot = touch(mostSigBits, leastSigBits);
+
+        slot.defences++;
+        if (damage <= 0) {
+            slot.blocked++;
+            return;
+        }
+        slot.damageTaken += damage;
+        long epoch = Math.floorDiv(now, bucketMillis);
+        int bucket = (int) Math.floorMod(epoch, (long) BUCKETS);
+        if (slot.bucketEpochs[bucket] != epoch) {
+            slot.bucketEpochs[bucket] = epoch;
+            slot.bucketDamage[bucket] = 0L;
+        }
+        slot.bucketDamage[bucket] += damage;
+    }
+
+    /**
+     * Gets the number of attacks a mob made in a style.
+     *
+     * @param uuid  the UUID of the mob
+     * @param style the attack style; styles this version does not know and
+     *              attacks with no style are counted together
+     * @return the number of attacks, or 0 if the mob is not tracked
+     */
+    public synchronized int attackCount(UUID uuid, String style) {
+        Slot slot = slots.get(uuid);
+        return slot == null ? 0 : slot.attacks[styleIndex(style)];
+    }
+
+    /**
+     * Gets the time between a mob's attacks in a style, as a moving average
+     * weighted towards the latest attacks.
+     *
+     * @param uuid  the UUID of the mob
+     * @param style the attack style; styles this version does not know and
+     *              attacks with no style are counted together
+     * @return the milliseconds between attacks, or -1 if the mob has not
+     *         attacked twice in the style
+     */
+    public synchronized long attackIntervalMillis(UUID uuid, String style) {
+        Slot slot = slots.get(uuid);
+        if (slot == null) {
+            return -1L;
+        }
+        double average = slot.attackInterval[styleIndex(style)];
+        return average < 0 ? -1L : Math.round(average);
+    }
+
+    /**
+     * Gets the total damage a mob took while tracked.
+     *
+     * @param uuid the UUID of the mob
+     * @return the damage taken, or 0 if the mob is not tracked
+     */
+    public synchronized long damageTaken(UUID uuid) {
+        Slot slot = slots.get(uuid);
+        return slot == null ? 0L : slot.damageTaken;
+    }
+
+    /**
+     * Gets the number of attacks a mob defended while tracked.
+     *
+     * @param uuid the UUID of the mob
+     * @return the number of defences, or 0 if the mob is not tracked
+     */
+    public synchronized int defenceCount(UUID uuid) {
+        Slot slot = slots.get(uuid);
+        return slot == null ? 0 : slot.defences;
+    }
+
+    /**
+     * Gets the share of a mob's defences that left it unharmed, see
+     * {@link MobDefenceData#blocked()}.
+     *
+     * @param uuid the UUID of the mob
+     * @return the block rate from 0 to 1, or -1 if the mob has not defended
+     */
+    public synchronized double blockRate(UUID uuid) {
+        Slot slot = slots.get(uuid);
+        if (slot == null || slot.defences == 0) {
+            return -1.0;
+        }
+        return (double) slot.blocked / slot.defences;
+    }
+
+    /**
+     * Gets the damage per second a mob took over the window.
+     *
+     * @param uuid the UUID of the mob
+     * @return the damage per second, or 0 if the mob took no damage in the
+     *         window or is not tracked
+     */
+    public synchronized double damagePerSecond(UUID uuid) {
+        Slot slot = slots.get(uuid);
+        if (slot == null) {
+            return 0.0;
+        }
+        long oldest = Math.floorDiv(clock.getAsLong(), bucketMillis) - BUCKETS + 1;
+        long damage = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (slot.bucketEpochs[i] >= oldest) {
+                damage += slot.bucketDamage[i];
+            }
+        }
+        return damage * 1000.0 / windowMillis;
+    }
+
+    /**
+     * Checks whether a mob has statistics, that is whether it was seen and its
+     * slot has not been reused since.
+     *
+     * @param uuid the UUID of the mob
+     * @return true if the mob is tracked, false otherwise
+     */
+    public synchronized boolean isTracked(UUID uuid) {
+        return slots.containsKey(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Gets the number of mobs with statistics.
+     *
+     * @return the number of mobs tracked, at most the capacity
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Gets the number of mobs this tracker keeps statistics for.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Forgets every mob.
+     */
+    public synchronized void clear() {
+        slots.clear();
+        allocated = 0;
+        head = null;
+        tail = null;
+    }
+
+    /**
+     * Gets the slot of a mob, claiming a fresh or the least recently seen one
+     * for a new mob, and marks it the most recently seen.
+     */
+    private Slot touch(long mostSigBits, long leastSigBits) {
+        Slot slot = slots.get(mostSigBits, leastSigBits);
+        if (slot == null) {
+            if (allocated < capacity) {
+                allocated++;
+                slot = new Slot();
+            } else {
+                slot = tail;
+                unlink(slot);
+                slots.remove(slot.mostSigBits, slot.leastSigBits);
+            }
+            slot.reset(mostSigBits, leastSigBits);
+            slots.put(mostSigBits, leastSigBits, slot);
+        } else if (slot == head) {
+            return slot;
+        } else {
+            unlink(slot);
+        }
+        slot.next = head;
+        if (head != null) {
+            head.previous = slot;
+        }
+        head = slot;
+        if (tail == null) {
+            tail = slot;
+        }
+        return slot;
+    }
+
+    private void unlink(Slot slot) {
+        if (slot.previous != null) {
+            slot.previous.next = slot.next;
+        } else {
+            head = slot.next;
+        }
+        if (slot.next != null) {
+            slot.next.previous = slot.previous;
+        } else {
+            tail = slot.previous;
+        }
+        slot.previous = null;
+        slot.next = null;
+    }
+
+    private static int styleIndex(String style) {
+        for (int i = 0; i < STYLES.length; i++) {
+            if (STYLES[i] == style) {
+                return i;
+            }
+        }
+        for (int i = 0; i < STYLES.length; i++) {
+            if (STYLES[i].equals(style)) {
+                return i;
+            }
+        }
+        return OTHER_STYLE;
+    }
+
+    private static final class Slot {
+        private long mostSigBits;
+        private long leastSigBits;
+        private final int[] attacks = new int[OTHER_STYLE + 1];
+        private final long[] lastAttackAt = new long[OTHER_STYLE + 1];
+        private final double[] attackInterval = new double[OTHER_STYLE + 1];
+        private int defences;
+        private int blocked;
+        private long damageTaken;
+        private final long[] bucketEpochs = new long[BUCKETS];
+        private final long[] bucketDamage = new long[BUCKETS];
+        private Slot previous;
+        private Slot next;
+
+        private void reset(long mostSigBits, long leastSigBits) {
+            this.mostSigBits = mostSigBits;
+            this.leastSigBits = leastSigBits;
+            Arrays.fill(attacks, 0);
+            Arrays.fill(lastAttackAt, NONE);
+            Arrays.fill(attackInterval, -1.0);
+            defences = 0;
+            blocked = 0;
+            damageTaken = 0L;
+            Arrays.fill(bucketEpochs, NONE);
+            Arrays.fill(bucketDamage, 0L);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.minescape.mod.api.channel.general.mob;
+
+import java.util.UUID;
+
+/**
+ * Reusable, mutable counterpart of {@link MobAttackData} for decoding without
+ * allocating a data object per message.
+ * <p>
+ * A dispatcher set up with
+ * {@link com.minescape.mod.api.channel.general.GeneralFlyweights} passes the
+ * same instance to every {@code MOB_ATTACK} listener call, refilled for each
+ * message. The instance is only valid during the listener call: do not keep a
+ * reference to it or hand it to another thread, and copy it with
+ * {@link #toImmutable()} to keep the data.
+ * <p>
+ * The UUID is held as its two halves; compare it with
+ * {@link #uuidEquals(UUID)} to avoid creating a {@link UUID}.
+ */
+public class MutableMobAttackData {
+    private boolean hasUuid;
+    private long uuidMostSigBits;
+    private long uuidLeastSigBits;
+    private String style;
+
+    /**
+     * Creates a new empty MutableMobAttackData instance.
+     */
+    public MutableMobAttackData() {
+    }
+
+    /**
+     * Gets the UUID of the attacking mob. This creates a new {@link UUID} on
+     * every call.
+     *
+     * @return the UUID of the attacking mob, or {@code null} if none was sent
+     */
+    public UUID uuid() {
+        return hasUuid ? new UUID(uuidMostSigBits, uuidLeastSigBits) : null;
+    }
+
+    /**
+     * Checks whether a UUID was sent.
+     *
+     * @return true if the message had a UUID
+     */
+    public boolean hasUuid() {
+        return hasUuid;
+    }
+
+    /**
+     * Gets the most significant 64 bits of the UUID of the attacking mob.
+     *
+     * @return the most significant bits, or 0 if no UUID was sent
+     */
+    public long uuidMostSigBits() {
+        return uuidMostSigBits;
+    }
+
+    /**
+     * Gets the least significant 64 bits of the UUID of the attacking mob.
+     *
+     * @return the least significant bits, or 0 if no UUID was sent
+     */
+    public long uuidLeastSigBits() {
+        return uuidLeastSigBits;
+    }
+
+    /**
+     * Checks whether the attacking mob has the given UUID, without creating a
+     * {@link UUID}.
+     *
+     * @param uuid the UUID to compare with
+     * @return true if the mob's UUID equals the given UUID
+     */
+    public boolean uuidEquals(UUID uuid) {
+        return uuid == null ? !hasUuid
+                : hasUuid && uuid.getMostSignificantBits() == uuidMostSigBits
+                        && uuid.getLeastSignificantBits() == uuidLeastSigBits;
+    }
+
+    /**
+     * Gets the attack style the mob used, see {@link MobAttackData#style()}.
+     *
+     * @return the attack style, or {@code null} when unknown
+     */
+    public String style() {
+        return style;
+    }
+
+    /**
+     * Sets the UUID of the attacking mob.
+     *
+     * @param mostSigBits  the most significant 64 bits of the UUID
+     * @param leastSigBits the least significant 64 bits of the UUID
+     */
+    public void setUuid(long mostSigBits, long leastSigBits) {
+        this.hasUuid = true;
+        this.uuidMostSigBits = mostSigBits;
+        this.uuidLeastSigBits = leastSigBits;
+    }
+
+    /**
+     * Sets the UUID of the attacking mob.
+     *
+     * @param uuid the UUID, or {@code null} for none
+     */
+    public void setUuid(UUID uuid) {
+        if (uuid == null) {
+            this.hasUuid = false;
+            this.uuidMostSigBits = 0L;
+            this.uuidLeastSigBits = 0L;
+        } else {
+            setUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * Sets the attack style the mob used.
+     *
+     * @param style the attack style, or {@code null} when unknown
+     */
+    public void setStyle(String style) {
+        this.style = style;
+    }
+
+    /**
+     * Resets every field to the value it has when missing from a message.
+     */
+    public void clear() {
+        setUuid(null);
+        this.style = null;
+    }
+
+    /**
+     * Copies the current values into an immutable {@link MobAttackData}.
+     *
+     * @return a new MobAttackData with the same values
+     */
+    public MobAttackData toImmutable() {
+        return new MobAttackData(uuid(), style);
+    }
+
+    @Override
+    public String toString() {
+        return "MutableMobAttackData{" + "uuid=" + uuid() + ", style=" + style + '}';
+    }
+}
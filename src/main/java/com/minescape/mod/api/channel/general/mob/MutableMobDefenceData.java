@@ -0,0 +1,178 @@
+package com.minescape.mod.api.channel.general.mob;
+
+import java.util.UUID;
+
+/**
+ * Reusable, mutable counterpart of {@link MobDefenceData} for decoding without
+ * allocating a data object per message.
+ * <p>
+ * A dispatcher set up with
+ * {@link com.minescape.mod.api.channel.general.GeneralFlyweights} passes the
+ * same instance to every {@code MOB_DEFENCE} listener call, refilled for each
+ * message. The instance is only valid during the listener call: do not keep a
+ * reference to it or hand it to another thread, and copy it with
+ * {@link #toImmutable()} to keep the data.
+ * <p>
+ * The UUID is held as its two halves; compare it with
+ * {@link #uuidEquals(UUID)} to avoid creating a {@link UUID}.
+ */
+public class MutableMobDefenceData {
+    private boolean hasUuid;
+    private long uuidMostSigBits;
+    private long uuidLeastSigBits;
+    private String style;
+    private int damage;
+
+    /**
+     * Creates a new empty MutableMobDefenceData instance.
+     */
+    public MutableMobDefenceData() {
+    }
+
+    /**
+     * Gets the UUID of the defending mob. This creates a new {@link UUID} on
+     * every call.
+     *
+     * @return the UUID of the defending mob, or {@code null} if none was sent
+     */
+    public UUID uuid() {
+        return hasUuid ? new UUID(uuidMostSigBits, uuidLeastSigBits) : null;
+    }
+
+    /**
+     * Checks whether a UUID was sent.
+     *
+     * @return true if the message had a UUID
+     */
+    public boolean hasUuid() {
+        return hasUuid;
+    }
+
+    /**
+     * Gets the most significant 64 bits of the UUID of the defending mob.
+     *
+     * @return the most significant bits, or 0 if no UUID was sent
+     */
+    public long uuidMostSigBits() {
+        return uuidMostSigBits;
+    }
+
+    /**
+     * Gets the least significant 64 bits of the UUID of the defending mob.
+     *
+     * @return the least significant bits, or 0 if no UUID was sent
+     */
+    public long uuidLeastSigBits() {
+        return uuidLeastSigBits;
+    }
+
+    /**
+     * Checks whether the defending mob has the given UUID, without creating a
+     * {@link UUID}.
+     *
+     * @param uuid the UUID to compare with
+     * @return true if the mob's UUID equals the given UUID
+     */
+    public boolean uuidEquals(UUID uuid) {
+        return uuid == null ? !hasUuid
+                : hasUuid && uuid.getMostSignificantBits() == uuidMostSigBits
+                        && uuid.getLeastSignificantBits() == uuidLeastSigBits;
+    }
+
+    /**
+     * Gets the style of the attack the mob defended, see
+     * {@link MobDefenceData#style()}.
+     *
+     * @return the attack style, or {@code null} when unknown
+     */
+    public String style() {
+        return style;
+    }
+
+    /**
+     * Gets the damage the mob took from the attack.
+     *
+     * @return the damage taken, 0 for a miss
+     */
+    public int damage() {
+        return damage;
+    }
+
+    /**
+     * Checks whether the mob came out of the defence unharmed, see
+     * {@link MobDefenceData#blocked()}.
+     *
+     * @return true if the defended attack dealt no damage, false otherwise
+     */
+    public boolean blocked() {
+        return damage <= 0;
+    }
+
+    /**
+     * Sets the UUID of the defending mob.
+     *
+     * @param mostSigBits  the most significant 64 bits of the UUID
+     * @param leastSigBits the least significant 64 bits of the UUID
+     */
+    public void setUuid(long mostSigBits, long leastSigBits) {
+        this.hasUuid = true;
+        this.uuidMostSigBits = mostSigBits;
+        this.uuidLeastSigBits = leastSigBits;
+    }
+
+    /**
+     * Sets the UUID of the defending mob.
+     *
+     * @param uuid the UUID, or {@code null} for none
+     */
+    public void setUuid(UUID uuid) {
+        if (uuid == null) {
+            this.hasUuid = false;
+            this.uuidMostSigBits = 0L;
+            this.uuidLeastSigBits = 0L;
+        } else {
+            setUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * Sets the style of the attack the mob defended.
+     *
+     * @param style the attack style, or {@code null} when unknown
+     */
+    public void setStyle(String style) {
+        this.style = style;
+    }
+
+    /**
+     * Sets the damage the mob took from the attack.
+     *
+     * @param damage the damage taken
+     */
+    public void setDamage(int damage) {
+        this.damage = damage;
+    }
+
+    /**
+     * Resets every field to the value it has when missing from a message.
+     */
+    public void clear() {
+        setUuid(null);
+        this.style = null;
+        this.damage = 0;
+    }
+
+    /**
+     * Copies the current values into an immutable {@link MobDefenceData}.
+     *
+     * @return a new MobDefenceData with the same values
+     */
+    public MobDefenceData toImmutable() {
+        return new MobDefenceData(uuid(), style, damage);
+    }
+
+    @Override
+    public String toString() {
+        return "MutableMobDefenceData{" + "uuid=" + uuid() + ", style=" + style + ", damage=" + damage + '}';
+    }
+}
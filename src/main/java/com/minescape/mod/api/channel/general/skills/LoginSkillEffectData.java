@@ -1,15 +1,29 @@
 package com.minescape.mod.api.channel.general.skills;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.minescape.mod.api.channel.general.GeneralTypeAdapterFactory;
 import com.minescape.mod.api.types.skills.SkillType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Data class representing skill effect information available at login.
  * This includes current modifiers for each skill.
+ * <p>
+ * Modifiers are held in an array indexed by {@link SkillType#ordinal()}; the
+ * {@link #modifiers()} map view is only built when first asked for.
  */
+@JsonAdapter(GeneralTypeAdapterFactory.class)
 public class LoginSkillEffectData {
-    private final Map<SkillType, Integer> modifiers;
+    private static final SkillType[] SKILL_TYPES = SkillType.values();
+
+    private final int[] modifiers;
+    // Bit n is set when the skill with ordinal n was sent; fits up to 64 skills.
+    private final long modifierMask;
+    private Map<SkillType, Integer> modifiersView;
 
     /**
      * Creates a new LoginSkillEffectData instance.
@@ -17,16 +31,46 @@ public class LoginSkillEffectData {
      * @param modifiers a map of skill types to their current modifier values
      */
     public LoginSkillEffectData(Map<SkillType, Integer> modifiers) {
-        this.modifiers = Map.copyOf(modifiers);
+        Builder builder = new Builder();
+        modifiers.forEach(builder::modifier);
+
+        this.modifiers = builder.modifiers;
+        this.modifierMask = builder.modifierMask;
+    }
+
+    private LoginSkillEffectData(Builder builder) {
+        this.modifiers = builder.modifiers;
+        this.modifierMask = builder.modifierMask;
+    }
+
+    /**
+     * Creates a builder that fills the modifier array directly, for decoders.
+     * 
+     * @return a new empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
-     * Gets the map of skill types to their current modifier values.
+     * Gets the map of skill types to their current modifier values. The map is
+     * built on the first call.
      * 
      * @return an immutable map of skill modifiers
      */
     public Map<SkillType, Integer> modifiers() {
-        return modifiers;
+        Map<SkillType, Integer> view = modifiersView;
+        if (view == null) {
+            Map<SkillType, Integer> map = new EnumMap<>(SkillType.class);
+            for (SkillType skillType : SKILL_TYPES) {
+                if (hasModifier(skillType)) {
+                    map.put(skillType, modifiers[skillType.ordinal()]);
+                }
+            }
+            view = Collections.unmodifiableMap(map);
+            modifiersView = view;
+        }
+        return view;
     }
 
     /**
@@ -36,7 +80,27 @@ public class LoginSkillEffectData {
      * @return the modifier for the skill, or null if not present
      */
     public Integer getModifier(SkillType skillType) {
-        return modifiers.get(skillType);
+        return hasModifier(skillType) ? modifiers[skillType.ordinal()] : null;
+    }
+
+    /**
+     * Gets the modifier for a specific skill type without boxing.
+     * 
+     * @param skillType the skill type
+     * @return the modifier for the skill, or 0 if not present
+     */
+    public int modifierOf(SkillType skillType) {
+        return modifiers[skillType.ordinal()];
+    }
+
+    /**
+     * Checks whether the modifier of a skill was sent.
+     * 
+     * @param skillType the skill type
+     * @return true if the skill has a modifier, false otherwise
+     */
+    public boolean hasModifier(SkillType skillType) {
+        return (modifierMask & 1L << skillType.ordinal()) != 0;
     }
 
     /**
@@ -46,8 +110,7 @@ public class LoginSkillEffectData {
      * @return true if the skill has an active effect, false otherwise
      */
     public boolean hasEffect(SkillType skillType) {
-        Integer modifier = modifiers.get(skillType);
-        return modifier != null && modifier != 0;
+        return modifiers[skillType.ordinal()] != 0;
     }
 
     /**
@@ -56,7 +119,12 @@ public class LoginSkillEffectData {
      * @return true if any skill has an active effect, false otherwise
      */
     public boolean hasAnyEffect() {
-        return modifiers.values().stream().anyMatch(modifier -> modifier != 0);
+        for (int modifier : modifiers) {
+            if (modifier != 0) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -66,16 +134,54 @@ public class LoginSkillEffectData {
         if (obj == null || getClass() != obj.getClass())
             return false;
         LoginSkillEffectData that = (LoginSkillEffectData) obj;
-        return Objects.equals(modifiers, that.modifiers);
+        return modifierMask == that.modifierMask && Arrays.equals(modifiers, that.modifiers);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(modifiers);
+        return Objects.hash(modifierMask, Arrays.hashCode(modifiers));
     }
 
     @Override
     public String toString() {
-        return "LoginSkillEffectData{" + "modifiers=" + modifiers + '}';
+        return "LoginSkillEffectData{" + "modifiers=" + modifiers() + '}';
+    }
+
+    /**
+     * Builder that fills the array of a {@link LoginSkillEffectData} directly.
+     * The array is handed to the data object without copying, so a builder is
+     * reset by {@link #build()} and can then be reused.
+     */
+    public static final class Builder {
+        private int[] modifiers = new int[SKILL_TYPES.length];
+        private long modifierMask;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the modifier of a skill.
+         * 
+         * @param skillType the skill type
+         * @param modifier  the current modifier value
+         * @return this builder
+         */
+        public Builder modifier(SkillType skillType, int modifier) {
+            modifiers[skillType.ordinal()] = modifier;
+            modifierMask |= 1L << skillType.ordinal();
+            return this;
+        }
+
+        /**
+         * Creates the data object and resets this builder.
+         * 
+         * @return a new LoginSkillEffectData with the modifiers set so far
+         */
+        public LoginSkillEffectData build() {
+            LoginSkillEffectData data = new LoginSkillEffectData(this);
+            modifiers = new int[SKILL_TYPES.length];
+            modifierMask = 0L;
+            return data;
+        }
     }
 }
@@ -1,15 +1,34 @@
 package com.minescape.mod.api.channel.general.skills;
 
+import com.google.gson.annotations.JsonAdapter;
+import com.minescape.mod.api.channel.general.GeneralTypeAdapterFactory;
 import com.minescape.mod.api.types.skills.SkillType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * Data class representing skill information available at login.
+ * <p>
+ * Levels and experience are held in arrays indexed by
+ * {@link SkillType#ordinal()}, so {@link #levelOf(SkillType)} and
+ * {@link #experienceOf(SkillType)} read them without boxing or hashing. The
+ * {@link #levels()} and {@link #experiences()} map views are only built when
+ * first asked for.
  */
+@JsonAdapter(GeneralTypeAdapterFactory.class)
 public class LoginSkillsData {
-    private final Map<SkillType, Integer> levels;
-    private final Map<SkillType, Double> experiences;
+    private static final SkillType[] SKILL_TYPES = SkillType.values();
+
+    private final int[] levels;
+    private final double[] experiences;
+    // Bit n is set when the skill with ordinal n was sent; fits up to 64 skills.
+    private final long levelMask;
+    private final long experienceMask;
+    private Map<SkillType, Integer> levelsView;
+    private Map<SkillType, Double> experiencesView;
 
     /**
      * Creates a new LoginSkillsData instance.
@@ -18,26 +37,73 @@ public class LoginSkillsData {
      * @param experiences a map of skill types to their current experience
      */
     public LoginSkillsData(Map<SkillType, Integer> levels, Map<SkillType, Double> experiences) {
-        this.levels = Map.copyOf(levels);
-        this.experiences = Map.copyOf(experiences);
+        Builder builder = new Builder();
+        levels.forEach(builder::level);
+        experiences.forEach(builder::experience);
+
+        this.levels = builder.levels;
+        this.experiences = builder.experiences;
+        this.levelMask = builder.levelMask;
+        this.experienceMask = builder.experienceMask;
+    }
+
+    private LoginSkillsData(Builder builder) {
+        this.levels = builder.levels;
+        this.experiences = builder.experiences;
+        this.levelMask = builder.levelMask;
+        this.experienceMask = builder.experienceMask;
     }
 
     /**
-     * Gets the map of skill types to their current levels.
+     * Creates a builder that fills the level and experience arrays directly, for
+     * decoders.
+     * 
+     * @return a new empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the map of skill types to their current levels. The map is built on
+     * the first call.
      * 
      * @return an immutable map of skill levels
      */
     public Map<SkillType, Integer> levels() {
-        return levels;
+        Map<SkillType, Integer> view = levelsView;
+        if (view == null) {
+            Map<SkillType, Integer> map = new EnumMap<>(SkillType.class);
+            for (SkillType skillType : SKILL_TYPES) {
+                if (hasLevel(skillType)) {
+                    map.put(skillType, levels[skillType.ordinal()]);
+                }
+            }
+            view = Collections.unmodifiableMap(map);
+            levelsView = view;
+        }
+        return view;
     }
 
     /**
-     * Gets the map of skill types to their current experience.
+     * Gets the map of skill types to their current experience. The map is built
+     * on the first call.
      * 
      * @return an immutable map of skill experiences
      */
     public Map<SkillType, Double> experiences() {
-        return experiences;
+        Map<SkillType, Double> view = experiencesView;
+        if (view == null) {
+            Map<SkillType, Double> map = new EnumMap<>(SkillType.class);
+            for (SkillType skillType : SKILL_TYPES) {
+                if (hasExperience(skillType)) {
+                    map.put(skillType, experiences[skillType.ordinal()]);
+                }
+            }
+            view = Collections.unmodifiableMap(map);
+            experiencesView = view;
+        }
+        return view;
     }
 
     /**
@@ -47,7 +113,7 @@ public class LoginSkillsData {
      * @return the level for the skill, or null if not present
      */
     public Integer getLevel(SkillType skillType) {
-        return levels.get(skillType);
+        return hasLevel(skillType) ? levels[skillType.ordinal()] : null;
     }
 
     /**
@@ -57,7 +123,47 @@ public class LoginSkillsData {
      * @return the experience for the skill, or null if not present
      */
     public Double getExperience(SkillType skillType) {
-        return experiences.get(skillType);
+        return hasExperience(skillType) ? experiences[skillType.ordinal()] : null;
+    }
+
+    /**
+     * Gets the level for a specific skill type without boxing.
+     * 
+     * @param skillType the skill type
+     * @return the level for the skill, or 0 if not present
+     */
+    public int levelOf(SkillType skillType) {
+        return levels[skillType.ordinal()];
+    }
+
+    /**
+     * Gets the experience for a specific skill type without boxing.
+     * 
+     * @param skillType the skill type
+     * @return the experience for the skill, or 0 if not present
+     */
+    public double experienceOf(SkillType skillType) {
+        return experiences[skillType.ordinal()];
+    }
+
+    /**
+     * Checks whether the level of a skill was sent.
+     * 
+     * @param skillType the skill type
+     * @return true if the skill has a level, false otherwise
+     */
+    public boolean hasLevel(SkillType skillType) {
+        return (levelMask & 1L << skillType.ordinal()) != 0;
+    }
+
+    /**
+     * Checks whether the experience of a skill was sent.
+     * 
+     * @param skillType the skill type
+     * @return true if the skill has experience, false otherwise
+     */
+    public boolean hasExperience(SkillType skillType) {
+        return (experienceMask & 1L << skillType.ordinal()) != 0;
     }
 
     @Override
@@ -67,16 +173,72 @@ public class LoginSkillsData {
         if (obj == null || getClass() != obj.getClass())
             return false;
         LoginSkillsData that = (LoginSkillsData) obj;
-        return Objects.equals(levels, that.levels) && Objects.equals(experiences, that.experiences);
+        return levelMask == that.levelMask && experienceMask == that.experienceMask
+                && Arrays.equals(levels, that.levels) && Arrays.equals(experiences, that.experiences);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(levels, experiences);
+        return Objects.hash(levelMask, experienceMask, Arrays.hashCode(levels), Arrays.hashCode(experiences));
     }
 
     @Override
     public String toString() {
-        return "LoginSkillsData{" + "levels=" + levels + ", experiences=" + experiences + '}';
+        return "LoginSkillsData{" + "levels=" + levels() + ", experiences=" + experiences() + '}';
+    }
+
+    /**
+     * Builder that fills the arrays of a {@link LoginSkillsData} directly. The
+     * arrays are handed to the data object without copying, so a builder is
+     * reset by {@link #build()} and can then be reused.
+     */
+    public static final class Builder {
+        private int[] levels = new int[SKILL_TYPES.length];
+        private double[] experiences = new double[SKILL_TYPES.length];
+        private long levelMask;
+        private long experienceMask;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the level of a skill.
+         * 
+         * @param skillType the skill type
+         * @param level     the current level
+         * @return this builder
+         */
+        public Builder level(SkillType skillType, int level) {
+            levels[skillType.ordinal()] = level;
+            levelMask |= 1L << skillType.ordinal();
+            return this;
+        }
+
+        /**
+         * Sets the experience of a skill.
+         * 
+         * @param skillType  the skill type
+         * @param experience the current experience
+         * @return this builder
+         */
+        public Builder experience(SkillType skillType, double experience) {
+            experiences[skillType.ordinal()] = experience;
+            experienceMask |= 1L << skillType.ordinal();
+            return this;
+        }
+
+        /**
+         * Creates the data object and resets this builder.
+         * 
+         * @return a new LoginSkillsData with the levels and experience set so far
+         */
+        public LoginSkillsData build() {
+            LoginSkillsData data = new LoginSkillsData(this);
+            levels = new int[SKILL_TYPES.length];
+            experiences = new double[SKILL_TYPES.length];
+            levelMask = 0L;
+            experienceMask = 0L;
+            return data;
+        }
     }
 }
\ No newline at end of file
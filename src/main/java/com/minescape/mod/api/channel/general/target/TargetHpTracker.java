@@ -0,0 +1,317 @@
+package com.minescape.mod.api.channel.general.target;
+
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.UuidMap;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import com.minescape.mod.api.channel.general.mob.MutableMobDefenceData;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Estimated hit points of every visible mob the player has targeted, joining
+ * {@link PlayerTargetData} with {@link MobDefenceData}.
+ * <p>
+ * The server reports exact hit points only for the player's own target. A mob
+ * is seeded from {@link PlayerTargetData} the first time it is targeted, and
+ * from then on every {@link MobDefenceData} broadcast for it, whoever landed
+ * the hit, takes its damage off the estimate. A later {@link PlayerTargetData}
+ * corrects the estimate, and {@link PlayerTargetDeathData} forgets the mob.
+ * Mobs that were never targeted have no estimate, as their total is unknown.
+ * <p>
+ * The player's own hit on its target is reported twice, by the target message
+ * and by a defence broadcast, in either order. When a target message lowers
+ * the estimate, defences for the mob arriving within a short window first
+ * count against that drop, so the hit is not taken off twice.
+ * <p>
+ * Estimates are kept in a {@link UuidMap}, so looking one up for a nameplate
+ * each frame is a constant time read. As mobs leaving view send nothing, at
+ * most a fixed number of mobs are kept, forgetting the one updated least
+ * recently to make room.
+ *
+ * <pre>{@code
+ * TargetHpTracker hp = new TargetHpTracker();
+ * hp.register(dispatcher);
+ *
+ * double fraction = hp.hpFraction(mobUuid); // 0 to 1, or -1 if unknown
+ * }</pre>
+ * <p>
+ * The methods are synchronized, so the tracker can be fed on the network thread
+ * and read from another.
+ */
+public class TargetHpTracker {
+    // How long after a target message a defence may still report the same hit
+    private static final long HIT_WINDOW_MILLIS = 100L;
+
+    private final int capacity;
+    private final LongSupplier clock;
+    private final UuidMap<Hp> mobs;
+    // Most recently updated at the head, least recently updated at the tail
+    private Hp head;
+    private Hp tail;
+
+    /**
+     * Creates a tracker for up to 256 mobs.
+     */
+    public TargetHpTracker() {
+        this(256);
+    }
+
+    /**
+     * Creates a tracker using {@link System#nanoTime()} as the clock.
+     *
+     * @param capacity the number of mobs to keep estimates for
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public TargetHpTracker(int capacity) {
+        this(capacity, () -> System.nanoTime() / 1_000_000L);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param capacity the number of mobs to keep estimates for
+     * @param clock    a monotonic clock in milliseconds, used to match the two
+     *                 reports of one hit
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public TargetHpTracker(int capacity, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.clock = clock;
+        this.mobs = new UuidMap<>(capacity);
+    }
+
+    /**
+     * Registers listeners on a dispatcher that apply each target, target death
+     * and mob defence message to this tracker.
+     *
+     * @param dispatcher the dispatcher for the general channel
+     * @return the dispatcher
+     */
+    public ChannelDispatcher<GeneralType> register(ChannelDispatcher<GeneralType> dispatcher) {
+        return dispatcher.on(GeneralType.PLAYER_TARGET, (PlayerTargetData data) -> apply(data))
+                .on(GeneralType.PLAYER_TARGET_DEATH, (PlayerTargetDeathData data) -> apply(data))
+                .on(GeneralType.MOB_DEFENCE, (Object data) -> {
+                    if (data instanceof MutableMobDefenceData mutable) {
+                        apply(mutable);
+                    } else {
+                        apply((MobDefenceData) data);
+                    }
+                });
+    }
+
+    /**
+     * Applies a target message, setting the mob's hit points and nameplate.
+     * Messages without a UUID are ignored.
+     *
+     * @param data the target
+     */
+    public synchronized void apply(PlayerTargetData data) {
+        UUID uuid = data.uuid();
+        if (uuid == null) {
+            return;
+        }
+        long mostSigBits = uuid.getMostSignificantBits();
+        long leastSigBits = uuid.getLeastSignificantBits();
+        Hp hp = mobs.get(mostSigBits, leastSigBits);
+        if (hp == null) {
+            if (mobs.size() >= capacity) {
+                Hp oldest = tail;
+                unlink(oldest);
+                mobs.remove(oldest.mostSigBits, oldest.leastSigBits);
+            }
+            hp = new Hp(mostSigBits, leastSigBits);
+            mobs.put(mostSigBits, leastSigBits, hp);
+        } else {
+            unlink(hp);
+        }
+        int previousHp = hp.currentHp;
+        hp.totalHp = Math.max(0, data.totalHp());
+        hp.currentHp = Math.max(0, Math.min(data.currentHp(), hp.totalHp));
+        hp.nameplateUuid = data.nameplateUuid();
+
+        // A drop the defences have not explained yet may be reported by one shortly
+        long now = clock.getAsLong();
+        int pending = now <= hp.pendingUntil ? hp.pendingDamage : 0;
+        if (previousHp > hp.currentHp) {
+            hp.pendingDamage = pending + previousHp - hp.currentHp;
+            hp.pendingUntil = now + HIT_WINDOW_MILLIS;
+        } else {
+            hp.pendingDamage = pending;
+        }
+        linkFirst(hp);
+    }
+
+    /**
+     * Applies a target death message, forgetting the mob.
+     *
+     * @param data the target death
+     */
+    public synchronized void apply(PlayerTargetDeathData data) {
+        if (data.uuid() != null) {
+            Hp hp = mobs.remove(data.uuid());
+            if (hp != null) {
+                unlink(hp);
+            }
+        }
+    }
+
+    /**
+     * Applies a mob defence message, taking its damage off the mob's estimate.
+     * Messages for mobs without an estimate are ignored.
+     *
+     * @param data the mob defence
+     */
+    public void apply(MobDefenceData data) {
+        if (data.uuid() != null) {
+            damage(data.uuid().getMostSignificantBits(), data.uuid().getLeastSignificantBits(), data.damage());
+        }
+    }
+
+    /**
+     * Applies a mob defence message decoded into a reusable object. Messages
+     * for mobs without an estimate are ignored.
+     *
+     * @param data the mob defence
+     */
+    public void apply(MutableMobDefenceData data) {
+        if (data.hasUuid()) {
+            damage(data.uuidMostSigBits(), data.uuidLeastSigBits(), data.damage());
+        }
+    }
+
+    private synchronized void damage(long mostSigBits, long leastSigBits, int damage) {
+        Hp hp = mobs.get(mostSigBits, leastSigBits);
+        if (hp == null) {
+            return;
+        }
+        if (damage > 0) {
+            int remaining = damage;
+            if (hp.pendingDamage > 0 && clock.getAsLong() <= hp.pendingUntil) {
+                // Already taken off by the target message reporting the same hit
+                int counted = Math.min(remaining, hp.pendingDamage);
+                hp.pendingDamage -= counted;
+                remaining -= counted;
+            }
+            hp.currentHp = Math.max(0, hp.currentHp - remaining);
+        }
+        if (hp != head) {
+            unlink(hp);
+            linkFirst(hp);
+        }
+    }
+
+    /**
+     * Gets the estimated hit points of a mob.
+     *
+     * @param uuid the UUID of the mob
+     * @return the estimated hit points, or -1 if the mob has no estimate
+     */
+    public synchronized int currentHp(UUID uuid) {
+        Hp hp = mobs.get(uuid);
+        return hp == null ? -1 : hp.currentHp;
+    }
+
+    /**
+     * Gets the total hit points of a mob, as last reported by its target
+     * message.
+     *
+     * @param uuid the UUID of the mob
+     * @return the total hit points, or -1 if the mob has no estimate
+     */
+    public synchronized int totalHp(UUID uuid) {
+        Hp hp = mobs.get(uuid);
+        return hp == null ? -1 : hp.totalHp;
+    }
+
+    /**
+     * Gets the estimated share of its hit points a mob has left.
+     *
+     * @param uuid the UUID of the mob
+     * @return the fraction from 0 to 1, or -1 if the mob has no estimate or no
+     *         total
+     */
+    public synchronized double hpFraction(UUID uuid) {
+        Hp hp = mobs.get(uuid);
+        if (hp == null || hp.totalHp == 0) {
+            return -1.0;
+        }
+        return (double) hp.currentHp / hp.totalHp;
+    }
+
+    /**
+     * Gets the estimate of a mob as target data.
+     *
+     * @param uuid the UUID of the mob
+     * @return the mob's estimated hit points and total, with the nameplate UUID
+     *         of its last target message, or null if the mob has no estimate
+     */
+    public synchronized PlayerTargetData getEstimate(UUID uuid) {
+        Hp hp = mobs.get(uuid);
+        return hp == null ? null : new PlayerTargetData(uuid, hp.nameplateUuid, hp.currentHp, hp.totalHp);
+    }
+
+    /**
+     * Gets the number of mobs with an estimate.
+     *
+     * @return the number of mobs tracked, at most the capacity
+     */
+    public synchronized int size() {
+        return mobs.size();
+    }
+
+    /**
+     * Forgets every mob.
+     */
+    public synchronized void clear() {
+        mobs.clear();
+        head = null;
+        tail = null;
+    }
+
+    private void linkFirst(Hp hp) {
+        hp.next = head;
+        if (head != null) {
+            head.previous = hp;
+        }
+        head = hp;
+        if (tail == null) {
+            tail = hp;
+        }
+    }
+
+    private void unlink(Hp hp) {
+        if (hp.previous != null) {
+            hp.previous.next = hp.next;
+        } else {
+            head = hp.next;
+        }
+        if (hp.next != null) {
+            hp.next.previous = hp.previous;
+        } else {
+            tail = hp.previous;
+        }
+        hp.previous = null;
+        hp.next = null;
+    }
+
+    private static final class Hp {
+        private final long mostSigBits;
+        private final long leastSigBits;
+        private int currentHp;
+        private int totalHp;
+        private UUID nameplateUuid;
+        private int pendingDamage;
+        private long pendingUntil = Long.MIN_VALUE;
+        private Hp previous;
+        private Hp next;
+
+        private Hp(long mostSigBits, long leastSigBits) {
+            this.mostSigBits = mostSigBits;
+            this.leastSigBits = leastSigBits;
+        }
+    }
+}
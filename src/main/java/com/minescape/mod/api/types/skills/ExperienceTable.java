@@ -0,0 +1,100 @@
+package com.minescape.mod.api.types.skills;
+
+/**
+ * The experience needed for each skill level, with lookups from experience to
+ * level and progress.
+ * <p>
+ * The table follows the RuneScape curve, from 0 experience at level 1 to
+ * 13,034,431 at level {@value #MAX_LEVEL}, and is computed once when the class
+ * loads. Lookups binary search it and do not allocate.
+ *
+ * <pre>{@code
+ * double experience = skills.experience(SkillType.MINING);
+ * int level = ExperienceTable.levelForExperience(experience);
+ * double toGo = ExperienceTable.experienceToNextLevel(experience);
+ * double percent = ExperienceTable.progressPercent(experience);
+ * }</pre>
+ */
+public final class ExperienceTable {
+
+    /** The highest skill level. */
+    public static final int MAX_LEVEL = 99;
+
+    // The experience for level n is at index n - 1.
+    private static final int[] EXPERIENCE = new int[MAX_LEVEL];
+
+    static {
+        double points = 0;
+        for (int level = 1; level < MAX_LEVEL; level++) {
+            points += Math.floor(level + 300.0 * Math.pow(2.0, level / 7.0));
+            EXPERIENCE[level] = (int) Math.floor(points / 4);
+        }
+    }
+
+    private ExperienceTable() {
+    }
+
+    /**
+     * Gets the experience needed to reach a level.
+     *
+     * @param level the level, from 1 to {@value #MAX_LEVEL}
+     * @return the total experience at which the level is reached
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    public static int experienceForLevel(int level) {
+        if (level < 1 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level out of range: " + level);
+        }
+        return EXPERIENCE[level - 1];
+    }
+
+    /**
+     * Gets the level for an amount of experience.
+     *
+     * @param experience the total experience
+     * @return the level, from 1 to {@value #MAX_LEVEL}
+     */
+    public static int levelForExperience(double experience) {
+        int low = 0;
+        int high = MAX_LEVEL - 1;
+        // Find the last level whose experience is at most the given experience
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (EXPERIENCE[mid] <= experience) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low + 1;
+    }
+
+    /**
+     * Gets the experience still needed to reach the next level.
+     *
+     * @param experience the total experience
+     * @return the experience to the next level, or 0 at {@value #MAX_LEVEL}
+     */
+    public static double experienceToNextLevel(double experience) {
+        int level = levelForExperience(experience);
+        if (level == MAX_LEVEL) {
+            return 0.0;
+        }
+        return EXPERIENCE[level] - Math.max(experience, 0.0);
+    }
+
+    /**
+     * Gets how far an amount of experience is through its current level.
+     *
+     * @param experience the total experience
+     * @return the progress from 0 to 100, or 100 at {@value #MAX_LEVEL}
+     */
+    public static double progressPercent(double experience) {
+        int level = levelForExperience(experience);
+        if (level == MAX_LEVEL) {
+            return 100.0;
+        }
+        int start = EXPERIENCE[level - 1];
+        return (Math.max(experience, 0.0) - start) * 100.0 / (EXPERIENCE[level] - start);
+    }
+}
@@ -0,0 +1,256 @@
+package com.minescape.mod.api.types.skills;
+
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Experience per hour and session totals per skill, fed by
+ * {@link GameplaySkillsExperienceData}.
+ * <p>
+ * Each skill has a fixed ring of time buckets covering the rate window, one
+ * hour split into 60 one minute buckets by default. Recording an experience
+ * drop adds it to the current bucket, and buckets older than the window are
+ * cleared as the clock moves on, so memory does not grow with the number of
+ * drops and updates and queries take constant time.
+ * <p>
+ * The rate of a skill is the experience in its window divided by the time
+ * covered: the whole window, or the time since its first drop of the session
+ * if that is shorter (but at least one bucket).
+ *
+ * <pre>{@code
+ * ExperienceTracker tracker = new ExperienceTracker();
+ * tracker.register(dispatcher);
+ *
+ * double perHour = tracker.experiencePerHour(SkillType.WOODCUTTING);
+ * long millisToLevel = tracker.timeToNextLevel(SkillType.WOODCUTTING);
+ * long millisToGoal = tracker.timeToExperience(SkillType.WOODCUTTING, 13034431.0);
+ * }</pre>
+ * <p>
+ * The methods are synchronized, so the tracker can be fed on the network thread
+ * and read from another.
+ */
+public class ExperienceTracker {
+    private static final SkillType[] SKILL_TYPES = SkillType.values();
+    private static final long NONE = Long.MIN_VALUE;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final LongSupplier clock;
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final long windowMillis;
+
+    // Bucket b of the skill with ordinal s is at index s * bucketCount + b.
+    private final double[] buckets;
+    private final double[] windowExperience = new double[SKILL_TYPES.length];
+    private final long[] lastEpochs = new long[SKILL_TYPES.length];
+    private final long[] sessionStarts = new long[SKILL_TYPES.length];
+    private final double[] sessionExperience = new double[SKILL_TYPES.length];
+    private final double[] totals = new double[SKILL_TYPES.length];
+
+    /**
+     * Creates a tracker with a one hour window of one minute buckets, using
+     * {@link System#nanoTime()} as the clock so changes to the wall clock do not
+     * move the window.
+     */
+    public ExperienceTracker() {
+        this(3_600_000L, 60, () -> System.nanoTime() / 1_000_000L);
+    }
+
+    /**
+     * Creates a tracker.
+     *
+     * @param windowMillis the length of the rate window in milliseconds
+     * @param buckets      the number of buckets the window is split into
+     * @param clock        the clock, in milliseconds
+     * @throws IllegalArgumentException if the window or bucket count is not
+     *                                  positive, or a bucket would be shorter
+     *                                  than a millisecond
+     */
+    public ExperienceTracker(long windowMillis, int buckets, LongSupplier clock) {
+        if (buckets <= 0 || windowMillis < buckets) {
+            throw new IllegalArgumentException("Invalid window of " + windowMillis + "ms in " + buckets + " buckets");
+        }
+        this.clock = clock;
+        this.bucketCount = buckets;
+        this.bucketMillis = windowMillis / buckets;
+        this.windowMillis = bucketMillis * buckets;
+        this.buckets = new double[SKILL_TYPES.length * buckets];
+        Arrays.fill(lastEpochs, NONE);
+        Arrays.fill(sessionStarts, NONE);
+    }
+
+    /**
+     * Registers a listener on a dispatcher that records each experience drop.
+     *
+     * @param dispatcher the dispatcher for the general channel
+     * @return the dispatcher
+     */
+    public ChannelDispatcher<GeneralType> register(ChannelDispatcher<GeneralType> dispatcher) {
+        return dispatcher.on(GeneralType.GAMEPLAY_SKILLS_EXPERIENCE, (GameplaySkillsExperienceData data) -> record(data));
+    }
+
+    /**
+     * Records an experience drop at the current time. Drops for a skill this API
+     * version does not know are ignored.
+     *
+     * @param data the experience drop
+     */
+    public void record(GameplaySkillsExperienceData data) {
+        if (data.skillType() != null) {
+            record(data.skillType(), data.experienceGained(), data.totalExperience());
+        }
+    }
+
+    /**
+     * Records an experience drop at the current time.
+     *
+     * @param skillType        the skill that gained experience
+     * @param experienceGained the experience gained
+     * @param totalExperience  the total experience of the skill after the drop
+     */
+    public synchronized void record(SkillType skillType, double experienceGained, double totalExperience) {
+        int skill = skillType.ordinal();
+        long now = clock.getAsLong();
+        long epoch = Math.floorDiv(now, bucketMillis);
+
+        advance(skill, epoch);
+        buckets[skill * bucketCount + (int) Math.floorMod(epoch, (long) bucketCount)] += experienceGained;
+        windowExperience[skill] += experienceGained;
+        sessionExperience[skill] += experienceGained;
+        totals[skill] = totalExperience;
+        if (sessionStarts[skill] == NONE) {
+            sessionStarts[skill] = now;
+        }
+    }
+
+    /**
+     * Gets the current experience rate of a skill.
+     *
+     * @param skillType the skill type
+     * @return the experience per hour, or 0 if the skill gained none this session
+     */
+    public synchronized double experiencePerHour(SkillType skillType) {
+        int skill = skillType.ordinal();
+        if (sessionStarts[skill] == NONE) {
+            return 0.0;
+        }
+        long now = clock.getAsLong();
+        advance(skill, Math.floorDiv(now, bucketMillis));
+
+        long span = Math.max(bucketMillis, Math.min(windowMillis, now - sessionStarts[skill]));
+        return windowExperience[skill] * MILLIS_PER_HOUR / span;
+    }
+
+    /**
+     * Gets how long a skill will take to reach an amount of total experience at
+     * its current rate.
+     *
+     * @param skillType        the skill type
+     * @param targetExperience the total experience to reach
+     * @return the time in milliseconds, 0 if already reached, or -1 if the skill
+     *         is not gaining experience
+     */
+    public synchronized long timeToExperience(SkillType skillType, double targetExperience) {
+        double remaining = targetExperience - totals[skillType.ordinal()];
+        if (remaining <= 0) {
+            return 0L;
+        }
+        double perHour = experiencePerHour(skillType);
+        if (perHour <= 0) {
+            return -1L;
+        }
+        return (long) Math.ceil(remaining / perHour * MILLIS_PER_HOUR);
+    }
+
+    /**
+     * Gets how long a skill will take to reach its next level at its current
+     * rate, using {@link ExperienceTable}.
+     *
+     * @param skillType the skill type
+     * @return the time in milliseconds, 0 at the highest level, or -1 if the
+     *         skill is not gaining experience
+     */
+    public synchronized long timeToNextLevel(SkillType skillType) {
+        int level = ExperienceTable.levelForExperience(totals[skillType.ordinal()]);
+        if (level == ExperienceTable.MAX_LEVEL) {
+            return 0L;
+        }
+        return timeToExperience(skillType, ExperienceTable.experienceForLevel(level + 1));
+    }
+
+    /**
+     * Gets the experience a skill gained this session.
+     *
+     * @param skillType the skill type
+     * @return the experience gained since the tracker was created or reset
+     */
+    public synchronized double sessionExperience(SkillType skillType) {
+        return sessionExperience[skillType.ordinal()];
+    }
+
+    /**
+     * Gets the experience all skills gained this session.
+     *
+     * @return the experience gained since the tracker was created or reset
+     */
+    public synchronized double sessionExperience() {
+        double total = 0.0;
+        for (double experience : sessionExperience) {
+            total += experience;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total experience of a skill as of its latest drop.
+     *
+     * @param skillType the skill type
+     * @return the total experience, or 0 if the skill gained none this session
+     */
+    public synchronized double totalExperience(SkillType skillType) {
+        return totals[skillType.ordinal()];
+    }
+
+    /**
+     * Starts a new session, forgetting every drop recorded so far.
+     */
+    public synchronized void reset() {
+        Arrays.fill(buckets, 0.0);
+        Arrays.fill(windowExperience, 0.0);
+        Arrays.fill(lastEpochs, NONE);
+        Arrays.fill(sessionStarts, NONE);
+        Arrays.fill(sessionExperience, 0.0);
+        Arrays.fill(totals, 0.0);
+    }
+
+    /**
+     * Moves the ring of a skill forward to a bucket, clearing the buckets that
+     * fell out of the window. Each bucket is cleared at most once per turn of the
+     * ring, so this takes constant time per call on average.
+     */
+    private void advance(int skill, long epoch) {
+        long last = lastEpochs[skill];
+        if (last != NONE && epoch <= last) {
+            return;
+        }
+        int offset = skill * bucketCount;
+        if (last == NONE || epoch - last >= bucketCount) {
+            Arrays.fill(buckets, offset, offset + bucketCount, 0.0);
+            windowExperience[skill] = 0.0;
+        } else {
+            for (long e = last + 1; e <= epoch; e++) {
+                int index = offset + (int) Math.floorMod(e, (long) bucketCount);
+                windowExperience[skill] -= buckets[index];
+                buckets[index] = 0.0;
+            }
+            // Keep rounding from the subtractions from going below zero
+            if (windowExperience[skill] < 0.0) {
+                windowExperience[skill] = 0.0;
+            }
+        }
+        lastEpochs[skill] = epoch;
+    }
+}
@@ -0,0 +1,331 @@
+package com.minescape.mod.api.types.skills;
+
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillEffectData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillsData;
+import java.util.Arrays;
+
+/**
+ * The current skills of the player, kept up to date from the skill messages of
+ * the general channel.
+ * <p>
+ * Each message is applied in constant time to arrays indexed by
+ * {@link SkillType#ordinal()}:
+ * <ul>
+ * <li>{@link LoginSkillsData} sets the base level and experience of the skills
+ * it includes.</li>
+ * <li>{@link LoginSkillEffectData} replaces every modifier, skills it does not
+ * include having no effect.</li>
+ * <li>{@link GameplaySkillsExperienceData} sets the experience of a skill, and
+ * raises its base level if the experience reached a higher level of the
+ * {@link ExperienceTable}.</li>
+ * <li>{@link GameplaySkillEffectData} sets the modifier and base level of a
+ * skill.</li>
+ * </ul>
+ * <p>
+ * The methods are synchronized, so the state can be fed on the network thread
+ * and read from another. A render thread should use {@link #snapshot()}, which
+ * only copies the arrays when something changed since the previous snapshot.
+ *
+ * <pre>{@code
+ * SkillState skills = new SkillState();
+ * skills.register(dispatcher);
+ *
+ * // On the render thread
+ * SkillState.Snapshot snapshot = skills.snapshot();
+ * int attack = snapshot.effectiveLevel(SkillType.ATTACK);
+ * }</pre>
+ */
+public class SkillState {
+    private static final SkillType[] SKILL_TYPES = SkillType.values();
+
+    private final int[] baseLevels = new int[SKILL_TYPES.length];
+    private final double[] experiences = new double[SKILL_TYPES.length];
+    private final int[] modifiers = new int[SKILL_TYPES.length];
+    // Bit n is set once the base level of the skill with ordinal n is known.
+    private long levelMask;
+    private Snapshot snapshot;
+
+    /**
+     * Creates an empty skill state.
+     */
+    public SkillState() {
+    }
+
+    /**
+     * Registers listeners on a dispatcher that apply each skill message to this
+     * state.
+     *
+     * @param dispatcher the dispatcher for the general channel
+     * @return the dispatcher
+     */
+    public ChannelDispatcher<GeneralType> register(ChannelDispatcher<GeneralType> dispatcher) {
+        return dispatcher
+                .on(GeneralType.LOGIN_SKILLS, (LoginSkillsData data) -> apply(data))
+                .on(GeneralType.LOGIN_SKILL_EFFECTS, (LoginSkillEffectData data) -> apply(data))
+                .on(GeneralType.GAMEPLAY_SKILLS_EXPERIENCE, (GameplaySkillsExperienceData data) -> apply(data))
+                .on(GeneralType.GAMEPLAY_SKILL_EFFECT, (GameplaySkillEffectData data) -> apply(data));
+    }
+
+    /**
+     * Sets the base level and experience of the skills a login message includes.
+     * Other skills keep their current values.
+     *
+     * @param data the login skills
+     */
+    public synchronized void apply(LoginSkillsData data) {
+        for (SkillType skillType : SKILL_TYPES) {
+            int index = skillType.ordinal();
+            if (data.hasLevel(skillType)) {
+                baseLevels[index] = data.levelOf(skillType);
+                levelMask |= 1L << index;
+            }
+            if (data.hasExperience(skillType)) {
+                experiences[index] = data.experienceOf(skillType);
+            }
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Replaces every modifier with those of a login message. Skills it does not
+     * include get a modifier of 0.
+     *
+     * @param data the login skill effects
+     */
+    public synchronized void apply(LoginSkillEffectData data) {
+        for (SkillType skillType : SKILL_TYPES) {
+            modifiers[skillType.ordinal()] = data.modifierOf(skillType);
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Sets the experience of a skill, raising its base level on a level up.
+     * Messages for a skill this API version does not know are ignored.
+     *
+     * @param data the experience gain
+     */
+    public synchronized void apply(GameplaySkillsExperienceData data) {
+        if (data.skillType() == null) {
+            return;
+        }
+        int index = data.skillType().ordinal();
+        experiences[index] = data.totalExperience();
+        if (hasLevel(data.skillType())) {
+            baseLevels[index] = Math.max(baseLevels[index], ExperienceTable.levelForExperience(data.totalExperience()));
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Sets the modifier and base level of a skill. Messages for a skill this API
+     * version does not know are ignored.
+     *
+     * @param data the skill effect change
+     */
+    public synchronized void apply(GameplaySkillEffectData data) {
+        if (data.skillType() == null) {
+            return;
+        }
+        int index = data.skillType().ordinal();
+        modifiers[index] = data.newModifier();
+        baseLevels[index] = data.skillLevel();
+        levelMask |= 1L << index;
+        snapshot = null;
+    }
+
+    /**
+     * Forgets every skill, for when the player disconnects.
+     */
+    public synchronized void clear() {
+        Arrays.fill(baseLevels, 0);
+        Arrays.fill(experiences, 0.0);
+        Arrays.fill(modifiers, 0);
+        levelMask = 0L;
+        snapshot = null;
+    }
+
+    /**
+     * Gets the base level of a skill, without modifiers.
+     *
+     * @param skillType the skill type
+     * @return the base level, or 0 if not known yet
+     */
+    public synchronized int baseLevel(SkillType skillType) {
+        return baseLevels[skillType.ordinal()];
+    }
+
+    /**
+     * Gets the effective level of a skill (base level + modifier).
+     *
+     * @param skillType the skill type
+     * @return the effective level
+     */
+    public synchronized int effectiveLevel(SkillType skillType) {
+        return baseLevels[skillType.ordinal()] + modifiers[skillType.ordinal()];
+    }
+
+    /**
+     * Gets the experience of a skill.
+     *
+     * @param skillType the skill type
+     * @return the total experience, or 0 if not known yet
+     */
+    public synchronized double experience(SkillType skillType) {
+        return experiences[skillType.ordinal()];
+    }
+
+    /**
+     * Gets the current modifier of a skill.
+     *
+     * @param skillType the skill type
+     * @return the modifier, or 0 if the skill has no active effect
+     */
+    public synchronized int modifier(SkillType skillType) {
+        return modifiers[skillType.ordinal()];
+    }
+
+    /**
+     * Checks whether the base level of a skill is known yet.
+     *
+     * @param skillType the skill type
+     * @return true if a message included the level, false otherwise
+     */
+    public synchronized boolean hasLevel(SkillType skillType) {
+        return (levelMask & 1L << skillType.ordinal()) != 0;
+    }
+
+    /**
+     * Gets an immutable copy of the current state. The same snapshot is
+     * returned until the state changes.
+     *
+     * @return the snapshot
+     */
+    public synchronized Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = new Snapshot(baseLevels.clone(), experiences.clone(), modifiers.clone(), levelMask);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "SkillState{" + snapshot().skillsToString() + '}';
+    }
+
+    /**
+     * Immutable copy of a {@link SkillState}, safe to share between threads.
+     */
+    public static final class Snapshot {
+        private final int[] baseLevels;
+        private final double[] experiences;
+        private final int[] modifiers;
+        private final long levelMask;
+
+        private Snapshot(int[] baseLevels, double[] experiences, int[] modifiers, long levelMask) {
+            this.baseLevels = baseLevels;
+            this.experiences = experiences;
+            this.modifiers = modifiers;
+            this.levelMask = levelMask;
+        }
+
+        /**
+         * Gets the base level of a skill, without modifiers.
+         *
+         * @param skillType the skill type
+         * @return the base level, or 0 if not known
+         */
+        public int baseLevel(SkillType skillType) {
+            return baseLevels[skillType.ordinal()];
+        }
+
+        /**
+         * Gets the effective level of a skill (base level + modifier).
+         *
+         * @param skillType the skill type
+         * @return the effective level
+         */
+        public int effectiveLevel(SkillType skillType) {
+            return baseLevels[skillType.ordinal()] + modifiers[skillType.ordinal()];
+        }
+
+        /**
+         * Gets the experience of a skill.
+         *
+         * @param skillType the skill type
+         * @return the total experience, or 0 if not known
+         */
+        public double experience(SkillType skillType) {
+            return experiences[skillType.ordinal()];
+        }
+
+        /**
+         * Gets the modifier of a skill.
+         *
+         * @param skillType the skill type
+         * @return the modifier, or 0 if the skill has no active effect
+         */
+        public int modifier(SkillType skillType) {
+            return modifiers[skillType.ordinal()];
+        }
+
+        /**
+         * Checks whether the base level of a skill was known.
+         *
+         * @param skillType the skill type
+         * @return true if a message included the level, false otherwise
+         */
+        public boolean hasLevel(SkillType skillType) {
+            return (levelMask & 1L << skillType.ordinal()) != 0;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null || getClass() != obj.getClass())
+                return false;
+            Snapshot that = (Snapshot) obj;
+            return levelMask == that.levelMask && Arrays.equals(baseLevels, that.baseLevels)
+                    && Arrays.equals(experiences, that.experiences) && Arrays.equals(modifiers, that.modifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(levelMask);
+            result = 31 * result + Arrays.hashCode(baseLevels);
+            result = 31 * result + Arrays.hashCode(experiences);
+            return 31 * result + Arrays.hashCode(modifiers);
+        }
+
+        @Override
+        public String toString() {
+            return "SkillState.Snapshot{" + skillsToString() + '}';
+        }
+
+        private String skillsToString() {
+            StringBuilder builder = new StringBuilder();
+            for (SkillType skillType : SKILL_TYPES) {
+                int index = skillType.ordinal();
+                if (!hasLevel(skillType) && experiences[index] == 0.0 && modifiers[index] == 0) {
+                    continue;
+                }
+                if (builder.length() > 0) {
+                    builder.append(", ");
+                }
+                builder.append(skillType).append('=').append(baseLevels[index]);
+                if (modifiers[index] != 0) {
+                    builder.append(modifiers[index] > 0 ? "+" : "").append(modifiers[index]);
+                }
+                builder.append(" (").append(experiences[index]).append(" XP)");
+            }
+            return builder.toString();
+        }
+    }
+}
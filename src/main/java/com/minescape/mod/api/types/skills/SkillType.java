@@ -2,6 +2,9 @@ package com.minescape.mod.api.types.skills;
 
 /**
  * Enum representing all skill types available in the game.
+ * <p>
+ * New skills are only ever added at the end, as the binary channel format
+ * sends skills by ordinal.
  */
 public enum SkillType {
     /** Attack skill */
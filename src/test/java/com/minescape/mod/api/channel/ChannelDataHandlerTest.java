@@ -1,7 +1,9 @@
 package com.minescape.mod.api.channel;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import com.minescape.mod.api.channel.general.skills.LoginSkillsData;
 import com.minescape.mod.api.channel.general.skills.LoginSkillEffectData;
 import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
@@ -20,8 +22,16 @@ import com.minescape.mod.api.channel.general.GeneralType;
 import com.minescape.mod.api.types.skills.SkillType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.UUID;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ChannelDataHandlerTest {
@@ -302,6 +312,16 @@ class ChannelDataHandlerTest {
         });
     }
 
+    @Test
+    void testGetTypeEveryGeneralType() {
+        for (GeneralType expected : GeneralType.values()) {
+            JsonObject jsonObject = JsonParser.parseString("{\"type\":\"" + expected.name() + "\",\"data\":{}}")
+                    .getAsJsonObject();
+
+            assertEquals(expected, generalHandler.getType(jsonObject));
+        }
+    }
+
     @Test
     void testGetTypeMissingTypeField() {
         String jsonString = "{\"data\":{\"skillType\":\"ATTACK\",\"level\":75,\"experience\":1210421.0}}";
@@ -1030,4 +1050,290 @@ class ChannelDataHandlerTest {
 
         assertEquals("STARTED AGILITY_OBSTACLE (1800ms)", result);
     }
+
+    @Test
+    void testStreamingReader() {
+        String jsonString = "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"123e4567-e89b-12d3-a456-426614174000\",\"style\":\"MELEE\",\"damage\":7}}";
+
+        Object result = generalHandler.getData(new StringReader(jsonString));
+
+        assertEquals(new MobDefenceData(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), "MELEE", 7), result);
+    }
+
+    @Test
+    void testStreamingMatchesJsonObject() {
+        String jsonString = "{\"type\":\"LOGIN_FARMING_PLOTS\",\"data\":{\"plots\":{"
+                + "\"CATHERBY_HERBS\":{\"patch\":\"CATHERBY_HERBS\",\"product\":\"RANARR\",\"nextGrowthMillis\":600000},"
+                + "\"FALADOR_HERBS\":{\"patch\":\"FALADOR_HERBS\",\"nextGrowthMillis\":0}}}}";
+        JsonObject jsonObject = JsonParser.parseString(jsonString).getAsJsonObject();
+
+        assertEquals(generalHandler.getData(jsonObject), generalHandler.getData(new StringReader(jsonString)));
+    }
+
+    @Test
+    void testStreamingDataBeforeType() {
+        String jsonString = "{\"data\":{\"skillType\":\"WOODCUTTING\",\"experienceGained\":25.0,\"totalExperience\":1567.5},\"type\":\"GAMEPLAY_SKILLS_EXPERIENCE\"}";
+
+        Object result = generalHandler.getData(new JsonReader(new StringReader(jsonString)));
+
+        assertEquals(new GameplaySkillsExperienceData(SkillType.WOODCUTTING, 25.0, 1567.5), result);
+    }
+
+    @Test
+    void testStreamingIgnoresUnknownFields() {
+        String jsonString = "{\"version\":2,\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"extra\":{\"a\":[1,2]},\"data\":{\"item\":\"SHARK\"}}";
+
+        assertEquals(new GameplayItemConsumedData("SHARK"), generalHandler.getData(new StringReader(jsonString)));
+    }
+
+    @Test
+    void testStreamingReadsConsecutiveMessages() {
+        String jsonString = "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}}"
+                + "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SUPER_ATTACK_4\"}}";
+        JsonReader reader = new JsonReader(new StringReader(jsonString));
+        reader.setLenient(true);
+
+        assertEquals(new GameplayItemConsumedData("SHARK"), generalHandler.getData(reader));
+        assertEquals(new GameplayItemConsumedData("SUPER_ATTACK_4"), generalHandler.getData(reader));
+    }
+
+    @Test
+    void testStreamingInvalidMessages() {
+        assertThrows(IllegalArgumentException.class,
+                () -> generalHandler.getData(new StringReader("{\"type\":\"INVALID_TYPE\",\"data\":{}}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> generalHandler.getData(new StringReader("{\"type\":\"GAMEPLAY_ITEM_CONSUMED\"}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> generalHandler.getData(new StringReader("{\"data\":{\"item\":\"SHARK\"}}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> generalHandler.getData(new StringReader("{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":\"SHARK\"}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> generalHandler.getData(new StringReader("{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",")));
+    }
+
+    @Test
+    void testMessageDecodesLazily() {
+        String jsonString = "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"not-a-uuid\"}}";
+        JsonObject jsonObject = JsonParser.parseString(jsonString).getAsJsonObject();
+
+        // Only the type is read up front, so bad data does not fail until it is decoded
+        ChannelMessage<GeneralType> message = generalHandler.getMessage(jsonObject);
+
+        assertEquals(GeneralType.MOB_ATTACK, message.type());
+        assertEquals("not-a-uuid", message.data().get("uuid").getAsString());
+        assertFalse(message.isDecoded());
+        assertThrows(IllegalArgumentException.class, message::payload);
+    }
+
+    @Test
+    void testMessageCachesPayload() {
+        String jsonString = "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"123e4567-e89b-12d3-a456-426614174000\",\"style\":\"MELEE\",\"damage\":7}}";
+        JsonObject jsonObject = JsonParser.parseString(jsonString).getAsJsonObject();
+
+        ChannelMessage<GeneralType> message = generalHandler.getMessage(jsonObject);
+        MobDefenceData defence = message.payload(MobDefenceData.class);
+
+        assertTrue(message.isDecoded());
+        assertSame(defence, message.payload());
+        assertEquals(generalHandler.getData(jsonObject), defence);
+        assertThrows(IllegalArgumentException.class, () -> message.payload(MobAttackData.class));
+    }
+
+    @Test
+    void testMessageInvalidFormat() {
+        assertThrows(IllegalArgumentException.class, () -> generalHandler
+                .getMessage(JsonParser.parseString("{\"type\":\"INVALID_TYPE\",\"data\":{}}").getAsJsonObject()));
+        assertThrows(IllegalArgumentException.class, () -> generalHandler
+                .getMessage(JsonParser.parseString("{\"type\":\"MOB_ATTACK\"}").getAsJsonObject()));
+        assertThrows(IllegalArgumentException.class, () -> generalHandler
+                .getMessage(JsonParser.parseString("{\"type\":\"MOB_ATTACK\",\"data\":7}").getAsJsonObject()));
+    }
+
+    @Test
+    void testBatchDecodesInOrder() {
+        String batch = "{\"batch\":["
+                + "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"123e4567-e89b-12d3-a456-426614174000\",\"damage\":4}},"
+                + "{\"data\":{\"item\":\"SHARK\"},\"type\":\"GAMEPLAY_ITEM_CONSUMED\"},"
+                + "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"123e4567-e89b-12d3-a456-426614174000\",\"damage\":9}}"
+                + "],\"tick\":1200}";
+
+        List<Object> expected = List.of(
+                new MobDefenceData(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), null, 4),
+                new GameplayItemConsumedData("SHARK"),
+                new MobDefenceData(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), null, 9));
+
+        assertEquals(expected, generalHandler.getBatch(new StringReader(batch)));
+        assertEquals(expected, generalHandler.getBatch(JsonParser.parseString(batch).getAsJsonObject()));
+        assertTrue(generalHandler.getBatch(new StringReader("{\"batch\":[]}")).isEmpty());
+    }
+
+    @Test
+    void testBatchAcceptsSingleMessage() {
+        String message = "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}}";
+
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK")), generalHandler.getBatch(new StringReader(message)));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK")),
+                generalHandler.getBatch(JsonParser.parseString(message).getAsJsonObject()));
+    }
+
+    @Test
+    void testBatchInvalid() {
+        String[] invalid = {
+                "{\"batch\":{}}",
+                "{\"batch\":[{\"type\":\"INVALID_TYPE\",\"data\":{}}]}",
+                "{\"batch\":[{\"type\":\"GAMEPLAY_ITEM_CONSUMED\"}]}",
+                "{\"batch\":[7]}",
+                "{\"batch\":[{\"batch\":[]}]}",
+                "{\"batch\":[],\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{}}" };
+
+        for (String batch : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> generalHandler.getBatch(new StringReader(batch)), batch);
+            assertThrows(IllegalArgumentException.class,
+                    () -> generalHandler.getBatch(JsonParser.parseString(batch).getAsJsonObject()), batch);
+        }
+
+        // A batch is not a single message
+        assertThrows(IllegalArgumentException.class, () -> generalHandler.getData(new StringReader("{\"batch\":[]}")));
+    }
+
+    @Test
+    void testBuilderUsesGivenGson() {
+        Gson gson = ChannelDataHandler.newGsonBuilder().serializeNulls().create();
+        ChannelDataHandler<GeneralType> handler = ChannelDataHandler.builder(Channels.GENERAL, GeneralType.class)
+                .gson(gson)
+                .build();
+
+        assertSame(gson, handler.getGson());
+        assertEquals(new MobDefenceData(UUID.fromString("f47ac10b-58cc-4372-a567-0e02b2c3d479"), "MELEE", 5),
+                handler.getData(new StringReader("{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":"
+                        + "\"f47ac10b-58cc-4372-a567-0e02b2c3d479\",\"style\":\"MELEE\",\"damage\":5}}")));
+        assertThrows(NullPointerException.class,
+                () -> ChannelDataHandler.builder(Channels.GENERAL, GeneralType.class).gson(null));
+    }
+
+    @Test
+    void testConcurrentDecoding() throws Exception {
+        String[] messages = {
+                "{\"type\":\"GAMEPLAY_SKILLS_EXPERIENCE\",\"data\":{\"skill\":\"MINING\",\"experience\":35.0,\"totalExperience\":1200.5}}",
+                "{\"type\":\"LOGIN_SKILLS\",\"data\":{\"levels\":{\"ATTACK\":75,\"DEFENCE\":60},\"experiences\":{\"ATTACK\":1210421.0}}}",
+                "{\"type\":\"PLAYER_ACTION\",\"data\":{\"uuid\":\"a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d\",\"action\":\"MINING\",\"state\":\"STARTED\",\"durationMillis\":2400}}",
+                "{\"type\":\"LOGIN_FARMING_PLOTS\",\"data\":{\"plots\":{\"CATHERBY_HERBS\":{\"patch\":\"CATHERBY_HERBS\",\"product\":\"RANARR\",\"nextGrowthMillis\":600000}}}}",
+                "{\"batch\":[{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"f47ac10b-58cc-4372-a567-0e02b2c3d479\",\"style\":\"MAGIC\"}},"
+                        + "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}}]}" };
+        Object[] expected = new Object[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            expected[i] = generalHandler.getBatch(new StringReader(messages[i]));
+        }
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int decoded = 0;
+                    for (int i = 0; i < 5_000; i++) {
+                        int index = (i + offset) % messages.length;
+                        Object data = i % 2 == 0
+                                ? generalHandler.getBatch(new StringReader(messages[index]))
+                                : generalHandler.getBatch(JsonParser.parseString(messages[index]).getAsJsonObject());
+                        assertEquals(expected[index], data);
+                        decoded++;
+                    }
+                    return decoded;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(5_000, (int) result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDecodeReportsFailuresWithoutThrowing() {
+        String item = "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}}";
+        String unknown = "{\"type\":\"FROM_A_NEWER_SERVER\",\"data\":{\"nested\":[1,2]}}";
+        String invalid = "{\"type\":\"PLAYER_TARGET\",\"data\":{\"currentHp\":\"lots\"}}";
+        String malformed = "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\"}";
+
+        for (boolean streamed : new boolean[] { false, true }) {
+            DecodeResult<GeneralType> success = decode(item, streamed);
+            assertTrue(success.isSuccess());
+            assertEquals(GeneralType.GAMEPLAY_ITEM_CONSUMED, success.type());
+            assertEquals(new GameplayItemConsumedData("SHARK"), success.data());
+
+            DecodeResult<GeneralType> skipped = decode(unknown, streamed);
+            assertFalse(skipped.isSuccess());
+            assertEquals(DecodeError.UNKNOWN_TYPE, skipped.error());
+            assertEquals("FROM_A_NEWER_SERVER", skipped.typeName());
+            assertNull(skipped.type());
+
+            DecodeResult<GeneralType> failed = decode(invalid, streamed);
+            assertEquals(DecodeError.INVALID_DATA, failed.error());
+            assertEquals(GeneralType.PLAYER_TARGET, failed.type());
+            assertNotNull(failed.message());
+
+            assertEquals(DecodeError.MALFORMED, decode(malformed, streamed).error());
+        }
+        assertEquals(DecodeError.MALFORMED, generalHandler.decode(new StringReader("{\"type\":")).error());
+        assertEquals(2, generalHandler.getUnknownTypeCount());
+    }
+
+    private DecodeResult<GeneralType> decode(String json, boolean streamed) {
+        return streamed ? generalHandler.decode(new StringReader(json))
+                : generalHandler.decode(JsonParser.parseString(json).getAsJsonObject());
+    }
+
+    @Test
+    void testDecodeExceptionsAreNotWrapped() {
+        ChannelDecodeException unknown = assertThrows(ChannelDecodeException.class, () -> generalHandler
+                .getData(JsonParser.parseString("{\"type\":\"INVALID_TYPE\",\"data\":{}}").getAsJsonObject()));
+        assertEquals(DecodeError.UNKNOWN_TYPE, unknown.error());
+        assertNull(unknown.getCause());
+        assertEquals(0, unknown.getStackTrace().length);
+        assertEquals("Unknown type: INVALID_TYPE for channel: " + Channels.GENERAL, unknown.getMessage());
+
+        ChannelDecodeException invalid = assertThrows(ChannelDecodeException.class, () -> generalHandler
+                .getData(new StringReader("{\"type\":\"PLAYER_TARGET\",\"data\":{\"currentHp\":\"lots\"}}")));
+        assertEquals(DecodeError.INVALID_DATA, invalid.error());
+        assertFalse(invalid.getCause() instanceof ChannelDecodeException);
+        assertTrue(invalid.getCause().getStackTrace().length > 0);
+    }
+
+    @Test
+    void testSkipUnknownTypes() {
+        ChannelDataHandler<GeneralType> handler = ChannelDataHandler.builder(Channels.GENERAL, GeneralType.class)
+                .skipUnknownTypes()
+                .build();
+        String unknown = "{\"type\":\"FROM_A_NEWER_SERVER\",\"data\":{\"nested\":{\"deep\":true}}}";
+        String item = "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}}";
+        String batch = "{\"batch\":[" + unknown + "," + item + "," + unknown + "]}";
+
+        assertNull(handler.getData(new StringReader(unknown)));
+        assertNull(handler.getData(JsonParser.parseString(unknown).getAsJsonObject()));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK")), handler.getBatch(new StringReader(batch)));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK")),
+                handler.getBatch(JsonParser.parseString(batch).getAsJsonObject()));
+        assertEquals(DecodeError.UNKNOWN_TYPE, handler.decode(new StringReader(unknown)).error());
+        assertEquals("FROM_A_NEWER_SERVER", handler.decode(new StringReader(unknown)).typeName());
+
+        List<Object> received = new ArrayList<>();
+        ChannelDispatcher<GeneralType> dispatcher = new ChannelDispatcher<>(handler)
+                .on(GeneralType.GAMEPLAY_ITEM_CONSUMED, received::add);
+        assertEquals(1, dispatcher.dispatchBatch(new StringReader(batch)));
+        assertFalse(dispatcher.dispatch(JsonParser.parseString(unknown).getAsJsonObject()));
+        assertEquals(1, received.size());
+
+        // Malformed messages and explicit type lookups still fail
+        assertThrows(ChannelDecodeException.class, () -> handler.getData(new StringReader("{\"type\":\"X\"}")));
+        assertThrows(ChannelDecodeException.class,
+                () -> handler.getType(JsonParser.parseString(unknown).getAsJsonObject()));
+        assertEquals(13, handler.getUnknownTypeCount());
+    }
 }
@@ -0,0 +1,138 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.JsonParser;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.item.GameplayItemConsumedData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelDispatcherTest {
+
+    private static final UUID MOB = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final String MOB_ATTACK = "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + MOB + "\",\"style\":\"MELEE\"}}";
+    private static final String MOB_DEFENCE = "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + MOB + "\",\"style\":\"MAGIC\",\"damage\":3}}";
+
+    private ChannelDispatcher<GeneralType> dispatcher;
+    private List<Object> received;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ChannelDispatcher<>(new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class));
+        received = new ArrayList<>();
+    }
+
+    @Test
+    void testDispatchesTypedData() {
+        dispatcher.on(GeneralType.MOB_ATTACK, (MobAttackData attack) -> received.add(attack.style()))
+                .on(GeneralType.MOB_DEFENCE, (MobDefenceData defence) -> received.add(defence.damage()));
+
+        assertTrue(dispatcher.dispatch(new StringReader(MOB_ATTACK)));
+        assertTrue(dispatcher.dispatch(JsonParser.parseString(MOB_DEFENCE).getAsJsonObject()));
+
+        assertEquals(List.of("MELEE", 3), received);
+    }
+
+    @Test
+    void testListenersCalledInRegistrationOrder() {
+        dispatcher.on(GeneralType.MOB_ATTACK, (MobAttackData attack) -> received.add("first"))
+                .on(GeneralType.MOB_ATTACK, (MobAttackData attack) -> received.add("second"));
+
+        dispatcher.dispatch(new StringReader(MOB_ATTACK));
+
+        assertEquals(List.of("first", "second"), received);
+    }
+
+    @Test
+    void testSkipsTypesWithoutListeners() {
+        dispatcher.on(GeneralType.MOB_DEFENCE, (MobDefenceData defence) -> received.add(defence));
+
+        // The data is not a valid MobAttackData, so this only succeeds if it is never decoded
+        String badAttack = "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"not-a-uuid\"}}";
+        assertFalse(dispatcher.dispatch(new StringReader(badAttack)));
+        assertFalse(dispatcher.dispatch(JsonParser.parseString(badAttack).getAsJsonObject()));
+        assertTrue(received.isEmpty());
+
+        assertFalse(dispatcher.hasListeners(GeneralType.MOB_ATTACK));
+        assertTrue(dispatcher.hasListeners(GeneralType.MOB_DEFENCE));
+    }
+
+    @Test
+    void testDataBeforeType() {
+        dispatcher.on(GeneralType.GAMEPLAY_ITEM_CONSUMED, (GameplayItemConsumedData item) -> received.add(item.item()));
+
+        assertTrue(dispatcher.dispatch(new StringReader("{\"data\":{\"item\":\"SHARK\"},\"type\":\"GAMEPLAY_ITEM_CONSUMED\"}")));
+        assertFalse(dispatcher.dispatch(new StringReader("{\"data\":{\"uuid\":\"not-a-uuid\"},\"type\":\"MOB_ATTACK\"}")));
+
+        assertEquals(List.of("SHARK"), received);
+    }
+
+    @Test
+    void testRemove() {
+        ChannelDispatcher.Listener<MobAttackData> first = attack -> received.add("first");
+        ChannelDispatcher.Listener<MobAttackData> second = attack -> received.add("second");
+        dispatcher.on(GeneralType.MOB_ATTACK, first).on(GeneralType.MOB_ATTACK, second);
+
+        assertTrue(dispatcher.remove(GeneralType.MOB_ATTACK, first));
+        assertFalse(dispatcher.remove(GeneralType.MOB_ATTACK, first));
+        dispatcher.dispatch(new StringReader(MOB_ATTACK));
+        assertEquals(List.of("second"), received);
+
+        assertTrue(dispatcher.remove(GeneralType.MOB_ATTACK, second));
+        assertFalse(dispatcher.hasListeners(GeneralType.MOB_ATTACK));
+        assertFalse(dispatcher.dispatch(new StringReader(MOB_ATTACK)));
+    }
+
+    @Test
+    void testListenerExceptionsAreNotWrapped() {
+        IllegalStateException failure = new IllegalStateException("listener failed");
+        dispatcher.on(GeneralType.MOB_ATTACK, (MobAttackData attack) -> {
+            throw failure;
+        });
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(new StringReader(MOB_ATTACK))));
+    }
+
+    @Test
+    void testInvalidMessages() {
+        assertThrows(IllegalArgumentException.class,
+                () -> dispatcher.dispatch(new StringReader("{\"type\":\"INVALID_TYPE\",\"data\":{}}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> dispatcher.dispatch(new StringReader("{\"type\":\"MOB_ATTACK\"}")));
+    }
+
+    @Test
+    void testDispatchBatchInOrder() {
+        dispatcher.on(GeneralType.MOB_ATTACK, (MobAttackData attack) -> received.add(attack.style()))
+                .on(GeneralType.MOB_DEFENCE, (MobDefenceData defence) -> received.add(defence.damage()));
+        String batch = "{\"batch\":[" + MOB_DEFENCE + ",{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}},"
+                + MOB_ATTACK + "," + MOB_DEFENCE + "]}";
+
+        assertEquals(3, dispatcher.dispatchBatch(new StringReader(batch)));
+        assertEquals(3, dispatcher.dispatchBatch(JsonParser.parseString(batch).getAsJsonObject()));
+        assertEquals(1, dispatcher.dispatchBatch(new StringReader(MOB_ATTACK)));
+
+        assertEquals(List.of(3, "MELEE", 3, 3, "MELEE", 3, "MELEE"), received);
+    }
+
+    @Test
+    void testDispatchBatchStopsAtInvalidMessage() {
+        dispatcher.on(GeneralType.MOB_ATTACK, (MobAttackData attack) -> received.add(attack.style()));
+        String batch = "{\"batch\":[" + MOB_ATTACK + ",{\"type\":\"INVALID_TYPE\",\"data\":{}}," + MOB_ATTACK + "]}";
+
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.dispatchBatch(new StringReader(batch)));
+        assertThrows(IllegalArgumentException.class,
+                () -> dispatcher.dispatchBatch(JsonParser.parseString(batch).getAsJsonObject()));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.dispatchBatch(new StringReader("{\"batch\":[7]}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> dispatcher.dispatchBatch(JsonParser.parseString("{\"batch\":[7]}").getAsJsonObject()));
+
+        assertEquals(List.of("MELEE", "MELEE"), received);
+    }
+}
@@ -0,0 +1,97 @@
+package com.minescape.mod.api.channel;
+
+import com.google.gson.JsonParser;
+import com.minescape.mod.api.channel.general.GeneralType;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelMetricsTest {
+
+    private static final String ITEM = "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}}";
+    private static final String ATTACK = "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":"
+            + "\"f47ac10b-58cc-4372-a567-0e02b2c3d479\",\"style\":\"MELEE\"}}";
+
+    private final ChannelMetrics<GeneralType> metrics = new ChannelMetrics<>(GeneralType.class);
+    private final ChannelDataHandler<GeneralType> handler = ChannelDataHandler
+            .builder(Channels.GENERAL, GeneralType.class)
+            .metrics(metrics)
+            .build();
+
+    @Test
+    void testHandlerRecordsCountsSizesAndFailures() {
+        handler.getData(new StringReader(ITEM));
+        handler.getData(JsonParser.parseString(ITEM).getAsJsonObject());
+        handler.getBatch(new StringReader("{\"batch\":[" + ITEM + "," + ATTACK + "]}"));
+        assertThrows(IllegalArgumentException.class, () -> handler.getData(new StringReader(
+                "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"not-a-uuid\"}}")));
+        assertThrows(IllegalArgumentException.class, () -> handler.getData(new StringReader(
+                "{\"type\":\"NOT_A_TYPE\",\"data\":{}}")));
+
+        ChannelMetrics.Snapshot items = metrics.snapshot(GeneralType.GAMEPLAY_ITEM_CONSUMED);
+        assertEquals(3, items.messages());
+        int batchLength = ITEM.length() + ATTACK.length() + "{\"batch\":[,]}".length();
+        assertEquals(ITEM.length() + batchLength - batchLength / 2, items.bytes());
+        assertEquals(0, items.failures());
+        assertTrue(items.maxNanos() > 0);
+        assertTrue(items.percentileNanos(50.0) <= items.percentileNanos(100.0));
+        assertEquals(items.maxNanos(), items.percentileNanos(100.0));
+
+        ChannelMetrics.Snapshot attacks = metrics.snapshot(GeneralType.MOB_ATTACK);
+        assertEquals(1, attacks.messages());
+        assertEquals(1, attacks.failures());
+        assertEquals(1, metrics.unknownTypeCount());
+        assertEquals(0, metrics.snapshot().get(GeneralType.LOGIN_SKILLS).messages());
+        assertEquals(0, metrics.snapshot(GeneralType.LOGIN_SKILLS).percentileNanos(99.0));
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot(GeneralType.GAMEPLAY_ITEM_CONSUMED).messages());
+    }
+
+    @Test
+    void testHistogramBucketsStayWithinAnEighth() {
+        for (long value = 0; value < 1_000_000L; value = value * 5 / 4 + 1) {
+            int bucket = ChannelMetrics.bucketOf(value);
+            long upper = ChannelMetrics.bucketUpperBound(bucket);
+            assertTrue(value <= upper, "value " + value);
+            assertTrue(upper - value <= value / 8, "value " + value);
+            assertEquals(bucket + 1, ChannelMetrics.bucketOf(upper + 1));
+        }
+
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordDecode(GeneralType.MOB_DEFENCE, i * 1_000L);
+        }
+        ChannelMetrics.Snapshot snapshot = metrics.snapshot(GeneralType.MOB_DEFENCE);
+        assertEquals(50_500.0, snapshot.meanNanos(), 1e-9);
+        assertEquals(100_000L, snapshot.maxNanos());
+        long median = snapshot.percentileNanos(50.0);
+        assertTrue(median >= 50_000L && median <= 50_000L * 9 / 8, "median " + median);
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentileNanos(101.0));
+    }
+
+    @Test
+    void testRegistersMXBean() throws Exception {
+        handler.getData(new StringReader(ATTACK));
+        ObjectName name = metrics.registerMBean("general-test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "MessageCount"));
+            assertNotNull(server.getAttribute(name, "P99DecodeNanos"));
+            assertThrows(IllegalStateException.class, () -> metrics.registerMBean("general-test"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    void testPipelineRecordsPayloadSizes() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler).executor(Runnable::run).build();
+        pipeline.submit(ATTACK);
+
+        assertEquals(ATTACK.length(), metrics.snapshot(GeneralType.MOB_ATTACK).bytes());
+        assertNull(new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class).getMetrics());
+    }
+}
@@ -0,0 +1,222 @@
+package com.minescape.mod.api.channel;
+
+import com.minescape.mod.api.channel.general.GeneralFlyweights;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.item.GameplayItemConsumedData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import com.minescape.mod.api.channel.general.mob.MutableMobAttackData;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelPipelineTest {
+
+    private final ChannelDataHandler<GeneralType> handler = new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class);
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Object> received = new ArrayList<>();
+
+    private static String item(String item) {
+        return "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"" + item + "\"}}";
+    }
+
+    private static String attack(long id) {
+        return "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + new UUID(0L, id) + "\",\"style\":\"MELEE\"}}";
+    }
+
+    @Test
+    void testDeliversInSubmitOrder() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler).executor(tasks::add).build();
+        pipeline.submit(item("SHARK"));
+        pipeline.submit("{\"batch\":[" + item("LOBSTER") + "," + attack(1) + "]}");
+        pipeline.submit(item("TUNA"));
+
+        // The second payload is decoded last, and holds back the third until then
+        tasks.get(0).run();
+        tasks.get(2).run();
+        assertEquals(1, pipeline.drain((type, data) -> received.add(data)));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK")), received);
+
+        tasks.get(1).run();
+        assertEquals(3, pipeline.drain((type, data) -> received.add(data)));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK"), new GameplayItemConsumedData("LOBSTER"),
+                new MobAttackData(new UUID(0L, 1L), "MELEE"), new GameplayItemConsumedData("TUNA")), received);
+        assertEquals(0, pipeline.size());
+    }
+
+    @Test
+    void testDropsOldestMobBroadcastsOnly() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler)
+                .executor(Runnable::run)
+                .capacity(3)
+                .build();
+        pipeline.submit(attack(1));
+        pipeline.submit(item("SHARK"));
+        pipeline.submit(attack(2));
+        pipeline.submit(attack(3));
+        pipeline.submit(item("LOBSTER"));
+        pipeline.submit(item("TUNA"));
+        pipeline.submit(item("KARAMBWAN"));
+
+        assertEquals(4, pipeline.size());
+        assertEquals(3, pipeline.droppedCount());
+        pipeline.drain((type, data) -> received.add(data));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK"), new GameplayItemConsumedData("LOBSTER"),
+                new GameplayItemConsumedData("TUNA"), new GameplayItemConsumedData("KARAMBWAN")), received);
+    }
+
+    @Test
+    void testBackPressureIsConfigurable() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler)
+                .executor(Runnable::run)
+                .capacity(1)
+                .backPressure(GeneralType.MOB_ATTACK, ChannelPipeline.BackPressure.NEVER_DROP)
+                .backPressure(GeneralType.GAMEPLAY_ITEM_CONSUMED, ChannelPipeline.BackPressure.DROP_OLDEST)
+                .build();
+        pipeline.submit(item("SHARK"));
+        pipeline.submit(attack(1));
+        pipeline.submit(attack(2));
+
+        assertEquals(2, pipeline.drain((type, data) -> received.add(type)));
+        assertEquals(List.of(GeneralType.MOB_ATTACK, GeneralType.MOB_ATTACK), received);
+    }
+
+    @Test
+    void testRejectsOnlyDroppablePayloadsOverTheLimit() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler)
+                .executor(Runnable::run)
+                .limit(2)
+                .build();
+        pipeline.submit(attack(1));
+        pipeline.submit(item("SHARK"));
+        // Room is made by dropping the oldest mob broadcast, until none are left
+        pipeline.submit(attack(2));
+        pipeline.submit(item("TUNA"));
+        pipeline.submit(item("LOBSTER"));
+        pipeline.submit(attack(3));
+
+        assertEquals(2, pipeline.droppedCount());
+        assertEquals(1, pipeline.rejectedCount());
+        assertEquals(3, pipeline.drain((type, data) -> received.add(data)));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK"), new GameplayItemConsumedData("TUNA"),
+                new GameplayItemConsumedData("LOBSTER")), received);
+
+        // Payloads still being decoded count towards the limit, and are not rejected until decoded
+        ChannelPipeline<GeneralType> pending = ChannelPipeline.builder(handler)
+                .executor(tasks::add)
+                .limit(1)
+                .build();
+        pending.submit(item("SHARK"));
+        pending.submit(attack(1));
+        pending.submit(item("TUNA"));
+        tasks.forEach(Runnable::run);
+        assertEquals(1, pending.rejectedCount());
+        assertEquals(2, pending.size());
+        assertThrows(IllegalArgumentException.class, () -> ChannelPipeline.builder(handler).limit(0));
+    }
+
+    @Test
+    void testSubmitDropsABoundedNumberOfMessages() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler)
+                .executor(Runnable::run)
+                .limit(1)
+                .build();
+        StringBuilder batch = new StringBuilder("{\"batch\":[");
+        for (long i = 0; i < 20; i++) {
+            batch.append(i == 0 ? "" : ",").append(attack(i));
+        }
+        pipeline.submit(batch.append("]}").toString());
+        pipeline.submit(item("SHARK"));
+
+        assertEquals(16, pipeline.droppedCount());
+        assertEquals(0, pipeline.rejectedCount());
+        assertEquals(5, pipeline.size());
+    }
+
+    @Test
+    void testListenerFailureLeavesTheRestWaiting() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler).executor(Runnable::run).build();
+        pipeline.submit("{\"batch\":[" + item("SHARK") + "," + item("LOBSTER") + "]}");
+        pipeline.submit(item("TUNA"));
+
+        assertThrows(IllegalStateException.class, () -> pipeline.drain((type, data) -> {
+            throw new IllegalStateException("listener failed");
+        }));
+        assertEquals(2, pipeline.size());
+
+        assertEquals(2, pipeline.drain((type, data) -> received.add(data)));
+        assertEquals(List.of(new GameplayItemConsumedData("LOBSTER"), new GameplayItemConsumedData("TUNA")), received);
+        assertEquals(0, pipeline.size());
+    }
+
+    @Test
+    void testDrainUsesTheDispatchersDecoders() {
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler).executor(Runnable::run).build();
+        ChannelDispatcher<GeneralType> dispatcher = GeneralFlyweights.install(new ChannelDispatcher<>(handler))
+                .on(GeneralType.MOB_ATTACK, (MutableMobAttackData attack) -> received.add(attack.toImmutable()))
+                .on(GeneralType.GAMEPLAY_ITEM_CONSUMED, received::add);
+        pipeline.submit(attack(1));
+        pipeline.submit(item("SHARK"));
+        pipeline.submit(attack(2));
+
+        assertEquals(3, pipeline.drain(dispatcher));
+        assertEquals(List.of(new MobAttackData(new UUID(0L, 1L), "MELEE"), new GameplayItemConsumedData("SHARK"),
+                new MobAttackData(new UUID(0L, 2L), "MELEE")), received);
+    }
+
+    @Test
+    void testFailuresReachErrorHandlerInOrder() {
+        List<RuntimeException> errors = new ArrayList<>();
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler)
+                .executor(Runnable::run)
+                .onError(error -> {
+                    errors.add(error);
+                    received.add("error");
+                })
+                .build();
+        pipeline.submit(item("SHARK"));
+        pipeline.submit("{\"type\":\"NOT_A_TYPE\",\"data\":{}}");
+        pipeline.submit(item("TUNA"));
+
+        assertEquals(2, pipeline.drain((type, data) -> received.add(data)));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK"), "error", new GameplayItemConsumedData("TUNA")),
+                received);
+        assertTrue(errors.get(0) instanceof IllegalArgumentException);
+        assertEquals(1, pipeline.failedCount());
+
+        pipeline.close();
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(item("SHARK")));
+        assertThrows(IllegalArgumentException.class, () -> ChannelPipeline.builder(handler).capacity(0));
+    }
+
+    @Test
+    void testOrderedUnderConcurrentDecoding() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        ChannelPipeline<GeneralType> pipeline = ChannelPipeline.builder(handler).executor(workers).build();
+        List<Long> ids = new ArrayList<>();
+        ChannelDispatcher<GeneralType> dispatcher = new ChannelDispatcher<>(handler)
+                .on(GeneralType.MOB_ATTACK, (MobAttackData data) -> ids.add(data.uuid().getLeastSignificantBits()));
+        try {
+            for (long i = 0; i < 2_000; i++) {
+                pipeline.submit(attack(i));
+                if (i % 100 == 0) {
+                    pipeline.drain(dispatcher);
+                }
+            }
+            workers.shutdown();
+            assertTrue(workers.awaitTermination(30, TimeUnit.SECONDS));
+            pipeline.drain(dispatcher);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        assertEquals(2_000, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, ids.get(i).longValue());
+        }
+    }
+}
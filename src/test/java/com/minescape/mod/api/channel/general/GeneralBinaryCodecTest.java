@@ -0,0 +1,255 @@
+package com.minescape.mod.api.channel.general;
+
+import com.minescape.mod.api.channel.ChannelDataHandler;
+import com.minescape.mod.api.channel.ChannelDecodeException;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.ChannelFormat;
+import com.minescape.mod.api.channel.Channels;
+import com.minescape.mod.api.channel.DecodeError;
+import com.minescape.mod.api.channel.general.action.GameplayActionData;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.farming.FarmingPlotData;
+import com.minescape.mod.api.channel.general.farming.GameplayFarmingPlantedData;
+import com.minescape.mod.api.channel.general.farming.LoginFarmingPlotsData;
+import com.minescape.mod.api.channel.general.item.GameplayItemConsumedData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillEffectData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillsData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetDeathData;
+import com.minescape.mod.api.types.skills.SkillType;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneralBinaryCodecTest {
+
+    private static final UUID MOB = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID PLAYER = UUID.fromString("a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d");
+
+    private static final List<Object> VALUES = List.of(
+            new LoginSkillsData(Map.of(SkillType.ATTACK, 75, SkillType.SLAYER, 99),
+                    Map.of(SkillType.ATTACK, 1210421.0, SkillType.SLAYER, 13034431.5)),
+            new LoginSkillEffectData(Map.of(SkillType.ATTACK, 3, SkillType.STRENGTH, -2)),
+            new GameplaySkillsExperienceData(SkillType.WOODCUTTING, 25.0, 1567.5),
+            new GameplaySkillsExperienceData(null, 0.0, 0.0),
+            new GameplaySkillEffectData(SkillType.HITPOINTS, 5, -2, 99),
+            new PlayerTargetData(MOB, PLAYER, 40, 100),
+            new PlayerTargetData(MOB, 0, 100),
+            new PlayerTargetDeathData(MOB),
+            new GameplayItemConsumedData("SHARK"),
+            new GameplayItemConsumedData("\u00dcn\u00efc\u00f8d\u00e9 \u2713"),
+            new GameplayFarmingPlantedData("CATHERBY_HERBS", new FarmingPlotData("CATHERBY_HERBS", "RANARR", 600000L)),
+            new GameplayFarmingPlantedData("CATHERBY_HERBS"),
+            new LoginFarmingPlotsData(Map.of("CATHERBY_HERBS", new FarmingPlotData("CATHERBY_HERBS", "RANARR", 600000L),
+                    "FALADOR_HERBS", new FarmingPlotData("FALADOR_HERBS", null, 0L))),
+            new MobAttackData(MOB, "MELEE"),
+            new MobAttackData(null),
+            new MobDefenceData(MOB, "RANGED", 7),
+            new GameplayActionData("MINING", GameplayActionData.STATE_STARTED, 3000L),
+            new PlayerActionData(PLAYER, "COOKING", GameplayActionData.STATE_FINISHED, Long.MAX_VALUE));
+
+    private final GeneralBinaryCodec writer = new GeneralBinaryCodec();
+    private final GeneralBinaryCodec reader = new GeneralBinaryCodec();
+
+    private ByteBuffer writeAll(List<Object> values, ByteBuffer out) {
+        for (Object value : values) {
+            writer.write(out, value);
+        }
+        return out.flip();
+    }
+
+    @Test
+    void testRoundTripEveryType() {
+        ByteBuffer buffer = writeAll(VALUES, ByteBuffer.allocate(4096));
+
+        List<Object> read = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            read.add(reader.read(buffer));
+        }
+        assertEquals(VALUES, read);
+    }
+
+    @Test
+    void testDirectAndLittleEndianBuffers() {
+        ByteBuffer direct = writeAll(VALUES, ByteBuffer.allocateDirect(4096).order(ByteOrder.LITTLE_ENDIAN));
+        byte[] bytes = new byte[direct.remaining()];
+        direct.duplicate().get(bytes);
+
+        // The byte order of the buffer does not change the encoding
+        GeneralBinaryCodec heapWriter = new GeneralBinaryCodec();
+        ByteBuffer heap = ByteBuffer.allocate(4096);
+        for (Object value : VALUES) {
+            heapWriter.write(heap, value);
+        }
+        assertEquals(ByteBuffer.wrap(bytes), heap.flip());
+
+        for (Object value : VALUES) {
+            assertEquals(value, reader.read(direct));
+        }
+        assertFalse(direct.hasRemaining());
+    }
+
+    @Test
+    void testStringTableShrinksRepeatedMessages() {
+        MobDefenceData defence = new MobDefenceData(MOB, "MAGIC", 12);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        writer.write(buffer, defence);
+        int first = buffer.position();
+        writer.write(buffer, defence);
+        int second = buffer.position() - first;
+
+        // Type, no new strings, body length, UUID, the style's table index and the damage
+        assertEquals(1 + 1 + 1 + 17 + 1 + 1, second);
+        assertTrue(second < first);
+
+        buffer.flip();
+        assertEquals(defence, reader.read(buffer));
+        assertEquals(defence, reader.read(buffer));
+
+        String json = "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + MOB + "\",\"style\":\"MAGIC\",\"damage\":12}}";
+        assertTrue(second * 4 < json.length());
+    }
+
+    @Test
+    void testOverflowLeavesTablesInStep() {
+        ByteBuffer small = ByteBuffer.allocate(20);
+        PlayerActionData action = new PlayerActionData(PLAYER, "FISHING_HARPOON", GameplayActionData.STATE_STARTED, 1800L);
+
+        assertThrows(BufferOverflowException.class, () -> writer.write(small, action));
+        assertEquals(0, small.position());
+
+        ByteBuffer buffer = writeAll(List.of(action, action), ByteBuffer.allocate(256));
+        assertEquals(action, reader.read(buffer));
+        assertEquals(action, reader.read(buffer));
+    }
+
+    @Test
+    void testReset() {
+        MobAttackData attack = new MobAttackData(MOB, "MELEE");
+        writeAll(List.of(attack), ByteBuffer.allocate(64));
+
+        writer.reset();
+        ByteBuffer buffer = writeAll(List.of(attack), ByteBuffer.allocate(64));
+        assertEquals(attack, new GeneralBinaryCodec().read(buffer));
+    }
+
+    @Test
+    void testSkipsUnknownSkillOrdinals() {
+        // LOGIN_SKILL_EFFECTS with modifiers {ATTACK: 3, <ordinal 100>: 5}
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { (byte) GeneralType.LOGIN_SKILL_EFFECTS.ordinal(), 0, 5,
+                2, 0, 6, 100, 10 });
+
+        assertEquals(new LoginSkillEffectData(Map.of(SkillType.ATTACK, 3)), reader.read(buffer));
+    }
+
+    @Test
+    void testSkipsUnknownTypes() {
+        ByteBuffer buffer = writeAll(List.of(new MobAttackData(MOB, "SPECTRAL"), new MobAttackData(PLAYER, "SPECTRAL"),
+                new MobDefenceData(MOB, "SPECTRAL", 4)), ByteBuffer.allocate(256));
+        // Turn the first message, which adds "SPECTRAL" to the table, into one of a type from a newer version
+        buffer.put(0, (byte) 100);
+
+        GeneralBinaryCodec skipping = new GeneralBinaryCodec();
+        ChannelDispatcher<GeneralType> dispatcher = new ChannelDispatcher<>(
+                new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class));
+        List<Object> received = new ArrayList<>();
+        dispatcher.on(GeneralType.MOB_ATTACK, received::add).on(GeneralType.MOB_DEFENCE, received::add);
+
+        assertEquals(2, skipping.dispatch(buffer.duplicate(), dispatcher));
+        assertEquals(List.of(new MobAttackData(PLAYER, "SPECTRAL"), new MobDefenceData(MOB, "SPECTRAL", 4)), received);
+
+        ChannelDecodeException e = assertThrows(ChannelDecodeException.class, () -> reader.read(buffer));
+        assertEquals(DecodeError.UNKNOWN_TYPE, e.error());
+        assertEquals(new MobAttackData(PLAYER, "SPECTRAL"), reader.read(buffer));
+    }
+
+    @Test
+    void testDispatchSkipsTypesWithoutListeners() {
+        ChannelDispatcher<GeneralType> dispatcher = new ChannelDispatcher<>(
+                new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class));
+        List<Object> received = new ArrayList<>();
+        dispatcher.on(GeneralType.PLAYER_TARGET_DEATH, received::add);
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {
+                // A MOB_ATTACK body that would fail to decode, then a PLAYER_TARGET_DEATH
+                (byte) GeneralType.MOB_ATTACK.ordinal(), 0, 1, 2,
+                (byte) GeneralType.PLAYER_TARGET_DEATH.ordinal(), 0, 1, 0 });
+
+        assertEquals(1, reader.dispatch(buffer, dispatcher));
+        assertEquals(List.of(new PlayerTargetDeathData(null)), received);
+    }
+
+    @Test
+    void testIgnoresTrailingFields() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {
+                // MOB_DEFENCE without a UUID or style, 12 damage, then two fields from a newer version
+                (byte) GeneralType.MOB_DEFENCE.ordinal(), 0, 5, 0, 0, 24, 7, 7,
+                (byte) GeneralType.PLAYER_TARGET_DEATH.ordinal(), 0, 1, 0 });
+
+        assertEquals(new MobDefenceData(null, null, 12), reader.read(buffer));
+        assertEquals(new PlayerTargetDeathData(null), reader.read(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testMalformedInput() {
+        byte[][] malformed = {
+                {},
+                { 100 },
+                { 100, 0, 1 },
+                { (byte) GeneralType.MOB_ATTACK.ordinal(), 0, 3, 1, 0, 0 },
+                { (byte) GeneralType.MOB_ATTACK.ordinal(), 0, 1, 2 },
+                { (byte) GeneralType.GAMEPLAY_ITEM_CONSUMED.ordinal(), 0, 1, 5 },
+                { (byte) GeneralType.GAMEPLAY_ITEM_CONSUMED.ordinal(), 0, 3, 1, 50, 'a' },
+                { (byte) GeneralType.GAMEPLAY_ITEM_CONSUMED.ordinal(), 1, 50, 'a' },
+                { (byte) GeneralType.GAMEPLAY_ITEM_CONSUMED.ordinal(), 0, 9, 0 },
+                // A negative skill ordinal
+                { (byte) GeneralType.GAMEPLAY_SKILLS_EXPERIENCE.ordinal(), 0, 21,
+                        (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F,
+                        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+                { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0 } };
+
+        for (byte[] bytes : malformed) {
+            assertThrows(IllegalArgumentException.class, () -> new GeneralBinaryCodec().read(ByteBuffer.wrap(bytes)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> writer.write(ByteBuffer.allocate(64), "not data"));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(ByteBuffer.allocate(64), null));
+    }
+
+    @Test
+    void testDispatchMatchesJson() {
+        ChannelDataHandler<GeneralType> handler = new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class);
+        ChannelDispatcher<GeneralType> dispatcher = new ChannelDispatcher<>(handler);
+        List<Object> received = new ArrayList<>();
+        dispatcher.on(GeneralType.MOB_DEFENCE, received::add).on(GeneralType.PLAYER_ACTION, received::add);
+
+        String json = "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + MOB + "\",\"style\":\"MELEE\",\"damage\":3}}";
+        Object decoded = handler.getData(new StringReader(json));
+        ByteBuffer buffer = writeAll(List.of(decoded, new MobAttackData(MOB), decoded), ByteBuffer.allocate(256));
+
+        assertEquals(2, reader.dispatch(buffer, dispatcher));
+        assertEquals(List.of(decoded, decoded), received);
+    }
+
+    @Test
+    void testChannelNames() {
+        assertEquals("minescape_server:general", Channels.GENERAL.getChannelName(ChannelFormat.JSON));
+        assertEquals("minescape_server:general_binary", Channels.GENERAL.getChannelName(ChannelFormat.BINARY));
+        assertEquals(Channels.GENERAL.getChannelName(), Channels.GENERAL.getChannelName(ChannelFormat.JSON));
+
+        assertEquals(ChannelFormat.BINARY, Channels.GENERAL.getFormat("minescape_server:general_binary"));
+        assertEquals(ChannelFormat.JSON, Channels.GENERAL.getFormat("minescape_server:general"));
+        assertNull(Channels.GENERAL.getFormat("minescape_server:other"));
+    }
+}
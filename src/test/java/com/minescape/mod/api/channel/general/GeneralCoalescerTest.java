@@ -0,0 +1,70 @@
+package com.minescape.mod.api.channel.general;
+
+import com.minescape.mod.api.channel.general.action.GameplayActionData;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.item.GameplayItemConsumedData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetData;
+import com.minescape.mod.api.types.skills.SkillType;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneralCoalescerTest {
+
+    private static final UUID MOB = UUID.fromString("f47ac10b-58cc-4372-a567-0e02b2c3d479");
+    private static final UUID PLAYER = UUID.fromString("a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d");
+
+    private final GeneralCoalescer coalescer = new GeneralCoalescer();
+    private final List<Object> flushed = new ArrayList<>();
+
+    @Test
+    void testLatestWinsAtItsPosition() {
+        coalescer.accept(GeneralType.PLAYER_TARGET, new PlayerTargetData(MOB, 90, 100));
+        coalescer.accept(GeneralType.GAMEPLAY_ITEM_CONSUMED, new GameplayItemConsumedData("SHARK"));
+        coalescer.accept(GeneralType.PLAYER_ACTION, new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_STARTED));
+        coalescer.accept(GeneralType.PLAYER_TARGET, new PlayerTargetData(MOB, 70, 100));
+        coalescer.accept(GeneralType.PLAYER_ACTION, new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_CANCELLED));
+        coalescer.accept(GeneralType.GAMEPLAY_ITEM_CONSUMED, new GameplayItemConsumedData("SHARK"));
+
+        assertEquals(4, coalescer.size());
+        assertEquals(4, coalescer.flush((type, data) -> flushed.add(data)));
+        assertEquals(List.of(new GameplayItemConsumedData("SHARK"), new PlayerTargetData(MOB, 70, 100),
+                new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_CANCELLED),
+                new GameplayItemConsumedData("SHARK")), flushed);
+        assertEquals(2, coalescer.coalescedCount());
+
+        // The next window starts empty
+        assertEquals(0, coalescer.size());
+        coalescer.accept(GeneralType.PLAYER_TARGET, new PlayerTargetData(MOB, 50, 100));
+        flushed.clear();
+        coalescer.flush((type, data) -> flushed.add(data));
+        assertEquals(List.of(new PlayerTargetData(MOB, 50, 100)), flushed);
+    }
+
+    @Test
+    void testSkillEffectsMergeIntoOneChange() {
+        coalescer.accept(GeneralType.GAMEPLAY_SKILL_EFFECT, new GameplaySkillEffectData(SkillType.ATTACK, 0, 3, 70));
+        coalescer.accept(GeneralType.GAMEPLAY_SKILL_EFFECT, new GameplaySkillEffectData(SkillType.STRENGTH, 0, 5, 80));
+        coalescer.accept(GeneralType.GAMEPLAY_SKILL_EFFECT, new GameplaySkillEffectData(SkillType.ATTACK, 3, 7, 70));
+        coalescer.accept(GeneralType.GAMEPLAY_SKILL_EFFECT, new GameplaySkillEffectData(SkillType.ATTACK, 7, 6, 71));
+
+        coalescer.flush((type, data) -> flushed.add(data));
+        assertEquals(List.of(new GameplaySkillEffectData(SkillType.STRENGTH, 0, 5, 80),
+                new GameplaySkillEffectData(SkillType.ATTACK, 0, 6, 71)), flushed);
+    }
+
+    @Test
+    void testMessagesWithoutKeyPassThrough() {
+        for (int i = 0; i < 100; i++) {
+            coalescer.accept(GeneralType.PLAYER_TARGET, new PlayerTargetData(null, i, 100));
+        }
+        assertEquals(100, coalescer.size());
+
+        coalescer.clear();
+        assertEquals(0, coalescer.flush((type, data) -> flushed.add(data)));
+        assertTrue(flushed.isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.JsonParser;
+import com.minescape.mod.api.channel.ChannelDataHandler;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.Channels;
+import com.minescape.mod.api.channel.general.action.MutablePlayerActionData;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import com.minescape.mod.api.channel.general.mob.MutableMobAttackData;
+import com.minescape.mod.api.channel.general.mob.MutableMobDefenceData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneralFlyweightsTest {
+
+    private static final UUID MOB = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID PLAYER = UUID.fromString("a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d");
+
+    private ChannelDataHandler<GeneralType> handler;
+    private ChannelDispatcher<GeneralType> dispatcher;
+    private List<Object> received;
+    private List<Object> copies;
+
+    @BeforeEach
+    void setUp() {
+        handler = new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class);
+        dispatcher = GeneralFlyweights.install(new ChannelDispatcher<>(handler));
+        received = new ArrayList<>();
+        copies = new ArrayList<>();
+        dispatcher.on(GeneralType.MOB_ATTACK, (MutableMobAttackData attack) -> {
+            received.add(attack);
+            copies.add(attack.toImmutable());
+        }).on(GeneralType.MOB_DEFENCE, (MutableMobDefenceData defence) -> {
+            received.add(defence);
+            copies.add(defence.toImmutable());
+        }).on(GeneralType.PLAYER_ACTION, (MutablePlayerActionData action) -> {
+            received.add(action);
+            copies.add(action.toImmutable());
+        });
+    }
+
+    @Test
+    void testReusesOneInstancePerType() {
+        dispatcher.dispatch(new StringReader("{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + MOB + "\",\"style\":\"MELEE\",\"damage\":4}}"));
+        dispatcher.dispatch(new StringReader("{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + PLAYER + "\",\"damage\":9}}"));
+
+        assertSame(received.get(0), received.get(1));
+        assertEquals(List.of(new MobDefenceData(MOB, "MELEE", 4), new MobDefenceData(PLAYER, null, 9)), copies);
+
+        MutableMobDefenceData defence = (MutableMobDefenceData) received.get(1);
+        assertFalse(defence.blocked());
+        dispatcher.dispatch(new StringReader("{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + MOB + "\",\"damage\":0}}"));
+        assertTrue(defence.blocked());
+        assertEquals(defence.toImmutable().blocked(), defence.blocked());
+    }
+
+    @Test
+    void testMatchesImmutableDecode() {
+        String[] messages = {
+                "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + MOB + "\",\"style\":\"DRAGONFIRE\"}}",
+                "{\"type\":\"MOB_ATTACK\",\"data\":{\"style\":\"MAGIC\",\"extra\":[1,2]}}",
+                "{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + MOB.toString().toUpperCase() + "\",\"damage\":7}}",
+                "{\"type\":\"PLAYER_ACTION\",\"data\":{\"uuid\":\"" + PLAYER + "\",\"action\":\"MINING\","
+                        + "\"state\":\"STARTED\",\"durationMillis\":3000}}",
+                "{\"type\":\"PLAYER_ACTION\",\"data\":{\"uuid\":\"1-2-3-4-5\",\"action\":\"MINING\",\"state\":\"FINISHED\"}}" };
+
+        for (String message : messages) {
+            dispatcher.dispatch(new StringReader(message));
+            dispatcher.dispatch(JsonParser.parseString(message).getAsJsonObject());
+        }
+
+        for (int i = 0; i < messages.length; i++) {
+            Object expected = handler.getData(new StringReader(messages[i]));
+            assertEquals(expected, copies.get(i * 2), messages[i]);
+            assertEquals(expected, copies.get(i * 2 + 1), messages[i]);
+        }
+    }
+
+    @Test
+    void testAccessors() {
+        dispatcher.dispatch(new StringReader("{\"type\":\"PLAYER_ACTION\",\"data\":{\"uuid\":\"" + PLAYER
+                + "\",\"action\":\"COOKING_RANGE\",\"state\":\"CANCELLED\"}}"));
+
+        MutablePlayerActionData action = (MutablePlayerActionData) received.get(0);
+        assertTrue(action.hasUuid());
+        assertTrue(action.uuidEquals(PLAYER));
+        assertFalse(action.uuidEquals(MOB));
+        assertEquals(PLAYER, action.uuid());
+        assertEquals(PLAYER.getMostSignificantBits(), action.uuidMostSigBits());
+        assertEquals(PLAYER.getLeastSignificantBits(), action.uuidLeastSigBits());
+        assertTrue(action.isCancelled());
+        assertTrue(action.hasEnded());
+        assertFalse(action.isStarted());
+
+        action.clear();
+        assertFalse(action.hasUuid());
+        assertNull(action.uuid());
+        assertTrue(action.uuidEquals(null));
+        assertEquals(new PlayerActionData(null, null, null), action.toImmutable());
+    }
+
+    @Test
+    void testDispatchersDoNotShareInstances() {
+        List<Object> other = new ArrayList<>();
+        GeneralFlyweights.install(new ChannelDispatcher<>(handler))
+                .on(GeneralType.MOB_ATTACK, (MutableMobAttackData attack) -> other.add(attack))
+                .dispatch(new StringReader("{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + MOB + "\"}}"));
+        dispatcher.dispatch(new StringReader("{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + PLAYER + "\"}}"));
+
+        assertNotSame(other.get(0), received.get(0));
+        assertEquals(new MobAttackData(MOB), ((MutableMobAttackData) other.get(0)).toImmutable());
+    }
+
+    @Test
+    void testInvalidUuid() {
+        assertThrows(IllegalArgumentException.class, () -> dispatcher
+                .dispatch(new StringReader("{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"not-a-uuid\"}}")));
+    }
+
+    @Test
+    void testDecodeWithNullRestoresHandlerAdapter() {
+        List<Object> immutable = new ArrayList<>();
+        GeneralFlyweights.install(new ChannelDispatcher<>(handler))
+                .decodeWith(GeneralType.MOB_ATTACK, null)
+                .on(GeneralType.MOB_ATTACK, immutable::add)
+                .dispatch(new StringReader("{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + MOB + "\"}}"));
+
+        assertEquals(List.of(new MobAttackData(MOB)), immutable);
+    }
+}
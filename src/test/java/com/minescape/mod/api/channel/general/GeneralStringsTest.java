@@ -0,0 +1,68 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.farming.LoginFarmingPlotsData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneralStringsTest {
+
+    private static final Pattern NAME = Pattern.compile("`([A-Z][A-Z0-9_]*)`");
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(GeneralTypeAdapterFactory.INSTANCE).create();
+
+    @Test
+    void testEveryDocumentedNameIsKnown() throws IOException {
+        int names = 0;
+        for (String doc : new String[] { "docs/action-values.md", "docs/farming-values.md", "docs/mob-attack-styles.md" }) {
+            for (String line : Files.readAllLines(Path.of(doc))) {
+                if (!line.startsWith("|") || line.startsWith("| ---")) {
+                    continue;
+                }
+                // The first column of every table lists names
+                Matcher matcher = NAME.matcher(line.split("\\|")[1]);
+                while (matcher.find()) {
+                    assertTrue(GeneralStrings.isKnown(matcher.group(1)), doc + ": " + matcher.group(1));
+                    names++;
+                }
+            }
+        }
+        assertTrue(names > 200, "Found only " + names + " names");
+    }
+
+    @Test
+    void testKnownNamesAreTheLiterals() {
+        assertSame("MINING", GeneralStrings.canonical(new String("MINING")));
+        assertSame(MobAttackData.STYLE_DRAGONFIRE, GeneralStrings.canonical(new String("DRAGONFIRE")));
+        assertNull(GeneralStrings.canonical(null));
+        assertFalse(GeneralStrings.isKnown("SAILING"));
+
+        String first = GeneralStrings.canonical(new String("SAILING"));
+        assertSame(first, GeneralStrings.canonical(new String("SAILING")));
+    }
+
+    @Test
+    void testDecodersShareNames() {
+        MobAttackData attack = gson.fromJson("{\"uuid\":\"123e4567-e89b-12d3-a456-426614174000\",\"style\":\"MELEE\"}",
+                MobAttackData.class);
+        assertSame(MobAttackData.STYLE_MELEE, attack.style());
+
+        PlayerActionData action = gson.fromJson("{\"uuid\":\"a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d\","
+                + "\"action\":\"COOKING_RANGE\",\"state\":\"STARTED\"}", PlayerActionData.class);
+        assertSame("COOKING_RANGE", action.action());
+        assertSame("STARTED", action.state());
+
+        LoginFarmingPlotsData plots = gson.fromJson("{\"plots\":{\"CATHERBY_HERBS\":{\"patch\":\"CATHERBY_HERBS\","
+                + "\"product\":\"RANARR\",\"nextGrowthMillis\":1000}}}", LoginFarmingPlotsData.class);
+        assertSame("CATHERBY_HERBS", plots.plots().keySet().iterator().next());
+        assertSame("RANARR", plots.getPlot("CATHERBY_HERBS").product());
+    }
+}
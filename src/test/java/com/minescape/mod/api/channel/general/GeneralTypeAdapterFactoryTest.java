@@ -0,0 +1,149 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.minescape.mod.api.channel.general.action.GameplayActionData;
+import com.minescape.mod.api.channel.general.action.PlayerActionData;
+import com.minescape.mod.api.channel.general.farming.FarmingPlotData;
+import com.minescape.mod.api.channel.general.farming.GameplayFarmingPlantedData;
+import com.minescape.mod.api.channel.general.farming.LoginFarmingPlotsData;
+import com.minescape.mod.api.channel.general.item.GameplayItemConsumedData;
+import com.minescape.mod.api.channel.general.mob.MobAttackData;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillEffectData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillsData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetData;
+import com.minescape.mod.api.channel.general.target.PlayerTargetDeathData;
+import com.minescape.mod.api.types.skills.SkillType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneralTypeAdapterFactoryTest {
+
+    private static final UUID MOB = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID PLAYER = UUID.fromString("a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d");
+
+    private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(GeneralTypeAdapterFactory.INSTANCE).create();
+    private final Gson reflectiveGson = new Gson();
+
+    @Test
+    void testEveryGeneralTypeHasAnAdapter() {
+        for (GeneralType type : GeneralType.values()) {
+            assertNotNull(GeneralTypeAdapterFactory.INSTANCE.create(gson, TypeToken.get(type.get())),
+                    "No adapter for " + type);
+        }
+    }
+
+    @Test
+    void testRoundTripMatchesReflection() {
+        List<Object> values = List.of(
+                new LoginSkillsData(Map.of(SkillType.ATTACK, 75, SkillType.DEFENCE, 60),
+                        Map.of(SkillType.ATTACK, 1210421.0, SkillType.DEFENCE, 273742.0)),
+                new LoginSkillEffectData(Map.of(SkillType.ATTACK, 3, SkillType.STRENGTH, -2)),
+                new GameplaySkillsExperienceData(SkillType.WOODCUTTING, 25.0, 1567.5),
+                new GameplaySkillEffectData(SkillType.HITPOINTS, 5, -2, 99),
+                new PlayerTargetData(MOB, PLAYER, 40, 100),
+                new PlayerTargetDeathData(MOB),
+                new GameplayItemConsumedData("SHARK"),
+                new GameplayFarmingPlantedData("CATHERBY_HERBS", new FarmingPlotData("CATHERBY_HERBS", "RANARR", 600000L)),
+                new GameplayFarmingPlantedData("CATHERBY_HERBS"),
+                new LoginFarmingPlotsData(Map.of("CATHERBY_HERBS", new FarmingPlotData("CATHERBY_HERBS", "RANARR", 600000L),
+                        "FALADOR_HERBS", new FarmingPlotData("FALADOR_HERBS", null, 0L))),
+                new MobAttackData(MOB, "MELEE"),
+                new MobAttackData(MOB),
+                new MobDefenceData(MOB, "RANGED", 7),
+                new GameplayActionData("MINING", GameplayActionData.STATE_STARTED, 3000L),
+                new PlayerActionData(PLAYER, "COOKING", GameplayActionData.STATE_FINISHED));
+
+        for (Object value : values) {
+            String json = gson.toJson(value);
+
+            assertEquals(value, gson.fromJson(json, value.getClass()), json);
+            assertEquals(reflectiveGson.fromJson(json, value.getClass()), gson.fromJson(json, value.getClass()), json);
+        }
+    }
+
+    @Test
+    void testMissingAndNullFieldsTakeDefaults() {
+        MobDefenceData defence = gson.fromJson("{\"uuid\":\"" + MOB + "\",\"style\":null}", MobDefenceData.class);
+        assertEquals(new MobDefenceData(MOB, null, 0), defence);
+
+        PlayerActionData action = gson.fromJson("{\"uuid\":\"" + PLAYER + "\",\"action\":\"MINING\",\"state\":\"STARTED\"}",
+                PlayerActionData.class);
+        assertEquals(0L, action.durationMillis());
+
+        LoginSkillsData skills = gson.fromJson("{}", LoginSkillsData.class);
+        assertTrue(skills.levels().isEmpty());
+        assertTrue(skills.experiences().isEmpty());
+        assertNull(skills.getLevel(SkillType.ATTACK));
+
+        LoginSkillEffectData effects = gson.fromJson("{\"modifiers\":null}", LoginSkillEffectData.class);
+        assertFalse(effects.hasAnyEffect());
+
+        LoginFarmingPlotsData plots = gson.fromJson("{\"plots\":{\"FALADOR_HERBS\":null}}", LoginFarmingPlotsData.class);
+        assertTrue(plots.plots().isEmpty());
+
+        assertNull(gson.fromJson("null", MobAttackData.class));
+    }
+
+    @Test
+    void testUnknownFieldsAndSkillsAreSkipped() {
+        LoginSkillsData skills = gson.fromJson("{\"levels\":{\"ATTACK\":75,\"SAILING\":10},"
+                + "\"experiences\":{\"SAILING\":1154.0,\"ATTACK\":1210421.0},\"future\":[1,{\"a\":2}]}",
+                LoginSkillsData.class);
+
+        assertEquals(Map.of(SkillType.ATTACK, 75), skills.levels());
+        assertEquals(Map.of(SkillType.ATTACK, 1210421.0), skills.experiences());
+
+        GameplaySkillEffectData effect = gson.fromJson(
+                "{\"skillType\":\"SAILING\",\"previousModifier\":0,\"newModifier\":3,\"skillLevel\":10}",
+                GameplaySkillEffectData.class);
+        assertNull(effect.skillType());
+        assertEquals(3, effect.newModifier());
+    }
+
+    @Test
+    void testSkillArraysKeepAbsentApartFromZero() {
+        LoginSkillsData skills = gson.fromJson("{\"levels\":{\"ATTACK\":75,\"DEFENCE\":0},"
+                + "\"experiences\":{\"ATTACK\":1210421.0}}", LoginSkillsData.class);
+
+        assertEquals(75, skills.levelOf(SkillType.ATTACK));
+        assertEquals(0, skills.levelOf(SkillType.DEFENCE));
+        assertEquals(0, skills.levelOf(SkillType.SLAYER));
+        assertTrue(skills.hasLevel(SkillType.DEFENCE));
+        assertFalse(skills.hasLevel(SkillType.SLAYER));
+        assertEquals(Integer.valueOf(0), skills.getLevel(SkillType.DEFENCE));
+        assertNull(skills.getLevel(SkillType.SLAYER));
+        assertEquals(1210421.0, skills.experienceOf(SkillType.ATTACK));
+        assertFalse(skills.hasExperience(SkillType.DEFENCE));
+        assertEquals(Map.of(SkillType.ATTACK, 75, SkillType.DEFENCE, 0), skills.levels());
+        assertSame(skills.levels(), skills.levels());
+        assertNotEquals(new LoginSkillsData(Map.of(SkillType.ATTACK, 75), Map.of(SkillType.ATTACK, 1210421.0)), skills);
+
+        LoginSkillEffectData effects = LoginSkillEffectData.builder().modifier(SkillType.MAGIC, 0)
+                .modifier(SkillType.STRENGTH, -2).build();
+        assertEquals(new LoginSkillEffectData(Map.of(SkillType.MAGIC, 0, SkillType.STRENGTH, -2)), effects);
+        assertEquals(-2, effects.modifierOf(SkillType.STRENGTH));
+        assertTrue(effects.hasModifier(SkillType.MAGIC));
+        assertFalse(effects.hasEffect(SkillType.MAGIC));
+        assertTrue(effects.hasAnyEffect());
+    }
+
+    @Test
+    void testSkillBuilderStartsOverAfterBuild() {
+        LoginSkillsData.Builder builder = LoginSkillsData.builder();
+        LoginSkillsData first = builder.level(SkillType.ATTACK, 75).experience(SkillType.ATTACK, 1210421.0).build();
+        LoginSkillsData second = builder.level(SkillType.MINING, 40).build();
+
+        assertEquals(75, first.levelOf(SkillType.ATTACK));
+        assertFalse(first.hasLevel(SkillType.MINING));
+        assertEquals(Map.of(SkillType.MINING, 40), second.levels());
+        assertTrue(second.experiences().isEmpty());
+    }
+}
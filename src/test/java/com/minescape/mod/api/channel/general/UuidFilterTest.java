@@ -0,0 +1,103 @@
+package com.minescape.mod.api.channel.general;
+
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidFilterTest {
+
+    private static final UUID MOB = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID OTHER = UUID.fromString("a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d");
+
+    private final UuidFilter filter = new UuidFilter(UuidPredicate.of(MOB));
+    private final UuidFilter strictFilter = new UuidFilter(UuidPredicate.of(MOB), false);
+
+    private void assertKept(boolean expected, UuidFilter uuidFilter, String json) {
+        assertEquals(expected, uuidFilter.test(json), json);
+        assertEquals(expected, uuidFilter.test(JsonParser.parseString(json).getAsJsonObject()), json);
+    }
+
+    @Test
+    void testMatchesDataUuid() {
+        assertKept(true, filter, "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + MOB + "\",\"style\":\"MELEE\"}}");
+        assertKept(false, filter, "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + OTHER + "\",\"style\":\"MELEE\"}}");
+        assertKept(true, filter, "{\"type\":\"MOB_DEFENCE\",\"data\":{\"style\":\"MAGIC\",\"damage\":[1,{\"a\":\"}\"}],"
+                + "\"uuid\":\"" + MOB.toString().toUpperCase() + "\"}}");
+        assertKept(true, filter, " {\n\"data\" : { \"uuid\" : \"" + MOB + "\" } ,\"type\":\"PLAYER_TARGET_DEATH\"}");
+    }
+
+    @Test
+    void testIgnoresUuidsOutsideData() {
+        String nested = "{\"type\":\"PLAYER_TARGET\",\"uuid\":\"" + MOB + "\",\"data\":{\"nameplateUuid\":\"" + MOB
+                + "\",\"target\":{\"uuid\":\"" + MOB + "\"},\"note\":\"\\\"uuid\\\":\\\"" + MOB + "\\\"\",\"uuid\":\""
+                + OTHER + "\"}}";
+
+        assertKept(false, filter, nested);
+    }
+
+    @Test
+    void testMessagesWithoutUuid() {
+        String[] messages = {
+                "{\"type\":\"GAMEPLAY_ITEM_CONSUMED\",\"data\":{\"item\":\"SHARK\"}}",
+                "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":null}}",
+                "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"not-a-uuid\"}}",
+                "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"123e4567-e89b-12d3-a456-42661417400g\"}}",
+                "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"123e4567+e89b-12d3-a456-426614174000\"}}",
+                "{\"type\":\"MOB_ATTACK\",\"data\":[]}" };
+
+        for (String message : messages) {
+            assertKept(true, filter, message);
+            assertKept(false, strictFilter, message);
+        }
+        assertTrue(filter.test("{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + MOB));
+        assertFalse(strictFilter.test(""));
+    }
+
+    @Test
+    void testParsesBothHalves() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            UUID expected = new UUID(random.nextLong(), random.nextLong());
+            UUID[] parsed = new UUID[1];
+            UuidFilter capture = new UuidFilter((most, least) -> {
+                parsed[0] = new UUID(most, least);
+                return true;
+            });
+
+            assertTrue(capture.test("{\"data\":{\"uuid\":\"" + expected + "\"}}"));
+            assertEquals(expected, parsed[0]);
+        }
+    }
+
+    @Test
+    void testSetPredicateMatchesRawBits() {
+        Set<UUID> tracked = new HashSet<>(Set.of(MOB));
+        UuidPredicate predicate = UuidPredicate.in(tracked);
+
+        assertTrue(predicate.test(MOB.getMostSignificantBits(), MOB.getLeastSignificantBits()));
+        assertFalse(predicate.test(OTHER.getMostSignificantBits(), OTHER.getLeastSignificantBits()));
+        assertFalse(predicate.test(MOB.getMostSignificantBits(), OTHER.getLeastSignificantBits()));
+
+        // The set is copied when the predicate is created
+        tracked.add(OTHER);
+        assertFalse(predicate.test(OTHER.getMostSignificantBits(), OTHER.getLeastSignificantBits()));
+        assertFalse(UuidPredicate.in(Set.of()).test(0L, 0L));
+    }
+
+    @Test
+    void testMapPredicateSeesLaterChanges() {
+        UuidMap<String> tracked = new UuidMap<>();
+        UuidFilter trackedFilter = new UuidFilter(UuidPredicate.in(tracked));
+        String json = "{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + OTHER + "\"}}";
+
+        assertFalse(trackedFilter.test(json));
+        tracked.put(OTHER, "goblin");
+        assertTrue(trackedFilter.test(json));
+        tracked.remove(OTHER);
+        assertFalse(trackedFilter.test(json));
+    }
+}
@@ -0,0 +1,53 @@
+package com.minescape.mod.api.channel.general;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidMapTest {
+
+    @Test
+    void testMatchesHashMapUnderChurn() {
+        Random random = new Random(42);
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            uuids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        // UUIDs differing in one half only must still be told apart
+        uuids.add(new UUID(1L, 2L));
+        uuids.add(new UUID(1L, 3L));
+        uuids.add(new UUID(2L, 2L));
+
+        UuidMap<Integer> map = new UuidMap<>();
+        Map<UUID, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            UUID uuid = uuids.get(random.nextInt(uuids.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(uuid), map.remove(uuid));
+            } else {
+                assertEquals(expected.put(uuid, i), map.put(uuid, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (UUID uuid : uuids) {
+            assertEquals(expected.get(uuid), map.get(uuid));
+            assertEquals(expected.containsKey(uuid),
+                    map.containsKey(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+        }
+
+        List<Integer> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(expected.size(), values.size());
+        assertTrue(values.containsAll(expected.values()));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(uuids.get(0)));
+        assertThrows(NullPointerException.class, () -> map.put(uuids.get(0), null));
+    }
+}
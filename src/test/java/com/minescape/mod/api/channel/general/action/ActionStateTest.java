@@ -0,0 +1,47 @@
+package com.minescape.mod.api.channel.general.action;
+
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionStateTest {
+
+    @Test
+    void testKnownStatesFromAnyInstance() {
+        // A copy of the name, as a decoder that does not share names would produce
+        String finished = new String(GameplayActionData.STATE_FINISHED);
+
+        assertEquals(ActionState.STARTED, ActionState.of(GameplayActionData.STATE_STARTED));
+        assertEquals(ActionState.FINISHED, ActionState.of(finished));
+        assertEquals(ActionState.OTHER, ActionState.of("PAUSED"));
+        assertEquals(ActionState.OTHER, ActionState.of(null));
+
+        GameplayActionData data = new GameplayActionData("COOKING", finished);
+        assertTrue(data.isFinished());
+        assertTrue(data.hasEnded());
+        assertSame(GameplayActionData.STATE_FINISHED, data.state());
+        assertEquals(new GameplayActionData("COOKING", GameplayActionData.STATE_FINISHED), data);
+    }
+
+    @Test
+    void testUnknownStatesRoundTrip() {
+        PlayerActionData paused = new PlayerActionData(new UUID(1L, 2L), "MINING", "PAUSED");
+        assertEquals("PAUSED", paused.state());
+        assertFalse(paused.isStarted() || paused.hasEnded());
+        assertNotEquals(new PlayerActionData(new UUID(1L, 2L), "MINING", "RESUMED"), paused);
+        assertNull(new GameplayActionData("MINING", null).state());
+
+        MutablePlayerActionData mutable = new MutablePlayerActionData();
+        mutable.setState("PAUSED");
+        assertEquals("PAUSED", mutable.state());
+        assertFalse(mutable.hasEnded());
+
+        mutable.setState(GameplayActionData.STATE_CANCELLED);
+        assertTrue(mutable.isCancelled());
+        assertEquals(GameplayActionData.STATE_CANCELLED, mutable.toImmutable().state());
+
+        mutable.clear();
+        assertNull(mutable.state());
+        assertFalse(mutable.isCancelled());
+    }
+}
@@ -0,0 +1,94 @@
+package com.minescape.mod.api.channel.general.action;
+
+import com.minescape.mod.api.channel.ChannelDataHandler;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.Channels;
+import com.minescape.mod.api.channel.general.GeneralFlyweights;
+import com.minescape.mod.api.channel.general.GeneralType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionTrackerTest {
+
+    private static final UUID PLAYER = UUID.fromString("a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d");
+
+    private long now;
+    private ActionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        now = 50_000L;
+        tracker = new ActionTracker(5_000L, 60_000L, () -> now);
+    }
+
+    @Test
+    void testProgressOfTimedAction() {
+        tracker.apply(new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_STARTED, 4_000L));
+        now += 1_000L;
+
+        assertEquals("MINING", tracker.action(PLAYER));
+        assertEquals(0.25, tracker.progress(PLAYER), 1e-9);
+        assertEquals(3_000L, tracker.remainingMillis(PLAYER));
+
+        now += 5_000L;
+        assertEquals(1.0, tracker.progress(PLAYER));
+        assertEquals(0L, tracker.remainingMillis(PLAYER));
+
+        now += 3_000L;
+        assertFalse(tracker.isActive(PLAYER));
+    }
+
+    @Test
+    void testReplacementRules() {
+        tracker.apply(new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_STARTED, 4_000L));
+        tracker.apply(new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_CANCELLED));
+        tracker.apply(new PlayerActionData(PLAYER, "FISHING_CAGE", GameplayActionData.STATE_STARTED));
+
+        assertEquals("FISHING_CAGE", tracker.action(PLAYER));
+        assertEquals(-1.0, tracker.progress(PLAYER));
+
+        // A late end for the replaced action leaves the new one alone
+        tracker.apply(new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_FINISHED));
+        tracker.apply(new PlayerActionData(PLAYER, "FISHING_CAGE", "PAUSED"));
+        assertTrue(tracker.isActive(PLAYER));
+
+        tracker.apply(new PlayerActionData(PLAYER, "FISHING_CAGE", GameplayActionData.STATE_FINISHED));
+        assertNull(tracker.action(PLAYER));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void testDanglingActionsExpire() {
+        for (int i = 0; i < 10_000; i++) {
+            tracker.apply(new PlayerActionData(new UUID(i, i), "COMBAT", GameplayActionData.STATE_STARTED,
+                    i % 2 == 0 ? 0L : 2_000L));
+            now += 10L;
+        }
+        // Untimed actions from the last 60 seconds and timed ones from the last 7
+        assertEquals(2_999 + 350, tracker.size());
+
+        now += 61_000L;
+        assertEquals(0, tracker.size());
+
+        tracker.apply(new PlayerActionData(PLAYER, "MINING", GameplayActionData.STATE_STARTED, 600_000L));
+        now += 300_000L;
+        assertTrue(tracker.isActive(PLAYER));
+        now += 305_000L;
+        assertFalse(tracker.isActive(PLAYER));
+    }
+
+    @Test
+    void testRegisterWithFlyweights() {
+        ChannelDispatcher<GeneralType> dispatcher = tracker.register(GeneralFlyweights.install(
+                new ChannelDispatcher<>(new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class))));
+
+        dispatcher.dispatch(new StringReader("{\"type\":\"PLAYER_ACTION\",\"data\":{\"uuid\":\"" + PLAYER
+                + "\",\"action\":\"COOKING_RANGE\",\"state\":\"STARTED\",\"durationMillis\":2400}}"));
+
+        assertEquals("COOKING_RANGE", tracker.action(PLAYER));
+        assertThrows(IllegalArgumentException.class, () -> new ActionTracker(0L, 1L, () -> now));
+    }
+}
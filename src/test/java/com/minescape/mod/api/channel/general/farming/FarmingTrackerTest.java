@@ -0,0 +1,105 @@
+package com.minescape.mod.api.channel.general.farming;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FarmingTrackerTest {
+
+    private long now;
+    private FarmingTracker tracker;
+    private final List<FarmingPlotData> grown = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        now = 1_000L;
+        tracker = new FarmingTracker(() -> now).onGrowth(grown::add);
+        tracker.apply(new LoginFarmingPlotsData(Map.of(
+                "CATHERBY_HERBS", new FarmingPlotData("CATHERBY_HERBS", "RANARR", 600_000L),
+                "FALADOR_HERBS", new FarmingPlotData("FALADOR_HERBS", "GUAM", 300_000L),
+                "ARDOUGNE_HERBS", new FarmingPlotData("ARDOUGNE_HERBS", null, 0L))));
+    }
+
+    @Test
+    void testTimersCountFromReceipt() {
+        now += 100_000L;
+
+        assertEquals(500_000L, tracker.remainingMillis("CATHERBY_HERBS"));
+        assertEquals(new FarmingPlotData("FALADOR_HERBS", "GUAM", 200_000L), tracker.getPlot("FALADOR_HERBS"));
+        assertEquals(-1L, tracker.remainingMillis("ARDOUGNE_HERBS"));
+        assertEquals(-1L, tracker.remainingMillis("HOSIDIUS_HERBS"));
+        assertEquals("FALADOR_HERBS", tracker.nextDue().patch());
+        assertEquals(200_000L, tracker.nextDueMillis());
+        assertEquals(3, tracker.plots().size());
+    }
+
+    @Test
+    void testTickNotifiesEachStageOnce() {
+        assertEquals(0, tracker.tick());
+
+        now += 300_000L;
+        assertEquals(1, tracker.tick());
+        assertEquals(0, tracker.tick());
+        assertEquals(List.of(new FarmingPlotData("FALADOR_HERBS", "GUAM", 0L)), grown);
+        assertEquals(-1L, tracker.remainingMillis("FALADOR_HERBS"));
+        assertTrue(tracker.getPlot("FALADOR_HERBS").isPlanted());
+
+        now += 1_000_000L;
+        assertEquals(1, tracker.tick());
+        assertEquals("CATHERBY_HERBS", grown.get(1).patch());
+        assertNull(tracker.nextDue());
+        assertEquals(-1L, tracker.nextDueMillis());
+    }
+
+    @Test
+    void testPlantingReplacesTimer() {
+        tracker.apply(new GameplayFarmingPlantedData("FALADOR_HERBS",
+                new FarmingPlotData("FALADOR_HERBS", "RANARR", 900_000L)));
+        tracker.apply(new GameplayFarmingPlantedData("CATHERBY_HERBS"));
+
+        now += 600_000L;
+        assertEquals(0, tracker.tick());
+        assertNull(tracker.getPlot("CATHERBY_HERBS"));
+        assertEquals(300_000L, tracker.nextDueMillis());
+
+        now += 300_000L;
+        assertEquals(1, tracker.tick());
+        assertEquals(new FarmingPlotData("FALADOR_HERBS", "RANARR", 0L), grown.get(0));
+    }
+
+    @Test
+    void testPlantingIsKeyedOnTheMessagePatch() {
+        tracker.apply(new GameplayFarmingPlantedData("HOSIDIUS_HERBS",
+                new FarmingPlotData("CATHERBY_HERBS", "SNAPDRAGON", 900_000L)));
+
+        assertEquals(new FarmingPlotData("HOSIDIUS_HERBS", "SNAPDRAGON", 900_000L), tracker.getPlot("HOSIDIUS_HERBS"));
+        assertEquals(600_000L, tracker.remainingMillis("CATHERBY_HERBS"));
+    }
+
+    @Test
+    void testLoginIsKeyedOnTheMessagePatch() {
+        tracker.apply(new LoginFarmingPlotsData(Map.of(
+                "CATHERBY_HERBS", new FarmingPlotData(null, "RANARR", 600_000L),
+                "FALADOR_HERBS", new FarmingPlotData("HOSIDIUS_HERBS", "GUAM", 300_000L))));
+
+        assertEquals(new FarmingPlotData("CATHERBY_HERBS", "RANARR", 600_000L), tracker.getPlot("CATHERBY_HERBS"));
+        assertEquals(300_000L, tracker.remainingMillis("FALADOR_HERBS"));
+        assertNull(tracker.getPlot("HOSIDIUS_HERBS"));
+        assertEquals(2, tracker.plots().size());
+    }
+
+    @Test
+    void testRepeatedUpdatesKeepOnlyLatestTimer() {
+        for (int i = 0; i < 1_000; i++) {
+            tracker.apply(new GameplayFarmingPlantedData("FALADOR_HERBS",
+                    new FarmingPlotData("FALADOR_HERBS", "GUAM", 1_000L + i)));
+        }
+        now += 10_000L;
+
+        assertEquals(1, tracker.tick());
+        assertEquals(590_000L, tracker.nextDueMillis());
+    }
+}
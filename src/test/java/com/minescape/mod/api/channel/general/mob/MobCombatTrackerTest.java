@@ -0,0 +1,111 @@
+package com.minescape.mod.api.channel.general.mob;
+
+import com.minescape.mod.api.channel.ChannelDataHandler;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.Channels;
+import com.minescape.mod.api.channel.general.GeneralFlyweights;
+import com.minescape.mod.api.channel.general.GeneralType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MobCombatTrackerTest {
+
+    private static final UUID BOSS = UUID.fromString("f47ac10b-58cc-4372-a567-0e02b2c3d479");
+
+    private long now;
+    private MobCombatTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        now = 100_000L;
+        tracker = new MobCombatTracker(3, 10_000L, () -> now);
+    }
+
+    @Test
+    void testAttackCadencePerStyle() {
+        for (int i = 0; i < 4; i++) {
+            tracker.apply(new MobAttackData(BOSS, MobAttackData.STYLE_MAGIC));
+            now += 2_400L;
+        }
+        tracker.apply(new MobAttackData(BOSS, MobAttackData.STYLE_MELEE));
+        tracker.apply(new MobAttackData(BOSS, "TAIL_SWIPE"));
+        tracker.apply(new MobAttackData(BOSS));
+
+        assertEquals(4, tracker.attackCount(BOSS, MobAttackData.STYLE_MAGIC));
+        assertEquals(2_400L, tracker.attackIntervalMillis(BOSS, MobAttackData.STYLE_MAGIC));
+        assertEquals(-1L, tracker.attackIntervalMillis(BOSS, MobAttackData.STYLE_MELEE));
+        // Unknown styles and no style are pooled together
+        assertEquals(2, tracker.attackCount(BOSS, "TAIL_SWIPE"));
+        assertEquals(0L, tracker.attackIntervalMillis(BOSS, null));
+    }
+
+    @Test
+    void testDamageBlockRateAndDps() {
+        tracker.apply(new MobDefenceData(BOSS, MobAttackData.STYLE_MELEE, 30));
+        now += 1_000L;
+        tracker.apply(new MobDefenceData(BOSS, MobAttackData.STYLE_RANGED, 0));
+        tracker.apply(new MobDefenceData(BOSS, MobAttackData.STYLE_MAGIC, 20));
+
+        assertEquals(50L, tracker.damageTaken(BOSS));
+        assertEquals(3, tracker.defenceCount(BOSS));
+        assertEquals(1.0 / 3.0, tracker.blockRate(BOSS), 1e-9);
+        assertEquals(5.0, tracker.damagePerSecond(BOSS), 1e-9);
+
+        // The first hit leaves the window before the second
+        now += 9_000L;
+        assertEquals(2.0, tracker.damagePerSecond(BOSS), 1e-9);
+        now += 1_000L;
+        assertEquals(0.0, tracker.damagePerSecond(BOSS));
+        assertEquals(50L, tracker.damageTaken(BOSS));
+    }
+
+    @Test
+    void testLeastRecentlySeenMobIsEvicted() {
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        UUID third = new UUID(0L, 3L);
+        tracker.apply(new MobDefenceData(first, null, 10));
+        tracker.apply(new MobDefenceData(second, null, 10));
+        tracker.apply(new MobDefenceData(third, null, 10));
+        tracker.apply(new MobAttackData(first, MobAttackData.STYLE_RANGED));
+
+        tracker.apply(new MobAttackData(BOSS, MobAttackData.STYLE_MAGIC));
+
+        assertEquals(3, tracker.size());
+        assertFalse(tracker.isTracked(second));
+        assertTrue(tracker.isTracked(first));
+        assertEquals(0L, tracker.damageTaken(second));
+        // The reused slot starts clean
+        assertEquals(0, tracker.defenceCount(BOSS));
+        assertEquals(-1.0, tracker.blockRate(BOSS));
+
+        for (int i = 0; i < 1_000; i++) {
+            tracker.apply(new MobAttackData(new UUID(1L, i), MobAttackData.STYLE_MELEE));
+        }
+        assertEquals(tracker.capacity(), tracker.size());
+        assertTrue(tracker.isTracked(new UUID(1L, 999L)));
+
+        tracker.clear();
+        assertEquals(0, tracker.size());
+        tracker.apply(new MobAttackData(BOSS, MobAttackData.STYLE_MAGIC));
+        assertEquals(1, tracker.attackCount(BOSS, MobAttackData.STYLE_MAGIC));
+    }
+
+    @Test
+    void testRegisterWithFlyweights() {
+        ChannelDispatcher<GeneralType> dispatcher = tracker.register(GeneralFlyweights.install(
+                new ChannelDispatcher<>(new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class))));
+
+        dispatcher.dispatch(new StringReader("{\"type\":\"MOB_ATTACK\",\"data\":{\"uuid\":\"" + BOSS
+                + "\",\"style\":\"DRAGONFIRE\"}}"));
+        dispatcher.dispatch(new StringReader("{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + BOSS
+                + "\",\"style\":\"MELEE\",\"damage\":12}}"));
+
+        assertEquals(1, tracker.attackCount(BOSS, MobAttackData.STYLE_DRAGONFIRE));
+        assertEquals(12L, tracker.damageTaken(BOSS));
+        assertThrows(IllegalArgumentException.class, () -> new MobCombatTracker(0, 10_000L, () -> now));
+    }
+}
@@ -0,0 +1,110 @@
+package com.minescape.mod.api.channel.general.target;
+
+import com.minescape.mod.api.channel.ChannelDataHandler;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.Channels;
+import com.minescape.mod.api.channel.general.GeneralFlyweights;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.mob.MobDefenceData;
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetHpTrackerTest {
+
+    private static final UUID MOB = UUID.fromString("f47ac10b-58cc-4372-a567-0e02b2c3d479");
+
+    private final TargetHpTracker tracker = new TargetHpTracker(2);
+
+    @Test
+    void testDefencesTakeDamageOffTheSeed() {
+        tracker.apply(new MobDefenceData(MOB, "MELEE", 10));
+        assertEquals(-1, tracker.currentHp(MOB));
+
+        tracker.apply(new PlayerTargetData(MOB, 80, 100));
+        tracker.apply(new MobDefenceData(MOB, "MELEE", 15));
+        tracker.apply(new MobDefenceData(MOB, "RANGED", 0));
+
+        assertEquals(65, tracker.currentHp(MOB));
+        assertEquals(100, tracker.totalHp(MOB));
+        assertEquals(0.65, tracker.hpFraction(MOB), 1e-9);
+        assertEquals(new PlayerTargetData(MOB, 65, 100), tracker.getEstimate(MOB));
+
+        tracker.apply(new MobDefenceData(MOB, "MAGIC", 500));
+        assertEquals(0, tracker.currentHp(MOB));
+
+        // A fresh target message corrects the estimate
+        tracker.apply(new PlayerTargetData(MOB, 40, 100));
+        assertEquals(40, tracker.currentHp(MOB));
+
+        tracker.apply(new PlayerTargetDeathData(MOB));
+        assertEquals(-1.0, tracker.hpFraction(MOB));
+        assertNull(tracker.getEstimate(MOB));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void testHitReportedByBothMessagesCountsOnce() {
+        UUID nameplate = UUID.fromString("a1b2c3d4-e5f6-7a8b-9c0d-1e2f3a4b5c6d");
+        long[] now = { 1_000L };
+        TargetHpTracker timed = new TargetHpTracker(2, () -> now[0]);
+        timed.apply(new PlayerTargetData(MOB, nameplate, 100, 100));
+
+        // The target message for the player's hit arrives before its defence
+        timed.apply(new PlayerTargetData(MOB, nameplate, 90, 100));
+        now[0] += 50L;
+        timed.apply(new MobDefenceData(MOB, "MELEE", 10));
+        assertEquals(90, timed.currentHp(MOB));
+
+        // Another player's hit is taken off in full
+        timed.apply(new MobDefenceData(MOB, "RANGED", 5));
+        assertEquals(85, timed.currentHp(MOB));
+
+        // The defence for the player's hit arrives first
+        timed.apply(new MobDefenceData(MOB, "MELEE", 7));
+        timed.apply(new PlayerTargetData(MOB, nameplate, 78, 100));
+        assertEquals(78, timed.currentHp(MOB));
+
+        // A defence long after the drop is a new hit
+        timed.apply(new PlayerTargetData(MOB, nameplate, 70, 100));
+        now[0] += 1_000L;
+        timed.apply(new MobDefenceData(MOB, "MELEE", 8));
+        assertEquals(new PlayerTargetData(MOB, nameplate, 62, 100), timed.getEstimate(MOB));
+        assertEquals(nameplate, timed.getEstimate(MOB).nameplateUuid());
+    }
+
+    @Test
+    void testLeastRecentlyUpdatedMobIsForgotten() {
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        tracker.apply(new PlayerTargetData(first, 10, 10));
+        tracker.apply(new PlayerTargetData(second, 20, 20));
+        tracker.apply(new MobDefenceData(first, null, 1));
+
+        tracker.apply(new PlayerTargetData(MOB, 30, 30));
+
+        assertEquals(2, tracker.size());
+        assertEquals(9, tracker.currentHp(first));
+        assertEquals(-1, tracker.currentHp(second));
+
+        tracker.clear();
+        assertEquals(0, tracker.size());
+        assertThrows(IllegalArgumentException.class, () -> new TargetHpTracker(0));
+    }
+
+    @Test
+    void testRegisterWithFlyweights() {
+        ChannelDispatcher<GeneralType> dispatcher = tracker.register(GeneralFlyweights.install(
+                new ChannelDispatcher<>(new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class))));
+
+        dispatcher.dispatch(new StringReader("{\"type\":\"PLAYER_TARGET\",\"data\":{\"uuid\":\"" + MOB
+                + "\",\"currentHp\":50,\"totalHp\":60}}"));
+        dispatcher.dispatch(new StringReader("{\"type\":\"MOB_DEFENCE\",\"data\":{\"uuid\":\"" + MOB
+                + "\",\"style\":\"MELEE\",\"damage\":12}}"));
+        assertEquals(38, tracker.currentHp(MOB));
+
+        dispatcher.dispatch(new StringReader("{\"type\":\"PLAYER_TARGET_DEATH\",\"data\":{\"uuid\":\"" + MOB + "\"}}"));
+        assertEquals(-1, tracker.currentHp(MOB));
+    }
+}
@@ -0,0 +1,42 @@
+package com.minescape.mod.api.types.skills;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperienceTableTest {
+
+    @Test
+    void testExperienceForLevel() {
+        assertEquals(0, ExperienceTable.experienceForLevel(1));
+        assertEquals(83, ExperienceTable.experienceForLevel(2));
+        assertEquals(1154, ExperienceTable.experienceForLevel(10));
+        assertEquals(101333, ExperienceTable.experienceForLevel(50));
+        assertEquals(6517253, ExperienceTable.experienceForLevel(92));
+        assertEquals(13034431, ExperienceTable.experienceForLevel(99));
+        assertThrows(IllegalArgumentException.class, () -> ExperienceTable.experienceForLevel(0));
+        assertThrows(IllegalArgumentException.class, () -> ExperienceTable.experienceForLevel(100));
+    }
+
+    @Test
+    void testLevelForExperienceMatchesTable() {
+        for (int level = 1; level <= ExperienceTable.MAX_LEVEL; level++) {
+            int experience = ExperienceTable.experienceForLevel(level);
+            assertEquals(level, ExperienceTable.levelForExperience(experience));
+            if (level > 1) {
+                assertEquals(level - 1, ExperienceTable.levelForExperience(experience - 0.5));
+            }
+        }
+        assertEquals(1, ExperienceTable.levelForExperience(-10.0));
+        assertEquals(99, ExperienceTable.levelForExperience(200_000_000.0));
+    }
+
+    @Test
+    void testProgressToNextLevel() {
+        assertEquals(83.0, ExperienceTable.experienceToNextLevel(0.0));
+        assertEquals(0.0, ExperienceTable.progressPercent(0.0));
+        assertEquals(50.0, ExperienceTable.progressPercent(41.5), 1e-9);
+        assertEquals(1.0, ExperienceTable.experienceToNextLevel(1153.0));
+        assertEquals(0.0, ExperienceTable.experienceToNextLevel(13034431.0));
+        assertEquals(100.0, ExperienceTable.progressPercent(14000000.0));
+    }
+}
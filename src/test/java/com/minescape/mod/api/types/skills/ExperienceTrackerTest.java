@@ -0,0 +1,89 @@
+package com.minescape.mod.api.types.skills;
+
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperienceTrackerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private long now;
+    private ExperienceTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        now = 10 * MINUTE;
+        tracker = new ExperienceTracker(60 * MINUTE, 60, () -> now);
+    }
+
+    @Test
+    void testRateOverPartialAndFullWindow() {
+        assertEquals(0.0, tracker.experiencePerHour(SkillType.MINING));
+
+        for (int i = 0; i < 30; i++) {
+            tracker.record(new GameplaySkillsExperienceData(SkillType.MINING, 100.0, 1000.0 + i * 100.0));
+            now += MINUTE;
+        }
+        // 3000 XP over the 30 minutes since the first drop
+        assertEquals(6000.0, tracker.experiencePerHour(SkillType.MINING), 1e-9);
+
+        for (int i = 0; i < 60; i++) {
+            tracker.record(SkillType.MINING, 50.0, 4000.0 + i * 50.0);
+            now += MINUTE;
+        }
+        // The current minute is empty, the 59 before it hold 50 XP each
+        assertEquals(2950.0, tracker.experiencePerHour(SkillType.MINING), 1e-9);
+        assertEquals(6000.0, tracker.sessionExperience(SkillType.MINING));
+    }
+
+    @Test
+    void testIdleSkillDecaysToZero() {
+        tracker.record(SkillType.FISHING, 500.0, 500.0);
+        assertEquals(30000.0, tracker.experiencePerHour(SkillType.FISHING), 1e-9);
+
+        now += 59 * MINUTE;
+        assertEquals(500.0 * 60 / 59, tracker.experiencePerHour(SkillType.FISHING), 1e-9);
+
+        now += 5 * MINUTE;
+        assertEquals(0.0, tracker.experiencePerHour(SkillType.FISHING));
+        assertEquals(-1L, tracker.timeToExperience(SkillType.FISHING, 1000.0));
+        assertEquals(500.0, tracker.sessionExperience());
+    }
+
+    @Test
+    void testTimeToExperience() {
+        tracker.record(SkillType.COOKING, 1000.0, 5000.0);
+        now += 30 * MINUTE;
+
+        assertEquals(0L, tracker.timeToExperience(SkillType.COOKING, 4000.0));
+        assertEquals(5000.0, tracker.totalExperience(SkillType.COOKING));
+        assertEquals(60 * MINUTE, tracker.timeToExperience(SkillType.COOKING, 7000.0));
+    }
+
+    @Test
+    void testTimeToNextLevel() {
+        tracker.record(SkillType.MINING, 500.0, 1000.0);
+        now += 30 * MINUTE;
+
+        // 154 XP to level 10 at 1000 XP per hour
+        assertEquals(154 * 3_600L, tracker.timeToNextLevel(SkillType.MINING));
+
+        tracker.record(SkillType.MINING, 10.0, 13034431.0);
+        assertEquals(0L, tracker.timeToNextLevel(SkillType.MINING));
+        assertEquals(-1L, tracker.timeToNextLevel(SkillType.SMITHING));
+    }
+
+    @Test
+    void testResetAndInvalidWindow() {
+        tracker.record(SkillType.ATTACK, 40.0, 40.0);
+        tracker.record(new GameplaySkillsExperienceData(null, 40.0, 40.0));
+        tracker.reset();
+
+        assertEquals(0.0, tracker.sessionExperience());
+        assertEquals(0.0, tracker.experiencePerHour(SkillType.ATTACK));
+        assertThrows(IllegalArgumentException.class, () -> new ExperienceTracker(10L, 60, () -> now));
+        assertThrows(IllegalArgumentException.class, () -> new ExperienceTracker(MINUTE, 0, () -> now));
+    }
+}
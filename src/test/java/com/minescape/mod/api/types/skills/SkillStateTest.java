@@ -0,0 +1,94 @@
+package com.minescape.mod.api.types.skills;
+
+import com.google.gson.JsonParser;
+import com.minescape.mod.api.channel.ChannelDataHandler;
+import com.minescape.mod.api.channel.ChannelDispatcher;
+import com.minescape.mod.api.channel.Channels;
+import com.minescape.mod.api.channel.general.GeneralType;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillEffectData;
+import com.minescape.mod.api.channel.general.skills.GameplaySkillsExperienceData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillEffectData;
+import com.minescape.mod.api.channel.general.skills.LoginSkillsData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillStateTest {
+
+    private SkillState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new SkillState();
+        state.apply(new LoginSkillsData(Map.of(SkillType.ATTACK, 75, SkillType.MAGIC, 99),
+                Map.of(SkillType.ATTACK, 1210421.0, SkillType.MAGIC, 13034431.0)));
+    }
+
+    @Test
+    void testAppliesLoginAndGameplayMessages() {
+        state.apply(new LoginSkillEffectData(Map.of(SkillType.ATTACK, 5)));
+        state.apply(new GameplaySkillsExperienceData(SkillType.MAGIC, 50.0, 13034481.0));
+        state.apply(new GameplaySkillEffectData(SkillType.STRENGTH, 0, 3, 70));
+
+        assertEquals(75, state.baseLevel(SkillType.ATTACK));
+        assertEquals(80, state.effectiveLevel(SkillType.ATTACK));
+        assertEquals(5, state.modifier(SkillType.ATTACK));
+        assertEquals(13034481.0, state.experience(SkillType.MAGIC));
+        assertEquals(73, state.effectiveLevel(SkillType.STRENGTH));
+        assertTrue(state.hasLevel(SkillType.STRENGTH));
+        assertFalse(state.hasLevel(SkillType.COOKING));
+
+        state.apply(new LoginSkillEffectData(Map.of(SkillType.MAGIC, -2)));
+        assertEquals(0, state.modifier(SkillType.ATTACK));
+        assertEquals(0, state.modifier(SkillType.STRENGTH));
+        assertEquals(97, state.effectiveLevel(SkillType.MAGIC));
+
+        state.apply(new GameplaySkillsExperienceData(null, 10.0, 10.0));
+        state.clear();
+        assertFalse(state.hasLevel(SkillType.ATTACK));
+        assertEquals(0.0, state.experience(SkillType.MAGIC));
+    }
+
+    @Test
+    void testExperienceRaisesKnownBaseLevel() {
+        state.apply(new LoginSkillEffectData(Map.of(SkillType.ATTACK, 5)));
+        state.apply(new GameplaySkillsExperienceData(SkillType.ATTACK, 126022.0, 1336443.0));
+
+        assertEquals(76, state.baseLevel(SkillType.ATTACK));
+        assertEquals(81, state.effectiveLevel(SkillType.ATTACK));
+
+        state.apply(new GameplaySkillsExperienceData(SkillType.COOKING, 100.0, 20000.0));
+        assertFalse(state.hasLevel(SkillType.COOKING));
+        assertEquals(0, state.baseLevel(SkillType.COOKING));
+    }
+
+    @Test
+    void testSnapshotsAreReusedUntilChanged() {
+        SkillState.Snapshot first = state.snapshot();
+        assertSame(first, state.snapshot());
+
+        state.apply(new GameplaySkillEffectData(SkillType.ATTACK, 0, 4, 75));
+        SkillState.Snapshot second = state.snapshot();
+
+        assertNotSame(first, second);
+        assertEquals(75, first.effectiveLevel(SkillType.ATTACK));
+        assertEquals(79, second.effectiveLevel(SkillType.ATTACK));
+        assertEquals(4, second.modifier(SkillType.ATTACK));
+        assertEquals(13034431.0, second.experience(SkillType.MAGIC));
+        assertTrue(second.hasLevel(SkillType.MAGIC));
+        assertNotEquals(first, second);
+        assertTrue(second.toString().contains("ATTACK=75+4"), second.toString());
+    }
+
+    @Test
+    void testRegisterFeedsFromDispatcher() {
+        ChannelDispatcher<GeneralType> dispatcher = state.register(
+                new ChannelDispatcher<>(new ChannelDataHandler<>(Channels.GENERAL, GeneralType.class)));
+
+        dispatcher.dispatch(JsonParser.parseString("{\"type\":\"GAMEPLAY_SKILL_EFFECT\",\"data\":{\"skillType\":\"DEFENCE\","
+                + "\"previousModifier\":0,\"newModifier\":-3,\"skillLevel\":60}}").getAsJsonObject());
+
+        assertEquals(57, state.effectiveLevel(SkillType.DEFENCE));
+    }
+}